@@ -0,0 +1,75 @@
+package proyeto1.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import proyeto1.model.response.ApiResponse;
+import proyeto1.model.response.PersonaResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de serializar a JSON un ApiResponse&lt;List&lt;PersonaResponse&gt;&gt;
+ * como lo hacen los controladores, para varios tamaños de lista.
+ *
+ * El ObjectMapper se configura como el de Spring Boot (fechas ISO-8601, módulo java.time).
+ *
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"1", "50", "500", "5000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private ApiResponse<List<PersonaResponse>> response;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        writer = objectMapper.writer();
+        List<PersonaResponse> personas = SyntheticPersonas.withIds(size, 42).stream()
+                .map(PersonaResponse::fromEntity)
+                .toList();
+        response = ApiResponse.success("Personas encontradas correctamente", personas);
+    }
+
+    /**
+     * Serialización a un array de bytes (incluye la copia final del buffer).
+     */
+    @Benchmark
+    public byte[] toBytes() throws IOException {
+        return writer.writeValueAsBytes(response);
+    }
+
+    /**
+     * Serialización directa a un stream, como al escribir la respuesta HTTP.
+     */
+    @Benchmark
+    public void toStream() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), response);
+    }
+}
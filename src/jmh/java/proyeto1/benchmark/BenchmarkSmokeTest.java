@@ -0,0 +1,52 @@
+package proyeto1.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ejecuta cada benchmark una vez con los parámetros más pequeños, para detectar que
+ * el estado o un método de medición ha dejado de funcionar sin esperar a una ejecución
+ * completa. No mide nada: solo corre con el perfil benchmark.
+ *
+ *     ./mvnw -Pbenchmark test -Dtest=BenchmarkSmokeTest
+ *
+ * @version 1.0
+ */
+class BenchmarkSmokeTest {
+
+    @Test
+    void everyBenchmarkRunsWithItsSmallestParameters() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(BenchmarkSmokeTest.class.getPackageName() + "\\..*Benchmark\\.")
+                // En la misma JVM: el classpath de surefire no siempre se puede pasar a un proceso hijo
+                .forks(0)
+                .warmupIterations(0)
+                .measurementIterations(1)
+                .measurementTime(TimeValue.milliseconds(100))
+                .param("size", "1")
+                .param("rows", "100")
+                .param("seedSize", "1000")
+                .shouldFailOnError(true)
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertThat(results)
+                .extracting(result -> result.getParams().getBenchmark().replaceAll("\\.[^.]+$", ""))
+                .contains(
+                        ApiResponseSerializationBenchmark.class.getName(),
+                        BinaryEncodingBenchmark.class.getName(),
+                        PersonaMappingBenchmark.class.getName(),
+                        PersonaReadPathBenchmark.class.getName(),
+                        PersonaServiceBenchmark.class.getName());
+        assertThat(results).allSatisfy(result -> assertThat(result.getPrimaryResult().getScore()).isPositive());
+    }
+}
@@ -0,0 +1,113 @@
+package proyeto1.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import proyeto1.config.BinaryContentConfig;
+import proyeto1.model.response.ApiResponse;
+import proyeto1.model.response.PersonaResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compara JSON con las representaciones binarias de la API (Smile, CBOR y CBOR con
+ * stringref) al codificar y decodificar un ApiResponse&lt;List&lt;PersonaResponse&gt;&gt;.
+ *
+ * Los mappers se construyen como los de la aplicación (BinaryContentConfig sobre el
+ * Jackson2ObjectMapperBuilder con la configuración de Spring Boot). El tamaño de cada
+ * representación, sin comprimir y con GZIP, se imprime al preparar cada combinación:
+ *
+ *     ./mvnw -Pbenchmark -DskipTests verify -Djmh.include=BinaryEncodingBenchmark
+ *
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryEncodingBenchmark {
+
+    @Param({"json", "smile", "cbor", "cbor-stringref"})
+    private String format;
+
+    @Param({"1", "50", "500", "5000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private ApiResponse<List<PersonaResponse>> response;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = mapper(format);
+        writer = objectMapper.writer();
+        reader = objectMapper.readerFor(new TypeReference<ApiResponse<List<PersonaResponse>>>() { });
+        List<PersonaResponse> personas = SyntheticPersonas.withIds(size, 42).stream()
+                .map(PersonaResponse::fromEntity)
+                .toList();
+        response = ApiResponse.success("Personas encontradas correctamente", personas);
+        encoded = writer.writeValueAsBytes(response);
+
+        int json = mapper("json").writeValueAsBytes(response).length;
+        System.out.printf("%n%s, %d personas: %d bytes (%.0f %% de JSON), %d bytes con GZIP%n",
+                format, size, encoded.length, 100.0 * encoded.length / json, gzipSize(encoded));
+    }
+
+    /**
+     * Codificación de la respuesta completa, como al escribir el cuerpo HTTP.
+     */
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(response);
+    }
+
+    /**
+     * Decodificación de la respuesta completa, como haría un cliente (o el servidor con
+     * el cuerpo de una carga masiva).
+     */
+    @Benchmark
+    public ApiResponse<List<PersonaResponse>> decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+    private static ObjectMapper mapper(String format) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return switch (format) {
+            case "json" -> builder.build();
+            case "smile" -> BinaryContentConfig.smileMapper(builder);
+            case "cbor" -> BinaryContentConfig.cborMapper(builder, false);
+            case "cbor-stringref" -> BinaryContentConfig.cborMapper(builder, true);
+            default -> throw new IllegalArgumentException("Formato desconocido: " + format);
+        };
+    }
+
+    private static int gzipSize(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
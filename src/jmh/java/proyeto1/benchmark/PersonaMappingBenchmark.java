@@ -0,0 +1,47 @@
+package proyeto1.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import proyeto1.model.Persona;
+import proyeto1.model.response.PersonaResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de convertir entidades Persona a PersonaResponse con fromEntity().
+ *
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonaMappingBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private List<Persona> personas;
+
+    @Setup
+    public void setUp() {
+        personas = SyntheticPersonas.withIds(size, 42);
+    }
+
+    @Benchmark
+    public List<PersonaResponse> fromEntity() {
+        return personas.stream().map(PersonaResponse::fromEntity).toList();
+    }
+}
@@ -0,0 +1,103 @@
+package proyeto1.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import proyeto1.NuevoProyeto1Application;
+import proyeto1.model.Persona;
+import proyeto1.model.response.PersonaResponse;
+import proyeto1.repository.PersonaRepository;
+import proyeto1.service.PersonaService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectura de listados grandes: entidades gestionadas copiadas a DTO frente a la
+ * proyección JPQL que construye PersonaResponse directamente desde el ResultSet.
+ *
+ * Ambas variantes leen las mismas filas dentro de una transacción de solo lectura.
+ * Ejecutar con el perfil de GC (activado por defecto en el perfil benchmark) para
+ * comparar también los bytes asignados por operación.
+ *
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class PersonaReadPathBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private PersonaRepository personaRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(NuevoProyeto1Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:read-path;DB_CLOSE_DELAY=-1",
+                        "spring.sql.init.mode=never",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.proyeto1=WARN",
+                        "logging.level.org.hibernate.SQL=WARN")
+                .run();
+        context.getBean(PersonaService.class).bulkSavePersonas(SyntheticPersonas.generate(0, 20_000, 42));
+        personaRepository = context.getBean(PersonaRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    /**
+     * Camino anterior: entidades gestionadas (hidratación e instantánea) y copia con fromEntity().
+     */
+    @Benchmark
+    public List<PersonaResponse> entitiesMappedToDto() {
+        return readOnly.execute(status -> entityManager
+                .createQuery("select p from Persona p where p.id > :afterId order by p.id", Persona.class)
+                .setParameter("afterId", 0L)
+                .setMaxResults(rows)
+                .getResultList()
+                .stream()
+                .map(PersonaResponse::fromEntity)
+                .toList());
+    }
+
+    /**
+     * Camino actual: proyección de constructor, sin entidades.
+     */
+    @Benchmark
+    public List<PersonaResponse> projection() {
+        return readOnly.execute(status -> personaRepository.findResponsesAfterId(0L, Limit.of(rows)));
+    }
+}
@@ -0,0 +1,158 @@
+package proyeto1.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import proyeto1.NuevoProyeto1Application;
+import proyeto1.model.Persona;
+import proyeto1.model.response.BulkPersonaResult;
+import proyeto1.model.response.CursorPage;
+import proyeto1.model.response.PersonaResponse;
+import proyeto1.model.response.PersonaSuggestion;
+import proyeto1.service.PersonaService;
+import proyeto1.service.support.PersonaCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operaciones de PersonaService contra una base H2 en memoria con datos sintéticos.
+ *
+ * Levanta el contexto de Spring completo (sin servidor web), carga seedSize personas
+ * con la carga masiva y mide las lecturas, búsquedas y altas tal como las invocan
+ * los controladores. Los índices en memoria ya están construidos al empezar a medir.
+ *
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class PersonaServiceBenchmark {
+
+    @Param({"10000", "100000"})
+    private int seedSize;
+
+    private ConfigurableApplicationContext context;
+    private PersonaService personaService;
+    private PersonaCache personaCache;
+    private long[] ids;
+    private String[] documentos;
+    private String middleCursor;
+    private long nextIndex;
+    private final SplittableRandom random = new SplittableRandom(7);
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(NuevoProyeto1Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.sql.init.mode=never",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.proyeto1=WARN",
+                        "logging.level.org.hibernate.SQL=WARN")
+                .run();
+        personaService = context.getBean(PersonaService.class);
+        personaCache = context.getBean(PersonaCache.class);
+
+        int chunk = 10_000;
+        for (int loaded = 0; loaded < seedSize; loaded += chunk) {
+            BulkPersonaResult result = personaService.bulkSavePersonas(
+                    SyntheticPersonas.generate(loaded, Math.min(chunk, seedSize - loaded), 42));
+            if (!result.getFailures().isEmpty()) {
+                throw new IllegalStateException("Fallo al cargar los datos sintéticos: " + result.getFailures().get(0));
+            }
+        }
+        nextIndex = seedSize;
+
+        // IDs y documentos reales para las búsquedas puntuales
+        List<PersonaResponse> all = new ArrayList<>(seedSize);
+        String cursor = null;
+        do {
+            CursorPage<PersonaResponse> page = personaService.getPersonasPage(cursor, 500);
+            all.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            if (all.size() == seedSize / 2) {
+                middleCursor = cursor;
+            }
+        } while (cursor != null);
+        ids = all.stream().mapToLong(PersonaResponse::getId).toArray();
+        documentos = all.stream().map(PersonaResponse::getDocumentoIdentidad).toArray(String[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    /**
+     * Lectura por ID servida mayoritariamente desde la caché.
+     */
+    @Benchmark
+    public Optional<Persona> getPersonaById() {
+        return personaService.getPersonaById(ids[random.nextInt(ids.length)]);
+    }
+
+    /**
+     * Lectura por ID que siempre va a la base de datos (incluye el coste de invalidar la entrada).
+     */
+    @Benchmark
+    public Optional<Persona> getPersonaByIdUncached() {
+        long id = ids[random.nextInt(ids.length)];
+        personaCache.invalidate(id);
+        return personaService.getPersonaById(id);
+    }
+
+    @Benchmark
+    public Optional<Persona> getPersonaByDocumentoIdentidad() {
+        return personaService.getPersonaByDocumentoIdentidad(documentos[random.nextInt(documentos.length)]);
+    }
+
+    @Benchmark
+    public CursorPage<PersonaResponse> getFirstPage() {
+        return personaService.getPersonasPage(null, 50);
+    }
+
+    @Benchmark
+    public CursorPage<PersonaResponse> getMiddlePage() {
+        return personaService.getPersonasPage(middleCursor, 50);
+    }
+
+    @Benchmark
+    public List<PersonaResponse> searchByName() {
+        return personaService.searchPersonasByName("perez gomez", 20);
+    }
+
+    @Benchmark
+    public List<PersonaSuggestion> suggestByPrefix() {
+        return personaService.suggestPersonas("maria go", 10);
+    }
+
+    /**
+     * Alta individual con documento y correo nuevos (la tabla crece durante la medición).
+     */
+    @Benchmark
+    public Persona savePersona() {
+        long index = nextIndex++;
+        return personaService.savePersona(SyntheticPersonas.persona(index, random));
+    }
+}
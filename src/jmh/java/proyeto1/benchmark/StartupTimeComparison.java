@@ -0,0 +1,196 @@
+package proyeto1.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el tiempo de arranque en frío de la aplicación empaquetada: desde que se lanza
+ * el proceso java hasta la primera respuesta 200 de la API.
+ *
+ * Compara tres variantes del mismo jar, cada una en un proceso nuevo y varias veces:
+ *
+ * - baseline: java -jar con la configuración por defecto.
+ * - fast-start: el perfil de Spring fast-start, sin AOT ni CDS.
+ * - aot-cds: perfil fast-start con el contexto generado por AOT (spring.aot.enabled) y un
+ *   archivo CDS de clases. El archivo se genera antes con una ejecución de entrenamiento
+ *   que arranca el contexto y sale (spring.context.exit=onRefresh) sobre el jar extraído.
+ *
+ * El jar debe construirse con el perfil aot para que incluya el contexto generado:
+ *
+ *     ./mvnw -Paot -DskipTests package
+ *     ./mvnw -Pbenchmark -DskipTests test-compile exec:java \
+ *         -Dexec.classpathScope=test -Dexec.mainClass=proyeto1.benchmark.StartupTimeComparison \
+ *         -Dstartup.runs=5
+ *
+ * El resultado se imprime como tabla y se guarda en target/startup-time-comparison.json.
+ *
+ * @version 1.0
+ */
+public final class StartupTimeComparison {
+
+    private static final int RUNS = Integer.getInteger("startup.runs", 5);
+    private static final String JAR = System.getProperty("startup.jar", "target/proyeto1-0.0.1-SNAPSHOT.jar");
+    private static final String PATH = System.getProperty("startup.path", "/api/personas?limit=1");
+    private static final long TIMEOUT_SECONDS = Long.getLong("startup.timeout-seconds", 120);
+    private static final Path WORK_DIR = Path.of("target/startup");
+
+    private StartupTimeComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(JAR);
+        if (!Files.exists(jar)) {
+            throw new IllegalStateException("No existe " + jar + ": ejecutar antes ./mvnw -Paot -DskipTests package");
+        }
+        Path extractedJar = prepareCdsArchive(jar);
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        results.add(measure("baseline", List.of("-jar", jar.toString()), List.of()));
+        results.add(measure("fast-start", List.of("-jar", jar.toString()), List.of("--spring.profiles.active=fast-start")));
+        results.add(measure("aot-cds", List.of(
+                        "-XX:SharedArchiveFile=" + WORK_DIR.resolve("application.jsa"),
+                        "-Dspring.aot.enabled=true",
+                        "-jar", extractedJar.toString()),
+                List.of("--spring.profiles.active=fast-start")));
+
+        System.out.printf("%n%-12s %12s %12s %12s%n", "variante", "mediana ms", "mín ms", "máx ms");
+        for (Map<String, Object> result : results) {
+            System.out.printf("%-12s %12d %12d %12d%n",
+                    result.get("variant"), result.get("medianMs"), result.get("minMs"), result.get("maxMs"));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("jar", JAR);
+        report.put("path", PATH);
+        report.put("runs", RUNS);
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("results", results);
+        File output = new File("target/startup-time-comparison.json");
+        output.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, report);
+        System.out.println("Resultados guardados en " + output.getPath());
+    }
+
+    /**
+     * Extrae el jar (CDS necesita las dependencias como jars independientes) y genera el
+     * archivo de clases con una ejecución de entrenamiento.
+     *
+     * @return Jar extraído con el que se usa el archivo CDS
+     */
+    private static Path prepareCdsArchive(Path jar) throws Exception {
+        Path extracted = WORK_DIR.resolve("extracted");
+        runToCompletion("extracción del jar", List.of(java(), "-Djarmode=tools", "-jar", jar.toString(),
+                "extract", "--force", "--destination", extracted.toString()));
+        Path extractedJar = extracted.resolve(jar.getFileName());
+
+        System.out.println("Ejecución de entrenamiento para el archivo CDS...");
+        runToCompletion("entrenamiento CDS", List.of(java(),
+                "-XX:ArchiveClassesAtExit=" + WORK_DIR.resolve("application.jsa"),
+                "-Dspring.aot.enabled=true",
+                "-Dspring.context.exit=onRefresh",
+                "-jar", extractedJar.toString(),
+                "--spring.profiles.active=fast-start",
+                "--server.port=0"));
+        return extractedJar;
+    }
+
+    private static Map<String, Object> measure(String variant, List<String> jvmArgs, List<String> appArgs) throws Exception {
+        long[] millis = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            millis[run] = timeToFirstRequest(jvmArgs, appArgs);
+            System.out.printf("Variante %s, ejecución %d: %d ms%n", variant, run + 1, millis[run]);
+        }
+        Arrays.sort(millis);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("variant", variant);
+        summary.put("medianMs", millis[RUNS / 2]);
+        summary.put("minMs", millis[0]);
+        summary.put("maxMs", millis[RUNS - 1]);
+        summary.put("runsMs", millis);
+        return summary;
+    }
+
+    /**
+     * Lanza la aplicación y sondea la API hasta recibir un 200.
+     *
+     * @return Milisegundos desde el lanzamiento del proceso hasta la primera respuesta correcta
+     */
+    private static long timeToFirstRequest(List<String> jvmArgs, List<String> appArgs) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(java());
+        command.addAll(jvmArgs);
+        command.addAll(appArgs);
+        command.add("--server.port=" + port);
+        command.add("--logging.level.root=WARN");
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PATH))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = start + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("La aplicación terminó con código " + process.exitValue() + ": " + command);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException e) {
+                    // Todavía no escucha en el puerto
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Sin respuesta 200 en " + TIMEOUT_SECONDS + " s: " + command);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static void runToCompletion(String description, List<String> command) throws Exception {
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("Falló el paso \"" + description + "\" (código " + exitCode + "): " + command);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+}
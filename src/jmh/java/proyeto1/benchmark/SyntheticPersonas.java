@@ -0,0 +1,80 @@
+package proyeto1.benchmark;
+
+import proyeto1.model.Persona;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generador de personas sintéticas para los benchmarks.
+ *
+ * Con la misma semilla produce siempre los mismos datos, para que las
+ * mediciones de distintas ejecuciones sean comparables.
+ *
+ * @version 1.0
+ */
+final class SyntheticPersonas {
+
+    private static final String[] NOMBRES = {
+            "Juan", "Ana", "María", "José", "Lucía", "Pedro", "Sofía", "Carlos", "Elena", "Andrés",
+            "Valentina", "Diego", "Camila", "Javier", "Paula", "Miguel", "Laura", "Ramón", "Inés", "Tomás"
+    };
+
+    private static final String[] APELLIDOS = {
+            "Pérez", "Gómez", "Rodríguez", "Fernández", "López", "Martínez", "Sánchez", "Ramírez", "Torres", "Díaz",
+            "Vargas", "Castro", "Romero", "Suárez", "Navarro", "Ortega", "Molina", "Delgado", "Herrera", "Núñez"
+    };
+
+    private SyntheticPersonas() {
+    }
+
+    /**
+     * Genera personas sin ID, con documento y correo únicos a partir de firstIndex.
+     *
+     * @param firstIndex Índice de la primera persona (determina documento y correo)
+     * @param count      Número de personas
+     * @param seed       Semilla del generador aleatorio
+     * @return Lista de personas listas para guardarse
+     */
+    static List<Persona> generate(long firstIndex, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed + firstIndex);
+        List<Persona> personas = new ArrayList<>(count);
+        for (long i = firstIndex; i < firstIndex + count; i++) {
+            personas.add(persona(i, random));
+        }
+        return personas;
+    }
+
+    /**
+     * Genera una persona sin ID con documento y correo derivados del índice.
+     */
+    static Persona persona(long index, SplittableRandom random) {
+        String nombre = NOMBRES[random.nextInt(NOMBRES.length)];
+        String apellido = APELLIDOS[random.nextInt(APELLIDOS.length)];
+        return Persona.builder()
+                .nombre(nombre)
+                .apellido(apellido + " " + APELLIDOS[random.nextInt(APELLIDOS.length)])
+                .documentoIdentidad(String.format("%08d-%d", index, index % 10))
+                .fechaNacimiento(LocalDate.of(1950, 1, 1).plusDays(random.nextInt(365 * 50)))
+                .correo("persona" + index + "@example.com")
+                .telefono("+56 9 " + (10_000_000 + random.nextInt(90_000_000)))
+                .direccion("Calle " + apellido + " " + (1 + random.nextInt(2000)))
+                .creadoEn(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(index))
+                .build();
+    }
+
+    /**
+     * Igual que {@link #generate(long, int, long)}, asignando IDs consecutivos desde 1.
+     * Para los benchmarks que no usan la base de datos.
+     */
+    static List<Persona> withIds(int count, long seed) {
+        List<Persona> personas = generate(0, count, seed);
+        for (int i = 0; i < personas.size(); i++) {
+            personas.get(i).setId(i + 1L);
+        }
+        return personas;
+    }
+}
@@ -0,0 +1,228 @@
+package proyeto1.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import proyeto1.NuevoProyeto1Application;
+import proyeto1.model.response.BulkPersonaResult;
+import proyeto1.service.PersonaService;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparación de rendimiento entre el modelo de hilos de plataforma de Tomcat
+ * y el modo de hilos virtuales (spring.threads.virtual.enabled).
+ *
+ * Arranca la aplicación dos veces con la misma configuración salvo el modo de hilos,
+ * lanza la misma carga HTTP concurrente contra cada una e informa peticiones por
+ * segundo y latencias p50/p99. Para reproducir el bloqueo en JDBC de una base de
+ * datos real, cada conexión obtenida del pool espera load.jdbc-latency-ms antes de
+ * usarse; el pool se dimensiona para que no sea él quien limite la concurrencia.
+ *
+ * Uso:
+ *
+ *     ./mvnw -Pbenchmark -DskipTests test-compile exec:java \
+ *         -Dexec.classpathScope=test -Dexec.mainClass=proyeto1.benchmark.ThreadModelComparison \
+ *         -Dload.concurrency=400 -Dload.seconds=20
+ *
+ * El resultado se imprime como tabla y se guarda en target/thread-model-comparison.json.
+ *
+ * @version 1.0
+ */
+public final class ThreadModelComparison {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 400);
+    private static final int SECONDS = Integer.getInteger("load.seconds", 20);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 5);
+    private static final long JDBC_LATENCY_MS = Long.getLong("load.jdbc-latency-ms", 20);
+    private static final int PLATFORM_THREADS = Integer.getInteger("load.platform-threads", 200);
+    private static final int SEED_SIZE = Integer.getInteger("load.seed-size", 10_000);
+    private static final String PATH = System.getProperty("load.path", "/api/personas?limit=20");
+
+    private ThreadModelComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Map<String, Object>> results = new ArrayList<>();
+        results.add(run("platform", false));
+        results.add(run("virtual", true));
+
+        System.out.printf("%n%-10s %12s %10s %10s %10s %8s%n", "modo", "peticiones/s", "p50 ms", "p99 ms", "máx ms", "errores");
+        for (Map<String, Object> result : results) {
+            System.out.printf("%-10s %12.1f %10.2f %10.2f %10.2f %8d%n",
+                    result.get("mode"), result.get("throughput"), result.get("p50Ms"),
+                    result.get("p99Ms"), result.get("maxMs"), result.get("errors"));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("path", PATH);
+        report.put("concurrency", CONCURRENCY);
+        report.put("seconds", SECONDS);
+        report.put("jdbcLatencyMs", JDBC_LATENCY_MS);
+        report.put("platformThreads", PLATFORM_THREADS);
+        report.put("results", results);
+        File output = new File("target/thread-model-comparison.json");
+        output.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, report);
+        System.out.println("Resultados guardados en " + output.getPath());
+    }
+
+    private static Map<String, Object> run(String mode, boolean virtualThreads) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(NuevoProyeto1Application.class)
+                .web(WebApplicationType.SERVLET)
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new JdbcLatencyInjector()))
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + PLATFORM_THREADS,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=" + (CONCURRENCY + 10),
+                        "spring.sql.init.mode=never",
+                        "spring.jpa.show-sql=false",
+                        // Se mide el modelo de hilos, no el control de admisión
+                        "persona.admission.enabled=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN")
+                .run();
+        try {
+            PersonaService personaService = context.getBean(PersonaService.class);
+            BulkPersonaResult seeded = personaService.bulkSavePersonas(SyntheticPersonas.generate(0, SEED_SIZE, 42));
+            if (!seeded.getFailures().isEmpty()) {
+                throw new IllegalStateException("Fallo al cargar los datos sintéticos: " + seeded.getFailures().get(0));
+            }
+            String port = context.getEnvironment().getProperty("local.server.port");
+            URI uri = URI.create("http://localhost:" + port + PATH);
+
+            System.out.printf("Modo %s: calentamiento de %d s...%n", mode, WARMUP_SECONDS);
+            load(uri, WARMUP_SECONDS);
+            System.out.printf("Modo %s: midiendo %d s con %d clientes concurrentes...%n", mode, SECONDS, CONCURRENCY);
+            LoadResult result = load(uri, SECONDS);
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("mode", mode);
+            summary.put("requests", result.latenciesNanos.length);
+            summary.put("errors", result.errors);
+            summary.put("throughput", result.latenciesNanos.length / (double) SECONDS);
+            summary.put("p50Ms", percentile(result.latenciesNanos, 0.50));
+            summary.put("p99Ms", percentile(result.latenciesNanos, 0.99));
+            summary.put("maxMs", percentile(result.latenciesNanos, 1.0));
+            return summary;
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Lanza CONCURRENCY clientes que repiten la petición sin pausa durante el tiempo indicado.
+     */
+    private static LoadResult load(URI uri, int seconds) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().timeout(Duration.ofSeconds(30)).build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        List<Future<LoadResult>> workers = new ArrayList<>(CONCURRENCY);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    long errors = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                            if (response.statusCode() != 200) {
+                                errors++;
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors++;
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return new LoadResult(Arrays.copyOf(latencies, count), errors);
+                }));
+            }
+        }
+
+        long[] all = new long[0];
+        long errors = 0;
+        for (Future<LoadResult> worker : workers) {
+            LoadResult partial = worker.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + partial.latenciesNanos.length);
+            System.arraycopy(partial.latenciesNanos, 0, all, offset, partial.latenciesNanos.length);
+            errors += partial.errors;
+        }
+        Arrays.sort(all);
+        return new LoadResult(all, errors);
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private record LoadResult(long[] latenciesNanos, long errors) {
+    }
+
+    /**
+     * Envuelve el DataSource para que cada conexión espere un tiempo fijo antes de
+     * entregarse, simulando la latencia de red y de consulta de una base de datos remota.
+     */
+    private static final class JdbcLatencyInjector implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && JDBC_LATENCY_MS > 0) {
+                return new DelegatingDataSource(dataSource) {
+                    @Override
+                    public Connection getConnection() throws SQLException {
+                        Connection connection = super.getConnection();
+                        try {
+                            Thread.sleep(JDBC_LATENCY_MS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            connection.close();
+                            throw new SQLException("Interrumpido mientras se simulaba la latencia", e);
+                        }
+                        return connection;
+                    }
+                };
+            }
+            return bean;
+        }
+    }
+}
@@ -2,8 +2,10 @@ package proyeto1;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class NuevoProyeto1Application {
 
 	public static void main(String[] args) {
@@ -0,0 +1,52 @@
+package proyeto1.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import proyeto1.util.AdaptiveLimiter;
+import proyeto1.web.AdmissionControlFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Registra el control de admisión delante de /personas.
+ *
+ * Se ejecuta antes que el resto de filtros para rechazar cuanto antes, pero después
+ * del de métricas de Spring Boot, de modo que los 503 también aparecen en
+ * http.server.requests.
+ */
+@Configuration
+@ConditionalOnProperty(name = "persona.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${persona.admission.read.initial-limit:100}") int readInitial,
+            @Value("${persona.admission.read.min-limit:10}") int readMin,
+            @Value("${persona.admission.read.max-limit:500}") int readMax,
+            @Value("${persona.admission.write.initial-limit:40}") int writeInitial,
+            @Value("${persona.admission.write.min-limit:4}") int writeMin,
+            @Value("${persona.admission.write.max-limit:200}") int writeMax,
+            @Value("${persona.admission.latency-tolerance:2.0}") double tolerance,
+            @Value("${persona.admission.backoff:0.9}") double backoff,
+            @Value("${persona.admission.retry-after:1s}") Duration retryAfter,
+            @Value("${persona.admission.excluded-paths:/personas/export}") List<String> excludedPaths) throws IOException {
+        AdmissionControlFilter filter = new AdmissionControlFilter(
+                new AdaptiveLimiter(readInitial, readMin, readMax, tolerance, backoff),
+                new AdaptiveLimiter(writeInitial, writeMin, writeMax, tolerance, backoff),
+                excludedPaths, retryAfter, objectMapper, meterRegistry);
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/personas", "/personas/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,90 @@
+package proyeto1.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Representaciones binarias de la API, elegidas por el cliente con Accept (respuestas)
+ * y Content-Type (cuerpos de POST, PUT y PATCH):
+ *
+ * - application/x-jackson-smile: Smile. Cada nombre de campo se escribe completo una
+ *   sola vez por documento y después como referencia de un byte, por lo que el coste de
+ *   los nombres repetidos en cada elemento de una lista casi desaparece.
+ * - application/cbor: CBOR (RFC 8949), con decodificadores en casi cualquier lenguaje.
+ *   Con persona.binary.cbor-stringref también comparte los nombres repetidos, pero el
+ *   cliente debe soportar la extensión stringref.
+ *
+ * Ambas usan el mismo modelo que JSON (mismos campos, fechas ISO-8601) y se construyen
+ * con el Jackson2ObjectMapperBuilder de Spring Boot, de modo que heredan su configuración.
+ * Sin Accept, o con application/json, la respuesta sigue siendo JSON.
+ *
+ * Como la representación depende de Accept, las respuestas de /personas llevan
+ * Vary: Accept para que ninguna caché entregue un formato a quien pidió otro, y cada
+ * formato tiene su propio ETag (ver CacheValidators.forRepresentation).
+ *
+ * @version 1.0
+ */
+@Configuration
+public class BinaryContentConfig implements WebMvcConfigurer {
+
+    /**
+     * Spring Boot sustituye con estos beans los convertidores Smile y CBOR por defecto de
+     * Spring MVC, que no aplican la configuración de Jackson de la aplicación.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(smileMapper(builder));
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder,
+            @Value("${persona.binary.cbor-stringref:false}") boolean stringref) {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper(builder, stringref));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/personas", "/personas/**");
+    }
+
+    /**
+     * @param builder Constructor con la configuración de Jackson de la aplicación
+     * @return ObjectMapper que lee y escribe Smile
+     */
+    public static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new SmileFactory()).build();
+    }
+
+    /**
+     * @param builder   Constructor con la configuración de Jackson de la aplicación
+     * @param stringref true para escribir los textos repetidos como referencias (extensión stringref)
+     * @return ObjectMapper que lee y escribe CBOR
+     */
+    public static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder, boolean stringref) {
+        CBORFactory factory = stringref
+                ? CBORFactory.builder().enable(CBORGenerator.Feature.STRINGREF).build()
+                : new CBORFactory();
+        return builder.factory(factory).build();
+    }
+}
@@ -0,0 +1,29 @@
+package proyeto1.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import proyeto1.metrics.StatementCounter;
+
+/**
+ * Configuración de la instrumentación que no cubre Spring Boot por sí solo.
+ *
+ * Las peticiones HTTP (http.server.requests) y el pool de conexiones (hikaricp.*)
+ * los mide Actuator; aquí se engancha el contador de sentencias SQL a Hibernate.
+ * Los histogramas y percentiles se configuran en application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Registra StatementCounter como StatementInspector de Hibernate.
+     *
+     * @param statementCounter Contador de sentencias
+     * @return Personalización de las propiedades de Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer(StatementCounter statementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+    }
+}
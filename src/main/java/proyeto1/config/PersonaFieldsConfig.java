@@ -0,0 +1,36 @@
+package proyeto1.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import proyeto1.model.PersonaFieldSet;
+import proyeto1.model.response.PersonaResponse;
+
+/**
+ * Selección de campos de PersonaResponse (parámetro fields) en los mappers de la aplicación.
+ *
+ * PersonaResponse recibe el filtro de Jackson mediante un mixin, de modo que solo lo
+ * ven los mappers construidos con el Jackson2ObjectMapperBuilder de Spring Boot (JSON,
+ * Smile y CBOR); el filtro por defecto serializa todos los campos. La respuesta de cada
+ * petición con fields lo sustituye por el de su PersonaFieldSet
+ * (PersonaFieldsResponseBodyAdvice).
+ *
+ * @version 1.0
+ */
+@Configuration
+public class PersonaFieldsConfig {
+
+    @JsonFilter(PersonaFieldSet.FILTER_ID)
+    interface PersonaResponseFilterMixin {
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer personaFieldsCustomizer() {
+        return builder -> builder
+                .mixIn(PersonaResponse.class, PersonaResponseFilterMixin.class)
+                .filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
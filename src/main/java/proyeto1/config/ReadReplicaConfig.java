@@ -0,0 +1,105 @@
+package proyeto1.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import proyeto1.datasource.ReplicaRoutingDataSource;
+import proyeto1.web.ReadYourWritesFilter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * Separa lecturas y escrituras entre la base de datos principal y sus réplicas.
+ *
+ * El DataSource de la aplicación es un LazyConnectionDataSourceProxy: las transacciones
+ * de solo lectura (@Transactional(readOnly = true) y los métodos de lectura de los
+ * repositorios) obtienen la conexión de ReplicaRoutingDataSource, que reparte entre las
+ * réplicas; el resto, de la principal. La decisión se toma al ejecutar la primera
+ * sentencia, cuando Hibernate ya marcó la conexión como de solo lectura.
+ *
+ * La replicación es asíncrona, así que una lectura puede no ver una escritura reciente.
+ * Para acotarlo:
+ * - ReadYourWritesFilter lleva a la principal las lecturas de un cliente que acaba de escribir.
+ * - Las lecturas que alimentan la caché y los índices en memoria van siempre a la principal
+ *   (ReadRouting), porque su resultado sobrevive mucho más que el retraso de las réplicas.
+ *
+ * Se activa con persona.datasource.routing.enabled=true.
+ */
+@Configuration
+@ConditionalOnProperty(name = "persona.datasource.routing.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    /**
+     * Pool de la base de datos principal, configurado con spring.datasource.*.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Pools de las réplicas, uno por URL, con el mismo usuario que la principal salvo
+     * que se indique otro. Sus métricas se publican como hikaricp.* con pool=replica-N.
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(
+            HikariDataSource primaryDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${persona.datasource.replica.urls}") List<String> urls,
+            @Value("${persona.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${persona.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${persona.datasource.replica.maximum-pool-size:20}") int maximumPoolSize,
+            @Value("${persona.datasource.replica.connection-timeout:5s}") Duration connectionTimeout) {
+        List<HikariDataSource> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i));
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(primaryDataSource.getDriverClassName());
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas);
+    }
+
+    /**
+     * DataSource que usan JPA, JdbcTemplate y la inicialización de SQL.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${persona.datasource.read-your-writes-window:5s}") Duration window,
+            @Value("${persona.datasource.read-your-writes-max-clients:100000}") long maxClients) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(window, maxClients));
+        registration.addUrlPatterns("/personas", "/personas/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        return registration;
+    }
+}
@@ -0,0 +1,73 @@
+package proyeto1.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import proyeto1.datasource.ShardRoutingDataSource;
+import proyeto1.service.support.PersonaShards;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reparte la tabla de personas entre varias bases de datos (fragmentos).
+ *
+ * El DataSource de la aplicación pasa a ser un ShardRoutingDataSource con un pool por
+ * URL de persona.sharding.urls; PersonaShards decide el fragmento de cada operación.
+ *
+ * No se combina con las réplicas de lectura ni con el almacenamiento persistente: las
+ * instantáneas y la carga inicial trabajan sobre una única base de datos.
+ *
+ * Se activa con persona.sharding.enabled=true (perfil sharded).
+ */
+@Configuration
+@ConditionalOnProperty(name = "persona.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    /**
+     * Pools de los fragmentos, con el usuario de spring.datasource. Sus métricas se
+     * publican como hikaricp.* con pool=shard-N.
+     */
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(
+            MeterRegistry meterRegistry,
+            @Value("${persona.sharding.urls}") List<String> urls,
+            @Value("${spring.datasource.username:}") String username,
+            @Value("${spring.datasource.password:}") String password,
+            @Value("${spring.datasource.driver-class-name:}") String driverClassName,
+            @Value("${persona.sharding.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${persona.sharding.connection-timeout:5s}") Duration connectionTimeout,
+            @Value("${persona.datasource.routing.enabled:false}") boolean replicaRouting,
+            @Value("${persona.storage.initialize:false}") boolean storageInitialize) {
+        if (replicaRouting || storageInitialize) {
+            throw new IllegalStateException(
+                    "La fragmentación no admite persona.datasource.routing.enabled ni persona.storage.initialize");
+        }
+        if (urls.size() > PersonaShards.MAX_SHARDS) {
+            throw new IllegalStateException("Como máximo " + PersonaShards.MAX_SHARDS + " fragmentos");
+        }
+        List<HikariDataSource> shards = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource shard = new HikariDataSource();
+            shard.setPoolName("shard-" + i);
+            shard.setJdbcUrl(urls.get(i));
+            shard.setUsername(username);
+            shard.setPassword(password);
+            if (!driverClassName.isBlank()) {
+                shard.setDriverClassName(driverClassName);
+            }
+            shard.setMaximumPoolSize(maximumPoolSize);
+            shard.setConnectionTimeout(connectionTimeout.toMillis());
+            shard.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            shards.add(shard);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+}
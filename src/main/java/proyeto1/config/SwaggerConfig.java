@@ -12,6 +12,14 @@ import org.springframework.context.annotation.Configuration;
 
 import java.util.List;
 
+/**
+ * Configuración de la documentación OpenAPI.
+ *
+ * springdoc crea este bean al arrancar para construir su servicio, pero es solo la
+ * cabecera de la documentación. El recorrido de los controladores se hace en la primera
+ * petición a /api-docs o a Swagger UI (springdoc.pre-loading-enabled=false), de modo que
+ * no retrasa el arranque ni la primera petición a la API.
+ */
 @Configuration
 public class SwaggerConfig {
 
@@ -33,7 +41,9 @@ public class SwaggerConfig {
                         .title("API de Catálogo de Productos")
                         .description("API RESTful para la gestión de un catálogo de productos. " +
                                 "Este microservicio es un material educativo que muestra buenas prácticas " +
-                                "en el desarrollo de APIs con Spring Boot.")
+                                "en el desarrollo de APIs con Spring Boot. " +
+                                "Además de JSON, las respuestas y los cuerpos pueden usar Smile " +
+                                "(application/x-jackson-smile) o CBOR (application/cbor), indicándolo en Accept y Content-Type.")
                         .version("v1.0")
                         .contact(new Contact()
                                 .name("Equipo de Desarrollo")
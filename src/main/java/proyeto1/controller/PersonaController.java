@@ -1,16 +1,49 @@
 package proyeto1.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import proyeto1.model.Persona;
+import proyeto1.model.PersonaFieldSet;
+import proyeto1.model.PersonaVersion;
+import proyeto1.model.request.PersonaPatch;
+import proyeto1.model.response.BulkPersonaResult;
+import proyeto1.model.response.CursorPage;
+import proyeto1.model.response.PersonaBatch;
+import proyeto1.model.response.PersonaChange;
+import proyeto1.model.response.PersonaDelta;
 import proyeto1.model.response.PersonaResponse;
+import proyeto1.model.response.PersonaStats;
+import proyeto1.model.response.PersonaSuggestion;
 import proyeto1.model.response.ApiResponse;
 import proyeto1.service.PersonaService;
+import proyeto1.exception.VersionConflictException;
+import proyeto1.exception.VersionRequiredException;
 import proyeto1.controller.doc.PersonaControllerDoc;
+import proyeto1.util.BroadcastLog;
+import proyeto1.util.CacheValidators;
+import proyeto1.web.PersonaFieldsResponseBodyAdvice;
 
-import javax.validation.Valid;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/personas")
@@ -19,26 +52,260 @@ public class PersonaController implements PersonaControllerDoc {
     @Autowired
     private PersonaService personaService;  // Servicio que maneja la lógica de negocio
 
+    @Autowired
+    private ObjectMapper objectMapper;  // Mapper de Jackson configurado por Spring Boot
+
+    @Value("${persona.pagination.default-limit:50}")
+    private int defaultPageLimit;  // Tamaño de página cuando el cliente no indica uno
+
+    @Value("${persona.search.default-limit:50}")
+    private int defaultSearchLimit;  // Número de resultados de búsqueda cuando el cliente no indica uno
+
+    @Value("${persona.suggest.default-limit:10}")
+    private int defaultSuggestLimit;  // Número de sugerencias cuando el cliente no indica uno
+
+    @Value("${persona.bulk.max-size:200000}")
+    private int bulkMaxSize;  // Número máximo de filas aceptadas en una carga masiva
+
+    @Value("${persona.export.flush-every:256}")
+    private int exportFlushEvery;  // Cada cuántas filas se vacía el buffer de salida durante la exportación
+
+    @Value("${persona.stats.default-limit:20}")
+    private int defaultStatsLimit;  // Número de dominios de correo cuando el cliente no indica uno
+
+    @Value("${persona.sync.default-limit:500}")
+    private int defaultSyncLimit;  // Número de cambios por sincronización cuando el cliente no indica uno
+
+    @Value("${persona.stream.heartbeat:15s}")
+    private Duration streamHeartbeat;  // Intervalo de los comentarios que mantienen viva una suscripción sin cambios
+
+    @Value("${persona.stream.timeout:30m}")
+    private Duration streamTimeout;  // Duración máxima de una suscripción; el cliente reconecta al terminar
+
+    /**
+     * Obtiene una página de personas registradas usando paginación por cursor.
+     *
+     * Si el cliente envía el ETag de la página y ninguna fila ha cambiado, se responde
+     * 304 tras leer solo los IDs y versiones, sin cargar ni serializar la página.
+     */
+    @Override
+    public ResponseEntity<ApiResponse<CursorPage<PersonaResponse>>> getAllPersons(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        int pageLimit = limit != null ? limit : defaultPageLimit;
+        PersonaFieldSet fieldSet = fieldSet(fields, webRequest);
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            CursorPage<PersonaVersion> versions = personaService.getPersonasPageVersions(cursor, pageLimit);
+            if (webRequest.checkNotModified(forAccept(CacheValidators.collectionEtag(
+                    versions.getItems(), PersonaVersion::id, PersonaVersion::version, versions.isHasMore()), webRequest))) {
+                return null;
+            }
+        }
+        CursorPage<PersonaResponse> page = personaService.getPersonasPage(cursor, pageLimit, fieldSet);
+        return ResponseEntity.ok()
+                .eTag(CacheValidators.collectionEtag(page.getItems(), PersonaResponse::getId, PersonaResponse::getVersion, page.isHasMore()))
+                .body(ApiResponse.success("Personas encontradas correctamente", page));
+    }
+
+    /**
+     * Obtiene varias personas por ID en una sola petición, en el orden pedido.
+     */
+    @Override
+    public ResponseEntity<ApiResponse<PersonaBatch>> getPersonsByIds(
+            @RequestParam List<Long> ids,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        PersonaBatch batch = personaService.getPersonasByIds(ids, fieldSet(fields, webRequest));
+        // Los IDs ausentes no tienen versión: si se crean, cambia la lista de elementos y con ella el ETag
+        String etag = CacheValidators.collectionEtag(batch.getItems(), PersonaResponse::getId, PersonaResponse::getVersion, false);
+        if (webRequest.checkNotModified(forAccept(etag, webRequest))) {
+            return null;
+        }
+        String message = String.format("Personas encontradas: %d de %d",
+                batch.getItems().size(), batch.getItems().size() + batch.getMissing().size());
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .body(ApiResponse.success(message, batch));
+    }
+
+    /**
+     * Exporta todas las personas como NDJSON (un objeto JSON por línea).
+     *
+     * Cada fila se escribe en el socket en cuanto se lee de la base de datos, sin
+     * construir listas intermedias. El primer elemento se envía antes de que termine
+     * la consulta, y el buffer se vacía periódicamente para mantener el flujo.
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportPersons(@RequestParam(required = false) String fields) {
+        PersonaFieldSet fieldSet = PersonaFieldSet.parse(fields);
+        // El vaciado del buffer lo controlamos nosotros, no Jackson tras cada valor
+        ObjectWriter writer = objectMapper.writerFor(PersonaResponse.class)
+                .with(fieldSet.filters())
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(new SerializedString("\n"));
+                long[] written = {0};
+                personaService.exportPersonas(persona -> {
+                    try {
+                        writer.writeValue(generator, persona);
+                        if (++written[0] == 1 || written[0] % exportFlushEvery == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, fieldSet);
+                generator.writeRaw('\n');
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Obtiene los cambios sobre personas desde la sincronización anterior.
+     */
+    @Override
+    public ResponseEntity<ApiResponse<PersonaDelta>> getPersonChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit) {
+        PersonaDelta delta = personaService.getPersonaChanges(since, limit != null ? limit : defaultSyncLimit);
+        String message = String.format("Cambios obtenidos: %d modificadas, %d eliminadas",
+                delta.getChanged().size(), delta.getDeleted().size());
+        return ResponseEntity.ok(ApiResponse.success(message, delta));
+    }
+
+    /**
+     * Abre un flujo server-sent events con los cambios confirmados sobre personas.
+     *
+     * Cada suscripción se atiende en un hilo virtual propio que espera a los cambios y
+     * los escribe en la conexión, sin ocupar un hilo del servidor. La suscripción se
+     * cierra al terminar el flujo por cualquier motivo: desconexión del cliente, tiempo
+     * agotado o baja por no consumir a tiempo.
+     */
+    @Override
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) String lastEventId) {
+        BroadcastLog.Subscription<PersonaChange> subscription =
+                personaService.subscribeChanges(lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        Thread.ofVirtual().name("persona-stream").start(() -> pumpChanges(subscription, emitter));
+        return emitter;
+    }
+
+    /**
+     * Escribe los cambios de la suscripción en el flujo hasta que termine.
+     */
+    private void pumpChanges(BroadcastLog.Subscription<PersonaChange> subscription, SseEmitter emitter) {
+        try (subscription) {
+            if (subscription.hasGap()) {
+                // No se puede reanudar: el cliente recarga el estado y continúa desde este id
+                emitter.send(SseEmitter.event()
+                        .id(personaService.getResumeEventId(subscription))
+                        .name("reset")
+                        .data("Los cambios solicitados ya no están disponibles; se debe recargar el estado"));
+            }
+            while (!subscription.isFinished()) {
+                BroadcastLog.Entry<PersonaChange> entry = subscription.poll(streamHeartbeat);
+                if (entry != null) {
+                    PersonaChange change = entry.value();
+                    emitter.send(SseEmitter.event()
+                            .id(change.getEventId())
+                            .name(change.getType().name())
+                            .data(change, MediaType.APPLICATION_JSON));
+                } else if (!subscription.isFinished()) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            }
+            // Dada de baja por lenta (o cerrada): el cliente reconecta y reanuda con Last-Event-ID
+            emitter.complete();
+        } catch (IOException | IllegalStateException ex) {
+            // El cliente se desconectó o el flujo ya había terminado
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        }
+    }
+
+    /**
+     * Busca personas por nombre y apellido, sin distinguir tildes ni mayúsculas.
+     */
+    @Override
+    public ResponseEntity<ApiResponse<List<PersonaResponse>>> searchPersons(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        PersonaFieldSet fieldSet = fieldSet(fields, webRequest);
+        List<PersonaResponse> personas = limit != null
+                ? personaService.searchPersonasByName(q, limit, fieldSet)
+                : personaService.searchPersonasByName(q, defaultSearchLimit, fieldSet);
+        // Los resultados ya están cargados: un 304 ahorra la serialización y la transferencia
+        String etag = CacheValidators.collectionEtag(personas, PersonaResponse::getId, PersonaResponse::getVersion, false);
+        if (webRequest.checkNotModified(forAccept(etag, webRequest))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .body(ApiResponse.success("Personas encontradas correctamente", personas));
+    }
+
     /**
-     * Obtiene todas las personas registradas.
+     * Sugiere personas cuyo nombre y apellido empiezan por el prefijo (autocompletado).
      */
     @Override
-    public ResponseEntity<ApiResponse<List<PersonaResponse>>> getAllPersons() {
-        List<PersonaResponse> personas = personaService.getAllPersons();
-        return ResponseEntity.ok(new ApiResponse<>(true, "Personas encontradas correctamente", personas));
+    public ResponseEntity<ApiResponse<List<PersonaSuggestion>>> suggestPersons(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        List<PersonaSuggestion> suggestions = personaService
+                .suggestPersonas(prefix, limit != null ? limit : defaultSuggestLimit);
+        return ResponseEntity.ok(ApiResponse.success("Sugerencias obtenidas correctamente", suggestions));
+    }
+
+    /**
+     * Cuenta las personas agrupadas por un dato demográfico.
+     */
+    @Override
+    public ResponseEntity<ApiResponse<PersonaStats>> getPersonStats(
+            @RequestParam String groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer limit) {
+        PersonaStats stats = personaService.getPersonaStats(groupBy, from, to, limit != null ? limit : defaultStatsLimit);
+        return ResponseEntity.ok(ApiResponse.success("Estadísticas calculadas correctamente", stats));
     }
 
     /**
      * Obtiene una persona por ID.
+     *
+     * Antes de cargar la persona se comprueba su versión contra If-None-Match /
+     * If-Modified-Since; si no ha cambiado se responde 304 sin cuerpo. La persona se
+     * lee completa (suele estar en caché); fields solo recorta la respuesta.
      */
     @Override
-    public ResponseEntity<ApiResponse<PersonaResponse>> getPersonById(@PathVariable Long id) {
-        PersonaResponse persona = personaService.getPersonById(id);
-        if (persona != null) {
-            return ResponseEntity.ok(new ApiResponse<>(true, "Persona encontrada correctamente", persona));
-        } else {
-            return ResponseEntity.status(404).body(new ApiResponse<>(false, "Persona no encontrada", null));
+    public ResponseEntity<ApiResponse<PersonaResponse>> getPersonById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        fieldSet(fields, webRequest);
+        Optional<PersonaVersion> version = personaService.getPersonaVersion(id);
+        if (version.isPresent() && webRequest.checkNotModified(
+                forAccept(CacheValidators.etag(id, version.get().version()), webRequest),
+                CacheValidators.lastModifiedMillis(version.get().lastModified()))) {
+            return null;
         }
+        return personaService.getPersonaById(id)
+                .map(persona -> withValidators(ResponseEntity.ok(), persona)
+                        .body(ApiResponse.success("Persona encontrada correctamente", PersonaResponse.fromEntity(persona))))
+                .orElseGet(() -> ResponseEntity.status(404).body(ApiResponse.<PersonaResponse>error("Persona no encontrada", "NOT_FOUND")));
     }
 
     /**
@@ -46,8 +313,23 @@ public class PersonaController implements PersonaControllerDoc {
      */
     @Override
     public ResponseEntity<ApiResponse<PersonaResponse>> createPerson(@Valid @RequestBody Persona person) {
-        PersonaResponse createdPerson = personaService.createPerson(person);
-        return ResponseEntity.status(201).body(new ApiResponse<>(true, "Persona creada correctamente", createdPerson));
+        Persona saved = personaService.savePersona(person);
+        return withValidators(ResponseEntity.status(201), saved)
+                .body(ApiResponse.success("Persona creada correctamente", PersonaResponse.fromEntity(saved)));
+    }
+
+    /**
+     * Crea un lote de personas en una sola petición.
+     */
+    @Override
+    public ResponseEntity<ApiResponse<BulkPersonaResult>> createPersonsBulk(@RequestBody List<Persona> persons) {
+        if (persons.size() > bulkMaxSize) {
+            throw new IllegalArgumentException("El lote supera el máximo de " + bulkMaxSize + " personas");
+        }
+        BulkPersonaResult result = personaService.bulkSavePersonas(persons);
+        String message = String.format("Carga masiva procesada: %d creadas, %d fallidas",
+                result.getCreated(), result.getFailures().size());
+        return ResponseEntity.ok(ApiResponse.success(message, result));
     }
 
     /**
@@ -55,12 +337,64 @@ public class PersonaController implements PersonaControllerDoc {
      */
     @Override
     public ResponseEntity<ApiResponse<PersonaResponse>> updatePerson(@PathVariable Long id, @Valid @RequestBody Persona personDetails) {
-        PersonaResponse updatedPerson = personaService.updatePerson(id, personDetails);
-        if (updatedPerson != null) {
-            return ResponseEntity.ok(new ApiResponse<>(true, "Persona actualizada correctamente", updatedPerson));
+        Persona updated = personaService.updatePersona(id, personDetails);
+        return withValidators(ResponseEntity.ok(), updated)
+                .body(ApiResponse.success("Persona actualizada correctamente", PersonaResponse.fromEntity(updated)));
+    }
+
+    /**
+     * Modifica parcialmente una persona si sigue en la versión indicada.
+     *
+     * La versión esperada se toma de If-Match (un ETag de la persona, o * para no
+     * comprobarla) o, si no se envía la cabecera, del campo version del cuerpo.
+     */
+    @Override
+    public ResponseEntity<ApiResponse<PersonaVersion>> patchPerson(
+            @PathVariable Long id,
+            @Valid @RequestBody PersonaPatch patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PersonaVersion patched;
+        if (ifMatch != null) {
+            Long expected = expectedVersion(id, ifMatch.trim());
+            try {
+                patched = personaService.patchPersona(id, patch, expected);
+            } catch (VersionConflictException ex) {
+                throw ex.asPreconditionFailed();
+            }
+        } else if (patch.getVersion() != null) {
+            patched = personaService.patchPersona(id, patch, patch.getVersion());
         } else {
-            return ResponseEntity.status(400).body(new ApiResponse<>(false, "Datos inválidos", null));
+            throw new VersionRequiredException();
         }
+        return withValidators(ResponseEntity.ok(), patched)
+                .body(ApiResponse.success("Persona modificada correctamente", patched));
+    }
+
+    /**
+     * Interpreta el parámetro fields y lo deja en la petición para que
+     * PersonaFieldsResponseBodyAdvice recorte la respuesta.
+     */
+    private static PersonaFieldSet fieldSet(String fields, WebRequest webRequest) {
+        PersonaFieldSet fieldSet = PersonaFieldSet.parse(fields);
+        webRequest.setAttribute(PersonaFieldsResponseBodyAdvice.ATTRIBUTE, fieldSet, RequestAttributes.SCOPE_REQUEST);
+        return fieldSet;
+    }
+
+    /**
+     * Versión esperada según If-Match: null para *, la del ETag si es de esta persona.
+     */
+    private static Long expectedVersion(Long id, String ifMatch) {
+        if ("*".equals(ifMatch)) {
+            return null;
+        }
+        if (ifMatch.contains(",")) {
+            throw new IllegalArgumentException("If-Match debe contener un único ETag");
+        }
+        Long version = CacheValidators.parseVersion(ifMatch, id);
+        if (version == null) {
+            throw VersionConflictException.preconditionFailed(id);
+        }
+        return version;
     }
 
     /**
@@ -68,11 +402,33 @@ public class PersonaController implements PersonaControllerDoc {
      */
     @Override
     public ResponseEntity<ApiResponse<Void>> deletePerson(@PathVariable Long id) {
-        boolean isDeleted = personaService.deletePerson(id);
-        if (isDeleted) {
-            return ResponseEntity.ok(new ApiResponse<>(true, "Persona eliminada correctamente", null));
-        } else {
-            return ResponseEntity.status(404).body(new ApiResponse<>(false, "Persona no encontrada", null));
+        personaService.deletePersona(id);
+        return ResponseEntity.ok(ApiResponse.success("Persona eliminada correctamente"));
+    }
+
+    /**
+     * ETag de la representación (JSON, Smile o CBOR) que recibirá la petición según Accept,
+     * para comparar con If-None-Match. En las respuestas 200 el sufijo lo pone
+     * RepresentationEtagResponseBodyAdvice según el formato elegido finalmente.
+     */
+    private static String forAccept(String etag, WebRequest webRequest) {
+        return CacheValidators.forRepresentation(etag,
+                CacheValidators.preferredRepresentation(webRequest.getHeader(HttpHeaders.ACCEPT)));
+    }
+
+    /**
+     * Añade el ETag y la fecha de última modificación de la persona a la respuesta.
+     */
+    private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder, Persona persona) {
+        return withValidators(builder, PersonaVersion.of(persona));
+    }
+
+    private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder, PersonaVersion version) {
+        builder.eTag(CacheValidators.etag(version.id(), version.version()));
+        long lastModified = CacheValidators.lastModifiedMillis(version.lastModified());
+        if (lastModified >= 0) {
+            builder.lastModified(lastModified);
         }
+        return builder;
     }
 }
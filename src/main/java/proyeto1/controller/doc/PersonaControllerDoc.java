@@ -1,11 +1,25 @@
 package proyeto1.controller.doc;
 
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
 import java.util.List;
 import proyeto1.model.Persona;
+import proyeto1.model.PersonaVersion;
+import proyeto1.model.request.PersonaPatch;
+import proyeto1.model.response.BulkPersonaResult;
+import proyeto1.model.response.CursorPage;
+import proyeto1.model.response.PersonaBatch;
+import proyeto1.model.response.PersonaDelta;
 import proyeto1.model.response.PersonaResponse;
+import proyeto1.model.response.PersonaStats;
+import proyeto1.model.response.PersonaSuggestion;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,9 +32,282 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "Personas", description = "API para gestionar personas en el catálogo")
 public interface PersonaControllerDoc {
 
+    /**
+     * Descripción del parámetro fields, común a las consultas de personas.
+     */
+    String FIELDS_DESCRIPTION = "Campos a devolver, separados por comas (el id se incluye siempre). Disponibles: " +
+            "id, nombre, apellido, documentoIdentidad, fechaNacimiento, correo, telefono, direccion, creadoEn, " +
+            "actualizadoEn, version. Sin fields se devuelven todos. Un campo desconocido responde 400.";
+
+    @Operation(
+            summary = "Obtener personas paginadas",
+            description = "Retorna una página de personas ordenada por ID. Para obtener la página siguiente " +
+                    "se debe enviar el valor de nextCursor recibido en la respuesta anterior. " +
+                    "La respuesta incluye un ETag; si se reenvía en If-None-Match y ninguna persona de la " +
+                    "página ha cambiado, se responde 304 sin cuerpo. Con fields solo se leen de la base de " +
+                    "datos y se devuelven los campos indicados."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Personas encontradas correctamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = PersonaResponse.class),
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                                    {
+                                        "success": true,
+                                        "message": "Personas encontradas correctamente",
+                                        "data": {
+                                            "items": [
+                                                {
+                                                    "id": 1,
+                                                    "nombre": "Juan",
+                                                    "apellido": "Pérez",
+                                                    "correo": "juan.perez@example.com"
+                                                }
+                                            ],
+                                            "limit": 1,
+                                            "hasMore": true,
+                                            "nextCursor": "djE6MQ"
+                                        }
+                                    }
+                                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "La página no ha cambiado desde el ETag indicado en If-None-Match"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Cursor o límite inválido",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de error",
+                                    value = """
+                                    {
+                                        "success": false,
+                                        "message": "Token de continuación inválido: abc",
+                                        "errorCode": "BAD_REQUEST"
+                                    }
+                                    """
+                            )
+                    )
+            )
+    })
+    @GetMapping
+    ResponseEntity<proyeto1.model.response.ApiResponse<CursorPage<PersonaResponse>>> getAllPersons(
+            @Parameter(description = "Número máximo de personas por página (máximo 500)", example = "50")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Token de continuación devuelto en la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "nombre,apellido")
+            @RequestParam(required = false) String fields,
+            @Parameter(hidden = true) WebRequest webRequest
+    );
+
+    @Operation(
+            summary = "Obtener varias personas por ID",
+            description = "Devuelve en una sola petición las personas de los IDs indicados, resueltas con una " +
+                    "única consulta. Las personas se devuelven en el orden pedido y los IDs que no existen se " +
+                    "listan en missing (la respuesta es 200 aunque falte alguno). Los IDs repetidos se tratan " +
+                    "una sola vez. Admite If-None-Match con el ETag de la respuesta anterior."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Personas encontradas correctamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = PersonaBatch.class),
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                                    {
+                                        "success": true,
+                                        "message": "Personas encontradas: 1 de 2",
+                                        "data": {
+                                            "items": [
+                                                {
+                                                    "id": 3,
+                                                    "nombre": "Juan",
+                                                    "apellido": "Pérez",
+                                                    "correo": "juan.perez@example.com"
+                                                }
+                                            ],
+                                            "missing": [99]
+                                        }
+                                    }
+                                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Sin IDs o más IDs de los permitidos",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de error",
+                                    value = """
+                                    {
+                                        "success": false,
+                                        "message": "La consulta supera el máximo de 100 IDs",
+                                        "errorCode": "BAD_REQUEST"
+                                    }
+                                    """
+                            )
+                    )
+            )
+    })
+    @GetMapping(params = "ids")
+    ResponseEntity<proyeto1.model.response.ApiResponse<PersonaBatch>> getPersonsByIds(
+            @Parameter(description = "IDs de las personas, separados por comas", required = true, example = "3,1,99")
+            @RequestParam List<Long> ids,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "nombre,correo")
+            @RequestParam(required = false) String fields,
+            @Parameter(hidden = true) WebRequest webRequest
+    );
+
+    @Operation(
+            summary = "Exportar todas las personas",
+            description = "Devuelve todas las personas en formato NDJSON (un objeto JSON por línea). " +
+                    "Las filas se envían a medida que se leen de la base de datos, por lo que el consumo " +
+                    "de memoria del servidor no depende del tamaño de la tabla. Con fields la consulta lee " +
+                    "solo las columnas de los campos indicados."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Exportación en curso",
+                    content = @Content(
+                            mediaType = "application/x-ndjson",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                                    {"id":1,"nombre":"Juan","apellido":"Pérez","documentoIdentidad":"12345678-9"}
+                                    {"id":2,"nombre":"Ana","apellido":"Gómez","documentoIdentidad":"98765432-1"}
+                                    """
+                            )
+                    )
+            )
+    })
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    ResponseEntity<StreamingResponseBody> exportPersons(
+            @Parameter(description = FIELDS_DESCRIPTION, example = "nombre,apellido,correo")
+            @RequestParam(required = false) String fields
+    );
+
+    @Operation(
+            summary = "Sincronizar cambios de personas",
+            description = "Devuelve las personas creadas o modificadas (changed) y los IDs de las eliminadas (deleted) " +
+                    "desde la sincronización anterior, junto con el token para la siguiente (nextToken). Sin since " +
+                    "se reciben todas las personas. Si hasMore es true quedan cambios: se debe volver a pedir enseguida " +
+                    "con nextToken. Los cambios de los últimos segundos pueden repetirse en la sincronización siguiente; " +
+                    "aplicarlos de nuevo no altera el resultado. Un token más antiguo que la retención de las bajas " +
+                    "responde 410 y el cliente debe volver a cargar todas las personas."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Cambios obtenidos correctamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                                    {
+                                        "success": true,
+                                        "message": "Cambios obtenidos: 1 modificadas, 1 eliminadas",
+                                        "data": {
+                                            "changed": [
+                                                {"id": 1, "nombre": "Juan", "apellido": "Pérez", "version": 3}
+                                            ],
+                                            "deleted": [7],
+                                            "hasMore": false,
+                                            "nextToken": "djE6MTc0NTE0NDUzMDAwMCw0Mg"
+                                        }
+                                    }
+                                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "410",
+                    description = "Token caducado: se deben volver a cargar todas las personas",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de token caducado",
+                                    value = """
+                                    {
+                                        "success": false,
+                                        "message": "El token de sincronización ha caducado; se deben volver a cargar todas las personas",
+                                        "errorCode": "SYNC_TOKEN_EXPIRED"
+                                    }
+                                    """
+                            )
+                    )
+            )
+    })
+    @GetMapping("/changes")
+    ResponseEntity<proyeto1.model.response.ApiResponse<PersonaDelta>> getPersonChanges(
+            @Parameter(description = "Token nextToken de la sincronización anterior; vacío para la primera")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Número máximo de cambios a devolver", example = "500")
+            @RequestParam(required = false) Integer limit
+    );
+
+    @Operation(
+            summary = "Suscribirse a los cambios de personas",
+            description = "Abre un flujo server-sent events con cada alta (CREATED), modificación (UPDATED, PATCHED) " +
+                    "y baja (DELETED) confirmada, con el estado completo de la persona (null en las bajas). " +
+                    "Cada evento lleva un id; al reconectar con la cabecera Last-Event-ID (o el parámetro " +
+                    "lastEventId) se reciben los cambios perdidos mientras sigan en el historial reciente. " +
+                    "Si ya no están, o el id es de un arranque anterior, el primer evento es \"reset\": el " +
+                    "cliente debe recargar las personas y continuar con ese flujo. Los clientes que no consumen " +
+                    "a tiempo se desconectan y deben reconectar. Sin cambios se envía un comentario periódico " +
+                    "para mantener viva la conexión."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Flujo de cambios abierto",
+                    content = @Content(
+                            mediaType = "text/event-stream",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                                    id:lz3k9a1c:42
+                                    event:UPDATED
+                                    data:{"eventId":"lz3k9a1c:42","type":"UPDATED","personaId":1,"persona":{"id":1,"nombre":"Juan","apellido":"Pérez","version":3},"publishedAt":"2025-04-20T10:15:30"}
+
+                                    id:lz3k9a1c:43
+                                    event:DELETED
+                                    data:{"eventId":"lz3k9a1c:43","type":"DELETED","personaId":7,"persona":null,"publishedAt":"2025-04-20T10:15:31"}
+                                    """
+                            )
+                    )
+            )
+    })
+    @GetMapping(value = "/stream", produces = "text/event-stream")
+    SseEmitter streamChanges(
+            @Parameter(hidden = true)
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @Parameter(description = "Id del último evento recibido, para clientes que no pueden enviar la cabecera Last-Event-ID")
+            @RequestParam(required = false) String lastEventId
+    );
+
     @Operation(
-            summary = "Obtener todas las personas",
-            description = "Retorna una lista de todas las personas registradas"
+            summary = "Buscar personas por nombre",
+            description = "Busca personas cuyo nombre o apellido contienen todas las palabras indicadas, " +
+                    "sin distinguir tildes ni mayúsculas (\"perez\" encuentra \"Pérez\"). " +
+                    "Los resultados se ordenan por relevancia. Admite If-None-Match con el ETag de la respuesta anterior."
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -38,10 +325,9 @@ public interface PersonaControllerDoc {
                                         "data": [
                                             {
                                                 "id": 1,
-                                                "name": "Juan Pérez",
-                                                "age": 30,
-                                                "email": "juan@example.com",
-                                                "address": "Calle Ficticia 123"
+                                                "nombre": "Juan",
+                                                "apellido": "Pérez",
+                                                "correo": "juan.perez@example.com"
                                             }
                                         ]
                                     }
@@ -50,12 +336,132 @@ public interface PersonaControllerDoc {
                     )
             )
     })
-    @GetMapping
-    ResponseEntity<proyeto1.model.response.ApiResponse<List<PersonaResponse>>> getAllPersons();
+    @GetMapping("/search")
+    ResponseEntity<proyeto1.model.response.ApiResponse<List<PersonaResponse>>> searchPersons(
+            @Parameter(description = "Texto a buscar en nombre y apellido", required = true, example = "perez")
+            @RequestParam String q,
+            @Parameter(description = "Número máximo de resultados", example = "20")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "nombre,apellido")
+            @RequestParam(required = false) String fields,
+            @Parameter(hidden = true) WebRequest webRequest
+    );
+
+    @Operation(
+            summary = "Autocompletar personas por nombre",
+            description = "Devuelve las personas cuyo \"nombre apellido\" empieza por el prefijo, " +
+                    "sin distinguir tildes ni mayúsculas, en orden alfabético. Solo incluye el ID " +
+                    "y el nombre para mostrar, pensado para consultarse en cada pulsación."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Sugerencias obtenidas correctamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = PersonaSuggestion.class),
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                                    {
+                                        "success": true,
+                                        "message": "Sugerencias obtenidas correctamente",
+                                        "data": [
+                                            {
+                                                "id": 1,
+                                                "displayName": "Juan Pérez"
+                                            },
+                                            {
+                                                "id": 7,
+                                                "displayName": "Juana Gómez"
+                                            }
+                                        ]
+                                    }
+                                    """
+                            )
+                    )
+            )
+    })
+    @GetMapping("/suggest")
+    ResponseEntity<proyeto1.model.response.ApiResponse<List<PersonaSuggestion>>> suggestPersons(
+            @Parameter(description = "Comienzo del nombre y apellido", required = true, example = "juan p")
+            @RequestParam String prefix,
+            @Parameter(description = "Número máximo de sugerencias (por defecto 10, máximo 50)", example = "10")
+            @RequestParam(required = false) Integer limit
+    );
+
+    @Operation(
+            summary = "Estadísticas demográficas de personas",
+            description = "Cuenta las personas agrupadas por año de nacimiento (birthYear), rango de edad (ageBand), " +
+                    "dominio del correo (emailDomain, los de más personas primero) o día de alta (createdDay, " +
+                    "entre from y to; por defecto los últimos 30 días). Se calcula sobre una copia columnar en " +
+                    "memoria que se actualiza con cada escritura, sin consultar la base de datos. missing cuenta " +
+                    "las personas que no entran en ninguno de los grupos devueltos."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Estadísticas calculadas correctamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = PersonaStats.class),
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                                    {
+                                        "success": true,
+                                        "message": "Estadísticas calculadas correctamente",
+                                        "data": {
+                                            "groupBy": "ageBand",
+                                            "total": 1250,
+                                            "missing": 0,
+                                            "groups": [
+                                                {"key": "0-17", "count": 120},
+                                                {"key": "18-29", "count": 310},
+                                                {"key": "30-44", "count": 420},
+                                                {"key": "45-64", "count": 300},
+                                                {"key": "65+", "count": 100}
+                                            ]
+                                        }
+                                    }
+                                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Agrupación desconocida o rango de fechas inválido",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de error",
+                                    value = """
+                                    {
+                                        "success": false,
+                                        "message": "Agrupación desconocida: pais. Agrupaciones disponibles: birthYear, ageBand, emailDomain, createdDay",
+                                        "errorCode": "BAD_REQUEST"
+                                    }
+                                    """
+                            )
+                    )
+            )
+    })
+    @GetMapping("/stats")
+    ResponseEntity<proyeto1.model.response.ApiResponse<PersonaStats>> getPersonStats(
+            @Parameter(description = "Dato por el que agrupar: birthYear, ageBand, emailDomain o createdDay", required = true, example = "ageBand")
+            @RequestParam String groupBy,
+            @Parameter(description = "Primer día de alta (solo createdDay)", example = "2024-05-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Último día de alta, incluido (solo createdDay; por defecto hoy)", example = "2024-05-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Número máximo de dominios (solo emailDomain; por defecto 20)", example = "20")
+            @RequestParam(required = false) Integer limit
+    );
 
     @Operation(
             summary = "Obtener persona por ID",
-            description = "Busca y retorna una persona según su ID"
+            description = "Busca y retorna una persona según su ID. La respuesta incluye ETag y Last-Modified; " +
+                    "con If-None-Match o If-Modified-Since se responde 304 sin cuerpo si la persona no ha cambiado."
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -82,6 +488,10 @@ public interface PersonaControllerDoc {
                             )
                     )
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "La persona no ha cambiado desde la versión indicada"
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "Persona no encontrada",
@@ -103,7 +513,10 @@ public interface PersonaControllerDoc {
     @GetMapping("/{id}")
     ResponseEntity<proyeto1.model.response.ApiResponse<PersonaResponse>> getPersonById(
             @Parameter(description = "ID de la persona", required = true, example = "1")
-            @PathVariable Long id
+            @PathVariable Long id,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "nombre,correo")
+            @RequestParam(required = false) String fields,
+            @Parameter(hidden = true) WebRequest webRequest
     );
 
     @Operation(
@@ -169,6 +582,48 @@ public interface PersonaControllerDoc {
             @Valid @RequestBody Persona person
     );
 
+    @Operation(
+            summary = "Carga masiva de personas",
+            description = "Crea un lote de personas. La unicidad se comprueba por bloques y los INSERT se " +
+                    "envían en lotes JDBC. Las filas inválidas o duplicadas se informan una a una sin " +
+                    "deshacer las filas que sí se guardaron."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Carga masiva procesada",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BulkPersonaResult.class),
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                                    {
+                                        "success": true,
+                                        "message": "Carga masiva procesada: 2 creadas, 1 fallidas",
+                                        "data": {
+                                            "total": 3,
+                                            "created": 2,
+                                            "failures": [
+                                                {
+                                                    "index": 2,
+                                                    "documentoIdentidad": "12345678-9",
+                                                    "reason": "Ya existe una persona con el Documento de Identidad: 12345678-9"
+                                                }
+                                            ]
+                                        }
+                                    }
+                                    """
+                            )
+                    )
+            )
+    })
+    @PostMapping("/bulk")
+    ResponseEntity<proyeto1.model.response.ApiResponse<BulkPersonaResult>> createPersonsBulk(
+            @Parameter(description = "Lista de personas a crear", required = true)
+            @RequestBody List<Persona> persons
+    );
+
     @Operation(
             summary = "Actualizar persona",
             description = "Actualiza los datos de una persona existente"
@@ -234,6 +689,141 @@ public interface PersonaControllerDoc {
             @Valid @RequestBody Persona personDetails
     );
 
+    @Operation(
+            summary = "Modificar parcialmente persona",
+            description = "Modifica solo los campos enviados de una persona con un único UPDATE, sin leerla antes. " +
+                    "La modificación solo se aplica si la persona sigue en la versión indicada: en la cabecera " +
+                    "If-Match (el ETag recibido al leerla, o * para no comprobarla) o, si no se envía, en el " +
+                    "campo version del cuerpo. Los campos null o ausentes conservan su valor. " +
+                    "La respuesta devuelve la nueva versión y el nuevo ETag."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Persona modificada correctamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = PersonaVersion.class),
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                                    {
+                                        "success": true,
+                                        "message": "Persona modificada correctamente",
+                                        "data": {
+                                            "id": 1,
+                                            "version": 4,
+                                            "lastModified": "2024-05-02T10:15:30"
+                                        }
+                                    }
+                                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Datos inválidos o cuerpo sin campos a modificar",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de error",
+                                    value = """
+                                    {
+                                        "success": false,
+                                        "message": "La modificación no incluye ningún campo",
+                                        "errorCode": "BAD_REQUEST"
+                                    }
+                                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Persona no encontrada",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de error",
+                                    value = """
+                                    {
+                                        "success": false,
+                                        "message": "Persona no encontrado con id : '1'",
+                                        "errorCode": "NOT_FOUND"
+                                    }
+                                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "409",
+                    description = "La versión del campo version ya no es la vigente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de error",
+                                    value = """
+                                    {
+                                        "success": false,
+                                        "message": "La persona con ID 1 fue modificada por otra petición (versión esperada 3, versión actual 4)",
+                                        "errorCode": "CONFLICT"
+                                    }
+                                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "412",
+                    description = "El ETag de If-Match ya no es el vigente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de error",
+                                    value = """
+                                    {
+                                        "success": false,
+                                        "message": "La persona con ID 1 fue modificada por otra petición (versión esperada 3, versión actual 4)",
+                                        "errorCode": "PRECONDITION_FAILED"
+                                    }
+                                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "428",
+                    description = "No se indicó la versión esperada",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de error",
+                                    value = """
+                                    {
+                                        "success": false,
+                                        "message": "Se requiere la cabecera If-Match o el campo version para modificar la persona",
+                                        "errorCode": "PRECONDITION_REQUIRED"
+                                    }
+                                    """
+                            )
+                    )
+            )
+    })
+    @PatchMapping("/{id}")
+    ResponseEntity<proyeto1.model.response.ApiResponse<PersonaVersion>> patchPerson(
+            @Parameter(description = "ID de la persona", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Campos a modificar y, opcionalmente, la versión esperada", required = true, content = @Content(
+                    mediaType = "application/json",
+                    examples = @ExampleObject(name = "Ejemplo de modificación parcial", value = """
+                    {
+                        "telefono": "555-0101",
+                        "version": 3
+                    }
+                    """))
+            )
+            @Valid @RequestBody PersonaPatch patch,
+            @Parameter(description = "ETag de la versión sobre la que se hicieron los cambios, o *", example = "\"1-3\"")
+            @RequestHeader(value = "If-Match", required = false) String ifMatch
+    );
+
     @Operation(
             summary = "Eliminar persona",
             description = "Elimina una persona del sistema"
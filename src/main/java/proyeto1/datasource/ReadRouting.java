@@ -0,0 +1,72 @@
+package proyeto1.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Indica, para el hilo actual, que las lecturas deben ir a la base de datos principal
+ * aunque la transacción sea de solo lectura.
+ *
+ * Se usa en las lecturas que no pueden tolerar el retraso de las réplicas: las que
+ * siguen a una escritura del mismo cliente y las que alimentan estructuras en memoria
+ * (caché, índices) que sobreviven a la petición.
+ *
+ * @version 1.0
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    /**
+     * @return true si las lecturas del hilo actual deben ir a la base de datos principal
+     */
+    public static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY.get());
+    }
+
+    /**
+     * Ejecuta una operación con las lecturas dirigidas a la base de datos principal.
+     * Para que tenga efecto, la transacción debe empezar dentro de la operación: la
+     * conexión se elige al ejecutar la primera sentencia.
+     *
+     * @param action Operación a ejecutar
+     * @param <T>    Tipo del resultado
+     * @return Resultado de la operación
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        try (Scope ignored = primary()) {
+            return action.get();
+        }
+    }
+
+    /**
+     * Dirige las lecturas del hilo actual a la base de datos principal hasta cerrar el
+     * ámbito devuelto, que restaura el estado anterior. Pensado para try-with-resources
+     * cuando la operación lanza excepciones comprobadas.
+     *
+     * @return Ámbito a cerrar al terminar
+     */
+    public static Scope primary() {
+        Boolean previous = PRIMARY.get();
+        PRIMARY.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                PRIMARY.remove();
+            } else {
+                PRIMARY.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Ámbito abierto por primary().
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,66 @@
+package proyeto1.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+/**
+ * Origen de datos de las transacciones de solo lectura.
+ *
+ * Reparte las conexiones entre las réplicas por turnos y devuelve una conexión de la
+ * base de datos principal cuando el hilo actual lo exige (ReadRouting). Se usa como
+ * readOnlyDataSource de un LazyConnectionDataSourceProxy, que decide entre este origen
+ * y el principal al ejecutar la primera sentencia de cada transacción.
+ *
+ * Al cerrarse cierra los pools de las réplicas, no el de la base de datos principal.
+ *
+ * @version 1.0
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final String PRIMARY = "primary";
+
+    private final List<? extends DataSource> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param primary  Base de datos principal
+     * @param replicas Réplicas de lectura (al menos una)
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere al menos una réplica");
+        }
+        this.replicas = List.copyOf(replicas);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (ReadRouting.isPrimaryRequired()) {
+            return PRIMARY;
+        }
+        return Math.floorMod(next.getAndIncrement(), replicas.size());
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package proyeto1.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Fragmento (shard) al que se dirigen las conexiones del hilo actual.
+ *
+ * ShardRoutingDataSource elige la base de datos según este valor y
+ * ShardedSequenceGenerator genera los IDs en el rango del fragmento. Debe fijarse
+ * antes de empezar la transacción: la conexión se obtiene al comenzarla.
+ *
+ * @version 1.0
+ */
+public final class ShardRouting {
+
+    private static final ThreadLocal<Integer> SHARD = new ThreadLocal<>();
+
+    private ShardRouting() {
+    }
+
+    /**
+     * @return Fragmento del hilo actual, o null si no se ha fijado
+     */
+    public static Integer current() {
+        return SHARD.get();
+    }
+
+    /**
+     * Ejecuta una operación con las conexiones dirigidas a un fragmento y restaura
+     * después el fragmento anterior.
+     *
+     * @param shard  Fragmento
+     * @param action Operación a ejecutar
+     * @param <T>    Tipo del resultado
+     * @return Resultado de la operación
+     */
+    public static <T> T on(int shard, Supplier<T> action) {
+        Integer previous = SHARD.get();
+        SHARD.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                SHARD.remove();
+            } else {
+                SHARD.set(previous);
+            }
+        }
+    }
+}
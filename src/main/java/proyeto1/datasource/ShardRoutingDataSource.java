@@ -0,0 +1,63 @@
+package proyeto1.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+
+/**
+ * Origen de datos que entrega conexiones del fragmento fijado en ShardRouting.
+ *
+ * Sin fragmento fijado se usa el 0: es el caso del arranque de Hibernate (metadatos y
+ * creación del esquema) y de cualquier acceso que no pase por PersonaShards.
+ *
+ * Al cerrarse cierra los pools de todos los fragmentos.
+ *
+ * @version 1.0
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final List<? extends DataSource> shards;
+
+    /**
+     * @param shards Base de datos de cada fragmento, en orden
+     */
+    public ShardRoutingDataSource(List<? extends DataSource> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere al menos un fragmento");
+        }
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(i, shards.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * @return Base de datos de cada fragmento, en orden
+     */
+    public List<? extends DataSource> shards() {
+        return shards;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = ShardRouting.current();
+        return shard != null ? shard : 0;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource shard : shards) {
+            if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package proyeto1.datasource;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import proyeto1.service.support.PersonaShards;
+
+import javax.sql.DataSource;
+
+/**
+ * Prepara el esquema de cada fragmento al arrancar.
+ *
+ * Hibernate crea el esquema solo en la base de datos por defecto (el fragmento 0).
+ * Para el resto, si la tabla de personas no existe se exporta el mismo esquema con el
+ * fragmento fijado y se reinicia la secuencia en el rango de IDs del fragmento, con la
+ * misma holgura que usa la restauración de instantáneas para el optimizador pooled.
+ * Los fragmentos que ya tienen la tabla (bases de datos en fichero) no se tocan.
+ *
+ * @version 1.0
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@ConditionalOnProperty(name = "persona.sharding.enabled", havingValue = "true")
+@Slf4j
+public class ShardSchemaInitializer {
+
+    private static final long SEQUENCE_MARGIN = 51;
+
+    private final ShardRoutingDataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ShardSchemaInitializer(ShardRoutingDataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    void initialize() {
+        for (int shard = 1; shard < dataSource.shards().size(); shard++) {
+            DataSource shardDataSource = dataSource.shards().get(shard);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shardDataSource);
+            Integer tables = jdbcTemplate.queryForObject(
+                    "select count(*) from information_schema.tables where upper(table_name) = 'PERSONAS'", Integer.class);
+            if (tables != null && tables > 0) {
+                continue;
+            }
+            ShardRouting.on(shard, () -> {
+                entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager().exportMappedObjects(true);
+                return null;
+            });
+            jdbcTemplate.execute("alter sequence personas_seq restart with "
+                    + (PersonaShards.firstId(shard) + SEQUENCE_MARGIN));
+            log.info("Esquema creado en el fragmento {}", shard);
+        }
+    }
+}
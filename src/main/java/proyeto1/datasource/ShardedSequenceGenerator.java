@@ -0,0 +1,44 @@
+package proyeto1.datasource;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.OptimizerFactory;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generador de IDs por secuencia que lleva la cuenta de cada fragmento por separado.
+ *
+ * Cada fragmento tiene su propia secuencia, que empieza en su rango de IDs (ver
+ * PersonaShards.firstId), de modo que el ID codifica el fragmento en sus bits altos.
+ * El optimizador pooled de SequenceStyleGenerator reserva bloques de valores en
+ * memoria; compartido entre fragmentos, un bloque leído de la secuencia de un
+ * fragmento acabaría en filas de otro. Por eso, con un fragmento fijado en
+ * ShardRouting, se usa un optimizador propio de ese fragmento, alimentado por la
+ * secuencia de la conexión de la transacción en curso.
+ *
+ * Sin fragmento fijado se comporta exactamente como SequenceStyleGenerator.
+ *
+ * @version 1.0
+ */
+public class ShardedSequenceGenerator extends SequenceStyleGenerator {
+
+    private final Map<Integer, Optimizer> shardOptimizers = new ConcurrentHashMap<>();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        Integer shard = ShardRouting.current();
+        if (shard == null) {
+            return super.generate(session, object);
+        }
+        Optimizer optimizer = shardOptimizers.computeIfAbsent(shard, key -> OptimizerFactory.buildOptimizer(
+                StandardOptimizerDescriptor.POOLED,
+                getIdentifierType().getReturnedClass(),
+                getDatabaseStructure().getIncrementSize(),
+                -1));
+        return optimizer.generate(getDatabaseStructure().buildCallback(session));
+    }
+}
@@ -0,0 +1,59 @@
+package proyeto1.event;
+
+import proyeto1.model.Persona;
+
+/**
+ * Evento publicado por el servicio de personas cada vez que se crea,
+ * actualiza o elimina una persona.
+ *
+ * Las personas que transporta son copias desacopladas del contexto de
+ * persistencia, de modo que los consumidores pueden conservarlas sin riesgo.
+ * Los componentes que mantienen estructuras derivadas (cachés, índices...)
+ * se suscriben a este evento en lugar de ser invocados desde el servicio.
+ *
+ * En las modificaciones parciales (PATCHED) el estado anterior no se lee: before es
+ * null y changes solo contiene el ID, los campos modificados, la versión nueva y la
+ * fecha de modificación (el resto a null), para que cada consumidor decida si el cambio
+ * le afecta sin volver a leer la fila. after es la fila leída tras el UPDATE dentro de
+ * la misma transacción, y solo se lee si algún índice se ve afectado por los campos
+ * modificados o el flujo de cambios tiene suscriptores; si no, es null.
+ *
+ * @param type    Tipo de cambio
+ * @param id      ID de la persona afectada
+ * @param before  Estado anterior al cambio (null en las altas y modificaciones parciales)
+ * @param after   Estado posterior al cambio (null en las bajas y, si no se leyó, en PATCHED)
+ * @param changes Campos modificados en PATCHED (null en el resto de tipos)
+ * @version 1.0
+ */
+public record PersonaChangedEvent(ChangeType type, Long id, Persona before, Persona after, Persona changes) {
+
+    /**
+     * Tipos de cambio posibles sobre una persona.
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        PATCHED,
+        DELETED
+    }
+
+    public static PersonaChangedEvent created(Persona after) {
+        return new PersonaChangedEvent(ChangeType.CREATED, after.getId(), null, copy(after), null);
+    }
+
+    public static PersonaChangedEvent updated(Persona before, Persona after) {
+        return new PersonaChangedEvent(ChangeType.UPDATED, after.getId(), copy(before), copy(after), null);
+    }
+
+    public static PersonaChangedEvent patched(Long id, Persona after, Persona changes) {
+        return new PersonaChangedEvent(ChangeType.PATCHED, id, null, copy(after), copy(changes));
+    }
+
+    public static PersonaChangedEvent deleted(Persona before) {
+        return new PersonaChangedEvent(ChangeType.DELETED, before.getId(), copy(before), null, null);
+    }
+
+    private static Persona copy(Persona persona) {
+        return persona != null ? persona.toBuilder().build() : null;
+    }
+}
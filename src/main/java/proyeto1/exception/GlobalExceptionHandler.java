@@ -0,0 +1,133 @@
+package proyeto1.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import proyeto1.model.response.ApiResponse;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Manejador global de excepciones.
+ *
+ * Traduce las excepciones lanzadas por los servicios a respuestas ApiResponse
+ * con el código HTTP adecuado, para que los controladores no tengan que
+ * capturarlas una a una.
+ *
+ * @version 1.0
+ */
+@RestControllerAdvice
+@Slf4j
+public class GlobalExceptionHandler {
+
+    private static final String UNIQUE_VIOLATION = "23505";  // SQLSTATE estándar de violación de unicidad
+
+    /**
+     * Recurso no encontrado: 404.
+     */
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ApiResponse<Void>> handleNotFound(ResourceNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(ex.getMessage(), "NOT_FOUND"));
+    }
+
+    /**
+     * Datos o parámetros inválidos detectados por la lógica de negocio: 400.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiResponse<Void>> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(ex.getMessage(), "BAD_REQUEST"));
+    }
+
+    /**
+     * Violación de una restricción detectada por la base de datos: 400.
+     *
+     * Si es la restricción UNIQUE de documento o de correo (dos escrituras concurrentes
+     * con la misma clave superan a la vez la comprobación previa) se responde igual que
+     * a un duplicado detectado por el servicio; cualquier otra restricción (clave
+     * primaria, NOT NULL, longitud...) recibe un mensaje genérico.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiResponse<Void>> handleDataIntegrity(DataIntegrityViolationException ex) {
+        String detail = ex.getMostSpecificCause().getMessage();
+        log.warn("Violación de integridad de datos: {}", detail);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(integrityMessage(ex, detail), "BAD_REQUEST"));
+    }
+
+    /**
+     * Elige el mensaje según la restricción violada. Solo el SQLSTATE 23505 (violación
+     * de unicidad) se trata como duplicado, y la columna se toma del mensaje del driver.
+     */
+    private static String integrityMessage(DataIntegrityViolationException ex, String detail) {
+        if (detail != null && isUniqueViolation(ex)) {
+            String violated = detail.toUpperCase(Locale.ROOT);
+            if (violated.contains("DOCUMENTO_IDENTIDAD")) {
+                return "Ya existe una persona con el mismo Documento de Identidad";
+            }
+            if (violated.contains("CORREO")) {
+                return "Ya existe una persona con el mismo correo electrónico";
+            }
+        }
+        return "Los datos no cumplen una restricción de la base de datos";
+    }
+
+    private static boolean isUniqueViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && UNIQUE_VIOLATION.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Modificación sobre una versión que ya no es la vigente: 412 si la versión llegó
+     * en If-Match, 409 si llegó en el cuerpo.
+     */
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<ApiResponse<Void>> handleVersionConflict(VersionConflictException ex) {
+        return ex.isPrecondition()
+                ? ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                        .body(ApiResponse.error(ex.getMessage(), "PRECONDITION_FAILED"))
+                : ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(ApiResponse.error(ex.getMessage(), "CONFLICT"));
+    }
+
+    /**
+     * Modificación condicional sin versión esperada: 428.
+     */
+    @ExceptionHandler(VersionRequiredException.class)
+    public ResponseEntity<ApiResponse<Void>> handleVersionRequired(VersionRequiredException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+                .body(ApiResponse.error(ex.getMessage(), "PRECONDITION_REQUIRED"));
+    }
+
+    /**
+     * Token de sincronización caducado: 410.
+     */
+    @ExceptionHandler(SyncTokenExpiredException.class)
+    public ResponseEntity<ApiResponse<Void>> handleSyncTokenExpired(SyncTokenExpiredException ex) {
+        return ResponseEntity.status(HttpStatus.GONE)
+                .body(ApiResponse.error(ex.getMessage(), "SYNC_TOKEN_EXPIRED"));
+    }
+
+    /**
+     * Errores de validación del cuerpo de la petición (@Valid): 400.
+     */
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ApiResponse<Void>> handleValidation(MethodArgumentNotValidException ex) {
+        String message = ex.getBindingResult().getFieldErrors().stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .collect(Collectors.joining(", "));
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(message, "VALIDATION_ERROR"));
+    }
+}
@@ -0,0 +1,15 @@
+package proyeto1.exception;
+
+/**
+ * Excepción lanzada cuando un token de sincronización ya no permite una sincronización
+ * incremental (las bajas posteriores pueden haberse purgado): el cliente debe volver a
+ * cargar todas las personas y sincronizar desde cero.
+ *
+ * @version 1.0
+ */
+public class SyncTokenExpiredException extends RuntimeException {
+
+    public SyncTokenExpiredException() {
+        super("El token de sincronización ha caducado; se deben volver a cargar todas las personas");
+    }
+}
@@ -0,0 +1,51 @@
+package proyeto1.exception;
+
+import lombok.Getter;
+
+/**
+ * Excepción lanzada cuando una modificación se hizo sobre una versión que ya no es la vigente.
+ *
+ * Si la versión esperada llegó en la cabecera If-Match se responde 412 (precondición
+ * fallida); si llegó en el cuerpo, 409 (conflicto).
+ *
+ * @version 1.0
+ */
+@Getter
+public class VersionConflictException extends RuntimeException {
+
+    private final Long id;
+    private final Long expectedVersion;
+    private final Long currentVersion;
+    private final boolean precondition;
+
+    public VersionConflictException(Long id, Long expectedVersion, Long currentVersion) {
+        this(String.format("La persona con ID %d fue modificada por otra petición (versión esperada %s, versión actual %s)",
+                id, expectedVersion, currentVersion), id, expectedVersion, currentVersion, false);
+    }
+
+    private VersionConflictException(String message, Long id, Long expectedVersion, Long currentVersion, boolean precondition) {
+        super(message);
+        this.id = id;
+        this.expectedVersion = expectedVersion;
+        this.currentVersion = currentVersion;
+        this.precondition = precondition;
+    }
+
+    /**
+     * Conflicto por un If-Match que no es un ETag válido de esta persona.
+     *
+     * @param id ID de la persona
+     * @return Excepción que se responde con 412
+     */
+    public static VersionConflictException preconditionFailed(Long id) {
+        return new VersionConflictException("El ETag de If-Match no corresponde a la persona con ID " + id,
+                id, null, null, true);
+    }
+
+    /**
+     * @return La misma excepción, marcada para responderse con 412
+     */
+    public VersionConflictException asPreconditionFailed() {
+        return new VersionConflictException(getMessage(), id, expectedVersion, currentVersion, true);
+    }
+}
@@ -0,0 +1,13 @@
+package proyeto1.exception;
+
+/**
+ * Excepción lanzada cuando una modificación condicional no indica sobre qué versión se hizo.
+ *
+ * @version 1.0
+ */
+public class VersionRequiredException extends RuntimeException {
+
+    public VersionRequiredException() {
+        super("Se requiere la cabecera If-Match o el campo version para modificar la persona");
+    }
+}
@@ -0,0 +1,90 @@
+package proyeto1.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide cada llamada a PersonaService.
+ *
+ * Publica el timer "personas.service" con las etiquetas method, outcome (SUCCESS o
+ * ERROR) y exception (nombre simple de la excepción, o none), del que se obtienen
+ * latencia, número de llamadas por segundo y errores por tipo; y el resumen
+ * "personas.service.statements" con las sentencias SQL de cada llamada.
+ *
+ * Se ejecuta por fuera de la transacción del servicio, así que el tiempo y las
+ * sentencias incluyen el flush y el commit. Los meters de cada método se crean una
+ * sola vez, de modo que una llamada solo añade dos lecturas del reloj y dos
+ * registros sin bloqueo.
+ *
+ * @version 1.0
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+    private static final String TIMER = "personas.service";
+
+    private final MeterRegistry meterRegistry;
+    private final StatementCounter statementCounter;
+    private final Map<String, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry, StatementCounter statementCounter) {
+        this.meterRegistry = meterRegistry;
+        this.statementCounter = statementCounter;
+    }
+
+    @Around("execution(* proyeto1.service.PersonaService.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        MethodMeters methodMeters = meters.computeIfAbsent(method, this::register);
+        long[] previous = statementCounter.begin();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            methodMeters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable ex) {
+            // Los errores son poco frecuentes: su timer se busca en el registro en cada caso
+            Timer.builder(TIMER)
+                    .description("Duración de las llamadas a PersonaService")
+                    .tag("method", method)
+                    .tag("outcome", "ERROR")
+                    .tag("exception", ex.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        } finally {
+            methodMeters.statements.record(statementCounter.end(previous));
+        }
+    }
+
+    private MethodMeters register(String method) {
+        Timer success = Timer.builder(TIMER)
+                .description("Duración de las llamadas a PersonaService")
+                .tag("method", method)
+                .tag("outcome", "SUCCESS")
+                .tag("exception", "none")
+                .register(meterRegistry);
+        DistributionSummary statements = DistributionSummary.builder(TIMER + ".statements")
+                .description("Sentencias SQL ejecutadas por llamada a PersonaService")
+                .baseUnit("statements")
+                .tag("method", method)
+                .register(meterRegistry);
+        return new MethodMeters(success, statements);
+    }
+
+    private record MethodMeters(Timer success, DistributionSummary statements) {
+    }
+}
@@ -0,0 +1,103 @@
+package proyeto1.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cuenta las sentencias SQL que Hibernate prepara, por tipo.
+ *
+ * Se registra como StatementInspector de Hibernate (ver MetricsConfig), de modo que
+ * ve cada sentencia antes de enviarse al driver. Publica el contador
+ * "personas.db.statements" con la etiqueta type (select, insert, update, delete, other)
+ * y, si hay una llamada al servicio en curso en el hilo, suma la sentencia a ella
+ * para que ServiceMetricsAspect registre cuántas sentencias hizo cada método.
+ *
+ * En los lotes JDBC una sentencia preparada cuenta una vez, no una por fila.
+ *
+ * @version 1.0
+ */
+@Component
+public class StatementCounter implements StatementInspector {
+
+    private final ThreadLocal<long[]> currentCall = new ThreadLocal<>();
+    private final Counter selects;
+    private final Counter inserts;
+    private final Counter updates;
+    private final Counter deletes;
+    private final Counter others;
+
+    public StatementCounter(MeterRegistry meterRegistry) {
+        this.selects = counter(meterRegistry, "select");
+        this.inserts = counter(meterRegistry, "insert");
+        this.updates = counter(meterRegistry, "update");
+        this.deletes = counter(meterRegistry, "delete");
+        this.others = counter(meterRegistry, "other");
+    }
+
+    @Override
+    public String inspect(String sql) {
+        counterFor(sql).increment();
+        long[] call = currentCall.get();
+        if (call != null) {
+            call[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Empieza a contar las sentencias del hilo actual para una llamada.
+     *
+     * @return Contador de la llamada que estaba en curso (null si no había), a pasar a {@link #end}
+     */
+    long[] begin() {
+        long[] previous = currentCall.get();
+        currentCall.set(new long[1]);
+        return previous;
+    }
+
+    /**
+     * Termina la llamada en curso y restaura la anterior, que acumula también estas sentencias.
+     *
+     * @param previous Valor devuelto por {@link #begin}
+     * @return Sentencias ejecutadas durante la llamada
+     */
+    long end(long[] previous) {
+        long statements = currentCall.get()[0];
+        if (previous != null) {
+            previous[0] += statements;
+            currentCall.set(previous);
+        } else {
+            currentCall.remove();
+        }
+        return statements;
+    }
+
+    private Counter counterFor(String sql) {
+        int start = 0;
+        while (start < sql.length() && Character.isWhitespace(sql.charAt(start))) {
+            start++;
+        }
+        if (sql.regionMatches(true, start, "select", 0, 6) || sql.regionMatches(true, start, "with", 0, 4)) {
+            return selects;
+        }
+        if (sql.regionMatches(true, start, "insert", 0, 6)) {
+            return inserts;
+        }
+        if (sql.regionMatches(true, start, "update", 0, 6)) {
+            return updates;
+        }
+        if (sql.regionMatches(true, start, "delete", 0, 6)) {
+            return deletes;
+        }
+        return others;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("personas.db.statements")
+                .description("Sentencias SQL preparadas por Hibernate")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
@@ -1,6 +1,8 @@
 package proyeto1.model;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -10,22 +12,41 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import proyeto1.datasource.ShardedSequenceGenerator;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 
 @Entity
-@Table(name = "personas")
+@Table(name = "personas", indexes = @Index(name = "idx_personas_change_seq", columnList = "change_seq"))
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Persona {
 
 
+    /**
+     * Los IDs se asignan desde una secuencia con asignación en bloques (pooled):
+     * Hibernate reserva 50 valores por viaje a la base de datos y, a diferencia de
+     * IDENTITY, puede agrupar los INSERT en lotes JDBC.
+     *
+     * Con fragmentación, cada fragmento tiene su secuencia y su bloque de valores
+     * reservados (ShardedSequenceGenerator), y el ID codifica el fragmento.
+     *
+     * Un ID enviado por el cliente se ignora: lo asigna siempre la secuencia.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "persona_seq")
+    @GenericGenerator(name = "persona_seq", type = ShardedSequenceGenerator.class, parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "personas_seq"),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50")
+    })
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private Long id;
 
 
@@ -72,6 +93,29 @@ public class Persona {
     private LocalDateTime actualizadoEn;
 
 
+    /**
+     * Versión de la fila: Hibernate la incrementa en cada actualización y sirve
+     * de base para los ETag. El cliente no puede fijarla en el cuerpo de la petición.
+     */
+    @Version
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    /**
+     * Posición del último cambio de la fila en la secuencia de cambios, compartida con
+     * las bajas (PersonaTombstone). La asigna la base de datos en cada INSERT y UPDATE,
+     * incluidos los que no pasan por la entidad (modificaciones parciales, cargas por
+     * JDBC), por eso Hibernate nunca la escribe. Es la base de la sincronización
+     * incremental (GET /personas/changes).
+     */
+    @Column(name = "change_seq", insertable = false, updatable = false,
+            columnDefinition = "bigint default next value for " + PersonaTombstone.CHANGE_SEQUENCE
+                    + " on update next value for " + PersonaTombstone.CHANGE_SEQUENCE)
+    @JsonIgnore
+    private Long changeSeq;
+
+
     @PreUpdate
     protected void onUpdate() {
         this.actualizadoEn = LocalDateTime.now();
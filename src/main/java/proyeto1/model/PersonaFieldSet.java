@@ -0,0 +1,181 @@
+package proyeto1.model;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import jakarta.persistence.Tuple;
+import proyeto1.model.response.PersonaResponse;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Conjunto de campos de PersonaResponse pedido por el cliente (parámetro fields), con
+ * el plan para obtenerlo: las columnas de la consulta, cómo construir cada fila y el
+ * filtro de serialización que deja en la respuesta solo esos campos.
+ *
+ * El ID se incluye siempre en la respuesta. La consulta lee además la versión, que
+ * hace falta para los ETag aunque no se devuelva.
+ *
+ * Hay un plan por combinación de campos; se construye la primera vez que se pide y se
+ * reutiliza después (como mucho 2^11 planes). Las consultas con las mismas columnas
+ * generan el mismo JPQL, por lo que Hibernate también reutiliza su plan de consulta.
+ *
+ * @version 1.0
+ */
+public final class PersonaFieldSet {
+
+    /**
+     * Id del filtro de Jackson que se aplica a PersonaResponse.
+     */
+    public static final String FILTER_ID = "personaFields";
+
+    /**
+     * Campos disponibles, con el nombre del atributo en PersonaResponse y en Persona.
+     */
+    private static final Map<String, BiConsumer<PersonaResponse, Object>> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("id", (persona, value) -> persona.setId((Long) value));
+        FIELDS.put("nombre", (persona, value) -> persona.setNombre((String) value));
+        FIELDS.put("apellido", (persona, value) -> persona.setApellido((String) value));
+        FIELDS.put("documentoIdentidad", (persona, value) -> persona.setDocumentoIdentidad((String) value));
+        FIELDS.put("fechaNacimiento", (persona, value) -> persona.setFechaNacimiento((LocalDate) value));
+        FIELDS.put("correo", (persona, value) -> persona.setCorreo((String) value));
+        FIELDS.put("telefono", (persona, value) -> persona.setTelefono((String) value));
+        FIELDS.put("direccion", (persona, value) -> persona.setDireccion((String) value));
+        FIELDS.put("creadoEn", (persona, value) -> persona.setCreadoEn((LocalDateTime) value));
+        FIELDS.put("actualizadoEn", (persona, value) -> persona.setActualizadoEn((LocalDateTime) value));
+        FIELDS.put("version", (persona, value) -> persona.setVersion((Long) value));
+    }
+
+    private static final List<String> NAMES = List.copyOf(FIELDS.keySet());
+    private static final int ALL_MASK = (1 << NAMES.size()) - 1;
+    private static final int ALWAYS_SELECTED = bit("id") | bit("version");
+    private static final Map<Integer, PersonaFieldSet> PLANS = new ConcurrentHashMap<>();
+
+    /**
+     * Todos los campos: la respuesta completa de siempre.
+     */
+    public static final PersonaFieldSet ALL = plan(ALL_MASK);
+
+    private final int mask;
+    private final Set<String> fields;
+    private final List<String> columns;
+    private final String select;
+    private final FilterProvider filters;
+
+    private PersonaFieldSet(int mask) {
+        this.mask = mask;
+        this.fields = namesOf(mask | bit("id"));
+        this.columns = List.copyOf(namesOf(mask | ALWAYS_SELECTED));
+        this.select = columns.stream()
+                .map(column -> "p." + column + " as " + column)
+                .collect(Collectors.joining(", ", "select ", " from Persona p "));
+        this.filters = new SimpleFilterProvider()
+                .addFilter(FILTER_ID, mask == ALL_MASK
+                        ? SimpleBeanPropertyFilter.serializeAll()
+                        : SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+    }
+
+    /**
+     * Interpreta el parámetro fields.
+     *
+     * @param fields Nombres de campo separados por comas, o null/vacío para todos
+     * @return Plan del conjunto de campos
+     * @throws IllegalArgumentException si algún campo no existe
+     */
+    public static PersonaFieldSet parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        int mask = 0;
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            int index = NAMES.indexOf(name);
+            if (index < 0) {
+                throw new IllegalArgumentException("Campo desconocido: " + name + ". Campos disponibles: " + String.join(", ", NAMES));
+            }
+            mask |= 1 << index;
+        }
+        return mask == 0 ? ALL : plan(mask);
+    }
+
+    private static PersonaFieldSet plan(int mask) {
+        return PLANS.computeIfAbsent(mask, PersonaFieldSet::new);
+    }
+
+    /**
+     * @return true si se piden todos los campos
+     */
+    public boolean isAll() {
+        return mask == ALL_MASK;
+    }
+
+    /**
+     * @return Campos que aparecen en la respuesta, en el orden de PersonaResponse
+     */
+    public Set<String> fields() {
+        return fields;
+    }
+
+    /**
+     * @return Inicio de la consulta JPQL con las columnas necesarias ("select ... from Persona p ")
+     */
+    public String select() {
+        return select;
+    }
+
+    /**
+     * @return Filtros de Jackson que dejan en la respuesta solo los campos pedidos
+     */
+    public FilterProvider filters() {
+        return filters;
+    }
+
+    /**
+     * Construye una persona a partir de una fila de la consulta de select(). Los campos
+     * no leídos quedan a null.
+     *
+     * @param row Fila de la consulta
+     * @return Persona con los campos leídos
+     */
+    public PersonaResponse toResponse(Tuple row) {
+        PersonaResponse persona = new PersonaResponse();
+        for (String column : columns) {
+            FIELDS.get(column).accept(persona, row.get(column));
+        }
+        return persona;
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", fields);
+    }
+
+    private static int bit(String name) {
+        return 1 << NAMES.indexOf(name);
+    }
+
+    private static Set<String> namesOf(int mask) {
+        Set<String> names = new LinkedHashSet<>();
+        for (int index = 0; index < NAMES.size(); index++) {
+            if ((mask & (1 << index)) != 0) {
+                names.add(NAMES.get(index));
+            }
+        }
+        return Collections.unmodifiableSet(names);
+    }
+}
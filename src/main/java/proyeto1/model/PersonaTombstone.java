@@ -0,0 +1,64 @@
+package proyeto1.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marca de baja de una persona: lo que queda de ella tras eliminarla, para que la
+ * sincronización incremental pueda comunicar la baja a los clientes.
+ *
+ * Su clave es la posición de la baja en la secuencia de cambios, la misma secuencia
+ * que numera las altas y modificaciones en Persona.changeSeq, de modo que todos los
+ * cambios se pueden ordenar y recorrer juntos. Las marcas se purgan pasado el periodo
+ * de retención (persona.sync.tombstone-retention).
+ *
+ * @version 1.0
+ */
+@Entity
+@Table(name = "personas_tombstones", indexes = @Index(name = "idx_personas_tombstones_deleted_at", columnList = "deleted_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonaTombstone {
+
+    /**
+     * Secuencia de cambios compartida con la columna change_seq de personas.
+     */
+    public static final String CHANGE_SEQUENCE = "personas_change_seq";
+
+    /**
+     * Posición de la baja en la secuencia de cambios. Se pide a la base de datos valor
+     * a valor (sin bloques), porque la columna change_seq de personas toma los suyos
+     * de la misma secuencia y ambas deben quedar en el orden en que se producen.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "persona_change_seq")
+    @SequenceGenerator(name = "persona_change_seq", sequenceName = CHANGE_SEQUENCE, allocationSize = 1)
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
+    /**
+     * ID de la persona eliminada.
+     */
+    @Column(name = "persona_id", nullable = false)
+    private Long personaId;
+
+    /**
+     * Momento de la baja.
+     */
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
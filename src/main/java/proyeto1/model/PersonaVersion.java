@@ -0,0 +1,24 @@
+package proyeto1.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versión de una persona: lo mínimo para validar una copia en caché del cliente
+ * (ETag y Last-Modified) sin leer la fila completa.
+ *
+ * @param id           ID de la persona
+ * @param version      Versión de la fila (columna @Version)
+ * @param lastModified Fecha de la última modificación, o de creación si nunca se modificó
+ * @version 1.0
+ */
+public record PersonaVersion(Long id, Long version, LocalDateTime lastModified) {
+
+    /**
+     * @param persona Persona ya cargada
+     * @return Versión de la persona
+     */
+    public static PersonaVersion of(Persona persona) {
+        LocalDateTime lastModified = persona.getActualizadoEn() != null ? persona.getActualizadoEn() : persona.getCreadoEn();
+        return new PersonaVersion(persona.getId(), persona.getVersion(), lastModified);
+    }
+}
@@ -0,0 +1,63 @@
+package proyeto1.model.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.Past;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Cuerpo de una modificación parcial de persona (PATCH).
+ *
+ * Solo se modifican los campos presentes; los ausentes o null conservan su valor.
+ * Las validaciones son las de Persona, aplicadas únicamente a los campos enviados.
+ *
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonaPatch {
+
+    @Size(min = 3, max = 100, message = "El nombre debe tener entre 3 y 100 caracteres")
+    @Pattern(regexp = ".*\\S.*", message = "El nombre no puede estar en blanco")
+    private String nombre;
+
+    @Size(min = 3, max = 100, message = "El apellido debe tener entre 3 y 100 caracteres")
+    @Pattern(regexp = ".*\\S.*", message = "El apellido no puede estar en blanco")
+    private String apellido;
+
+    @Pattern(regexp = ".*\\S.*", message = "El documento de identificación no puede estar en blanco")
+    private String documentoIdentidad;
+
+    @Past(message = "La fecha de nacimiento debe ser una fecha pasada")
+    private LocalDate fechaNacimiento;
+
+    @Pattern(regexp = ".*\\S.*", message = "El correo electrónico no puede estar en blanco")
+    private String correo;
+
+    @Size(max = 20, message = "El número de teléfono debe tener como máximo 20 caracteres")
+    private String telefono;
+
+    private String direccion;
+
+    /**
+     * Versión sobre la que se hicieron los cambios, si no se envía la cabecera If-Match.
+     */
+    private Long version;
+
+    /**
+     * @return true si el cuerpo incluye al menos un campo a modificar
+     */
+    @JsonIgnore
+    public boolean hasChanges() {
+        return nombre != null || apellido != null || documentoIdentidad != null || fechaNacimiento != null
+                || correo != null || telefono != null || direccion != null;
+    }
+}
@@ -0,0 +1,64 @@
+package proyeto1.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO con el resultado de una carga masiva de personas.
+ *
+ * Cada fila se procesa de forma independiente: las filas inválidas o duplicadas
+ * se informan en la lista de fallos sin deshacer las filas que sí se guardaron.
+ *
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPersonaResult {
+
+    /**
+     * Número de filas recibidas.
+     */
+    private int total;
+
+    /**
+     * Número de filas guardadas correctamente.
+     */
+    private int created;
+
+    /**
+     * Filas que no se pudieron guardar, con su posición en el lote y el motivo.
+     */
+    @Builder.Default
+    private List<Failure> failures = new ArrayList<>();
+
+    /**
+     * Fallo de una fila concreta de la carga masiva.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Failure {
+
+        /**
+         * Posición de la fila en el lote recibido (empezando en 0).
+         */
+        private int index;
+
+        /**
+         * Documento de identidad de la fila, para facilitar su localización.
+         */
+        private String documentoIdentidad;
+
+        /**
+         * Motivo por el que la fila fue rechazada.
+         */
+        private String reason;
+    }
+}
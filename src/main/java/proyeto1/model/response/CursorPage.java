@@ -0,0 +1,58 @@
+package proyeto1.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * DTO para una página obtenida mediante paginación por cursor (keyset).
+ *
+ * En lugar de un número de página, el cliente recibe un token opaco
+ * (nextCursor) que debe enviar para pedir la página siguiente. Cuando
+ * no hay más resultados, nextCursor es null.
+ *
+ * @param <T> Tipo de los elementos de la página.
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    /**
+     * Elementos de la página actual.
+     */
+    private List<T> items;
+
+    /**
+     * Tamaño máximo de página aplicado.
+     */
+    private int limit;
+
+    /**
+     * Indica si existen más elementos después de esta página.
+     */
+    private boolean hasMore;
+
+    /**
+     * Token para obtener la página siguiente, o null si es la última.
+     */
+    private String nextCursor;
+
+    /**
+     * Convierte los elementos de la página conservando los datos del cursor.
+     *
+     * @param mapper Función de conversión de cada elemento
+     * @param <R> Tipo de los elementos convertidos
+     * @return Nueva página con los elementos convertidos
+     */
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = items.stream().<R>map(mapper).toList();
+        return new CursorPage<>(mapped, limit, hasMore, nextCursor);
+    }
+}
@@ -0,0 +1,33 @@
+package proyeto1.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con el resultado de una consulta de varias personas por ID.
+ *
+ * Las personas encontradas y los IDs no encontrados conservan el orden en que
+ * se pidieron; los IDs repetidos aparecen una sola vez.
+ *
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonaBatch {
+
+    /**
+     * Personas encontradas, en el orden de la petición.
+     */
+    private List<PersonaResponse> items;
+
+    /**
+     * IDs pedidos que no corresponden a ninguna persona.
+     */
+    private List<Long> missing;
+}
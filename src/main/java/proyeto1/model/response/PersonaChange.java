@@ -0,0 +1,55 @@
+package proyeto1.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import proyeto1.event.PersonaChangedEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de un cambio confirmado sobre una persona, tal como se publica en el flujo de
+ * cambios (GET /personas/stream).
+ *
+ * Los cambios llegan en el orden en que se publicaron tras su commit. Dos escrituras
+ * concurrentes sobre la misma persona pueden publicarse en orden distinto al de sus
+ * commits: quien mantenga una copia debe descartar los estados con una versión menor
+ * que la que ya tiene.
+ *
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonaChange {
+
+    /**
+     * Identificador del cambio en el flujo (también el id del evento SSE).
+     */
+    private String eventId;
+
+    /**
+     * Tipo de cambio.
+     */
+    private PersonaChangedEvent.ChangeType type;
+
+    /**
+     * ID de la persona afectada.
+     */
+    private Long personaId;
+
+    /**
+     * Estado de la persona tras el cambio, o null si se eliminó. Una modificación
+     * parcial confirmada mientras no había suscriptores solo trae el ID, los campos
+     * modificados, la versión y la fecha de modificación: quien la reciba al reanudar
+     * la aplica sobre su copia.
+     */
+    private PersonaResponse persona;
+
+    /**
+     * Momento en que se publicó el cambio.
+     */
+    private LocalDateTime publishedAt;
+}
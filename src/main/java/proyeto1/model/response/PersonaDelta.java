@@ -0,0 +1,45 @@
+package proyeto1.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de una sincronización incremental: los cambios sobre personas desde el token
+ * que envió el cliente y el token para la siguiente sincronización.
+ *
+ * Un cambio puede llegar repetido en sincronizaciones sucesivas (los más recientes se
+ * vuelven a entregar hasta que se da por seguro que no quedan escrituras anteriores
+ * sin confirmar): aplicarlo de nuevo no altera la copia del cliente.
+ *
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonaDelta {
+
+    /**
+     * Personas creadas o modificadas, con su estado actual.
+     */
+    private List<PersonaResponse> changed;
+
+    /**
+     * IDs de las personas eliminadas.
+     */
+    private List<Long> deleted;
+
+    /**
+     * Indica si quedan cambios por entregar: el cliente debe pedirlos enseguida con nextToken.
+     */
+    private boolean hasMore;
+
+    /**
+     * Token para la siguiente sincronización.
+     */
+    private String nextToken;
+}
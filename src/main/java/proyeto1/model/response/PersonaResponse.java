@@ -38,6 +38,7 @@ public class PersonaResponse {
     private String direccion;
     private LocalDateTime creadoEn;
     private LocalDateTime actualizadoEn;
+    private Long version;
 
     /**
      * Método estático para convertir una entidad Persona a un objeto PersonaResponse.
@@ -58,6 +59,7 @@ public class PersonaResponse {
                 .direccion(persona.getDireccion())
                 .creadoEn(persona.getCreadoEn())
                 .actualizadoEn(persona.getActualizadoEn())
+                .version(persona.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,61 @@
+package proyeto1.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con el recuento de personas agrupadas por un dato demográfico
+ * (año de nacimiento, rango de edad, dominio del correo o día de alta).
+ *
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonaStats {
+
+    /**
+     * Dato por el que se agrupa (birthYear, ageBand, emailDomain o createdDay).
+     */
+    private String groupBy;
+
+    /**
+     * Número total de personas en el momento del recuento.
+     */
+    private long total;
+
+    /**
+     * Personas sin el dato o fuera de los grupos devueltos (fuera del rango de fechas,
+     * con fecha de nacimiento futura...).
+     */
+    private long missing;
+
+    /**
+     * Grupos con su número de personas.
+     */
+    private List<Group> groups;
+
+    /**
+     * Un grupo del recuento.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Group {
+
+        /**
+         * Clave del grupo: "1990", "18-29", "example.com", "2024-05-01"...
+         */
+        private String key;
+
+        /**
+         * Número de personas del grupo.
+         */
+        private long count;
+    }
+}
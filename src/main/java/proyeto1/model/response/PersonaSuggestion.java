@@ -0,0 +1,31 @@
+package proyeto1.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para una sugerencia del autocompletado de personas.
+ *
+ * Solo incluye lo necesario para mostrar la lista desplegable; el cliente
+ * pide la persona completa por ID cuando el usuario elige una sugerencia.
+ *
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonaSuggestion {
+
+    /**
+     * ID de la persona sugerida.
+     */
+    private Long id;
+
+    /**
+     * Nombre y apellido tal como están registrados ("Juan Pérez").
+     */
+    private String displayName;
+}
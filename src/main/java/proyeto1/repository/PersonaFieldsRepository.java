@@ -0,0 +1,48 @@
+package proyeto1.repository;
+
+import proyeto1.model.PersonaFieldSet;
+import proyeto1.model.response.PersonaResponse;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Consultas de personas que leen solo las columnas de un conjunto de campos
+ * (PersonaFieldSet), para las peticiones con el parámetro fields.
+ *
+ * Son las mismas consultas que las proyecciones de PersonaRepository, pero la lista de
+ * columnas depende de la petición, por lo que el JPQL se compone a partir del plan.
+ *
+ * @version 1.0
+ */
+public interface PersonaFieldsRepository {
+
+    /**
+     * Página por keyset con los campos indicados.
+     *
+     * @param fields  Campos a leer
+     * @param afterId Último ID de la página anterior (0 para la primera página)
+     * @param limit   Número máximo de filas a devolver
+     * @return Personas de la página en orden ascendente de ID
+     */
+    List<PersonaResponse> findFieldsAfterId(PersonaFieldSet fields, long afterId, int limit);
+
+    /**
+     * Personas con los IDs indicados, en cualquier orden, con los campos indicados.
+     *
+     * @param fields Campos a leer
+     * @param ids    IDs a cargar
+     * @return Personas encontradas
+     */
+    List<PersonaResponse> findFieldsByIdIn(PersonaFieldSet fields, Collection<Long> ids);
+
+    /**
+     * Recorre todas las personas con un cursor de solo avance, con los campos indicados.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     *
+     * @param fields Campos a leer
+     * @return Stream de personas ordenadas por ID
+     */
+    Stream<PersonaResponse> streamAllFields(PersonaFieldSet fields);
+}
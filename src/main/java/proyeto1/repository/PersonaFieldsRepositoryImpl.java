@@ -0,0 +1,56 @@
+package proyeto1.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+import proyeto1.model.PersonaFieldSet;
+import proyeto1.model.response.PersonaResponse;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Implementación de PersonaFieldsRepository. Spring Data la añade a PersonaRepository
+ * por el sufijo Impl. Como el resto de consultas del repositorio, cada una se ejecuta
+ * en una transacción de solo lectura, o en la de quien la llama si ya hay una.
+ *
+ * @version 1.0
+ */
+@Transactional(readOnly = true)
+class PersonaFieldsRepositoryImpl implements PersonaFieldsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PersonaResponse> findFieldsAfterId(PersonaFieldSet fields, long afterId, int limit) {
+        return entityManager.createQuery(fields.select() + "where p.id > :afterId order by p.id", Tuple.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(fields::toResponse)
+                .toList();
+    }
+
+    @Override
+    public List<PersonaResponse> findFieldsByIdIn(PersonaFieldSet fields, Collection<Long> ids) {
+        return entityManager.createQuery(fields.select() + "where p.id in :ids", Tuple.class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .stream()
+                .map(fields::toResponse)
+                .toList();
+    }
+
+    @Override
+    public Stream<PersonaResponse> streamAllFields(PersonaFieldSet fields) {
+        return entityManager.createQuery(fields.select() + "order by p.id", Tuple.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, 500)
+                .getResultStream()
+                .map(fields::toResponse);
+    }
+}
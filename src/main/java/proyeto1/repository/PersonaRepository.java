@@ -0,0 +1,233 @@
+package proyeto1.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import proyeto1.model.Persona;
+import proyeto1.model.PersonaVersion;
+import proyeto1.model.response.PersonaResponse;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Repositorio JPA para la entidad Persona.
+ *
+ * Además de las operaciones CRUD heredadas de JpaRepository, declara
+ * consultas derivadas del nombre del método que Spring Data implementa
+ * automáticamente.
+ *
+ * Las consultas de lectura que alimentan listados devuelven PersonaResponse
+ * construido directamente desde el ResultSet (expresión de constructor JPQL):
+ * no crean entidades gestionadas, no toman la instantánea para el dirty checking
+ * y no requieren una segunda copia a DTO.
+ *
+ * @version 1.0
+ */
+@Repository
+public interface PersonaRepository extends JpaRepository<Persona, Long>, PersonaFieldsRepository {
+
+    /**
+     * SELECT que construye un PersonaResponse por fila, en el orden de su constructor.
+     */
+    String RESPONSE_PROJECTION = "select new proyeto1.model.response.PersonaResponse(" +
+            "p.id, p.nombre, p.apellido, p.documentoIdentidad, p.fechaNacimiento, " +
+            "p.correo, p.telefono, p.direccion, p.creadoEn, p.actualizadoEn, p.version) from Persona p ";
+
+    /**
+     * SELECT que construye un PersonaVersion por fila (ID, versión y fecha de última modificación).
+     */
+    String VERSION_PROJECTION = "select new proyeto1.model.PersonaVersion(" +
+            "p.id, p.version, coalesce(p.actualizadoEn, p.creadoEn)) from Persona p ";
+
+    /**
+     * Proyección con las columnas únicas de una persona.
+     */
+    interface UniqueKeys {
+        String getDocumentoIdentidad();
+
+        String getCorreo();
+    }
+
+    /**
+     * Busca una persona por su documento de identidad.
+     *
+     * @param documentoIdentidad Documento de identidad a buscar
+     * @return Optional con la persona si existe
+     */
+    Optional<Persona> findByDocumentoIdentidad(String documentoIdentidad);
+
+    /**
+     * Comprueba si existe una persona con el documento de identidad indicado.
+     *
+     * @param documentoIdentidad Documento de identidad a comprobar
+     * @return true si ya existe una persona con ese documento
+     */
+    boolean existsByDocumentoIdentidad(String documentoIdentidad);
+
+    /**
+     * Comprueba si existe una persona con el correo electrónico indicado.
+     *
+     * @param correo Correo electrónico a comprobar
+     * @return true si ya existe una persona con ese correo
+     */
+    boolean existsByCorreo(String correo);
+
+    /**
+     * Comprueba si otra persona (distinta de la indicada) tiene el documento de identidad.
+     *
+     * @param documentoIdentidad Documento de identidad a comprobar
+     * @param id                 ID de la persona que se modifica
+     * @return true si el documento ya pertenece a otra persona
+     */
+    boolean existsByDocumentoIdentidadAndIdNot(String documentoIdentidad, Long id);
+
+    /**
+     * Comprueba si otra persona (distinta de la indicada) tiene el correo electrónico.
+     *
+     * @param correo Correo electrónico a comprobar
+     * @param id     ID de la persona que se modifica
+     * @return true si el correo ya pertenece a otra persona
+     */
+    boolean existsByCorreoAndIdNot(String correo, Long id);
+
+    /**
+     * Busca personas cuyo nombre contenga el texto indicado, sin distinguir mayúsculas.
+     *
+     * @param nombre Fragmento del nombre
+     * @return Lista de personas que coinciden
+     */
+    List<Persona> findByNombreContainingIgnoreCase(String nombre);
+
+    /**
+     * Proyección de las personas cuyo nombre contenga el texto indicado, sin distinguir mayúsculas.
+     *
+     * @param nombre Fragmento del nombre
+     * @param limit  Número máximo de resultados
+     * @return Personas que coinciden, ordenadas por ID
+     */
+    @Query(RESPONSE_PROJECTION + "where upper(p.nombre) like upper(concat('%', :nombre, '%')) order by p.id")
+    List<PersonaResponse> findResponsesByNombreContaining(@Param("nombre") String nombre, Limit limit);
+
+    /**
+     * Busca personas cuyo nombre empiece por el texto indicado, sin distinguir mayúsculas.
+     *
+     * @param nombre Prefijo del nombre
+     * @param limit  Número máximo de resultados
+     * @return Lista de personas que coinciden, ordenadas por nombre y apellido
+     */
+    List<Persona> findByNombreStartingWithIgnoreCaseOrderByNombreAscApellidoAsc(String nombre, Limit limit);
+
+    /**
+     * Obtiene una página por keyset: las personas con ID mayor que el indicado,
+     * ordenadas por ID. Al filtrar por la clave primaria en lugar de usar OFFSET,
+     * el coste de cada página es el mismo sin importar lo profunda que sea.
+     *
+     * @param afterId Último ID de la página anterior (0 para la primera página)
+     * @param limit   Número máximo de filas a devolver
+     * @return Proyección de las personas de la página en orden ascendente de ID
+     */
+    @Query(RESPONSE_PROJECTION + "where p.id > :afterId order by p.id")
+    List<PersonaResponse> findResponsesAfterId(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Versiones de una página por keyset, sin leer el resto de columnas.
+     * Permite responder a una petición condicional sin cargar la página completa.
+     *
+     * @param afterId Último ID de la página anterior (0 para la primera página)
+     * @param limit   Número máximo de filas a devolver
+     * @return Versiones de las personas de la página en orden ascendente de ID
+     */
+    @Query(VERSION_PROJECTION + "where p.id > :afterId order by p.id")
+    List<PersonaVersion> findVersionsAfterId(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Versión de una persona, sin leer el resto de columnas.
+     *
+     * @param id ID de la persona
+     * @return Optional con la versión si la persona existe
+     */
+    @Query(VERSION_PROJECTION + "where p.id = :id")
+    Optional<PersonaVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Proyección de las personas con los IDs indicados, en cualquier orden.
+     *
+     * @param ids IDs a cargar
+     * @return Proyección de las personas encontradas
+     */
+    @Query(RESPONSE_PROJECTION + "where p.id in :ids")
+    List<PersonaResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Recorre la proyección de todas las personas con un cursor de solo avance.
+     *
+     * Como no se crean entidades, el contexto de persistencia no crece con las filas
+     * leídas. Debe consumirse dentro de una transacción y cerrarse al terminar.
+     *
+     * @return Stream de personas ordenadas por ID
+     */
+    @Query(RESPONSE_PROJECTION + "order by p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<PersonaResponse> streamAllResponses();
+
+    /**
+     * Recorre todas las personas con un cursor de base de datos de solo avance.
+     *
+     * Las filas se leen del ResultSet a medida que se consume el Stream (en bloques
+     * del fetch size), por lo que la tabla nunca se materializa completa en memoria.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     *
+     * @return Stream de personas ordenadas por ID
+     */
+    @Query("select p from Persona p order by p.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<Persona> streamAllOrderById();
+
+    /**
+     * Personas creadas o modificadas después de una posición de la secuencia de
+     * cambios, en orden. Recorre el índice de change_seq: el coste depende del número
+     * de cambios, no del tamaño de la tabla.
+     *
+     * @param changeSeq Posición ya sincronizada por el cliente
+     * @param limit     Número máximo de filas a devolver
+     * @return Personas ordenadas por posición de su último cambio
+     */
+    @Query("select p from Persona p where p.changeSeq > :changeSeq order by p.changeSeq")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Persona> findChangedAfter(@Param("changeSeq") Long changeSeq, Limit limit);
+
+    /**
+     * Busca, en una sola consulta, las claves únicas ya registradas que coinciden
+     * con alguno de los documentos o correos indicados.
+     *
+     * @param documentos Documentos de identidad a comprobar
+     * @param correos    Correos electrónicos a comprobar
+     * @return Claves de las personas existentes que colisionan con el lote
+     */
+    @Query("select p.documentoIdentidad as documentoIdentidad, p.correo as correo from Persona p " +
+            "where p.documentoIdentidad in :documentos or p.correo in :correos")
+    List<UniqueKeys> findExistingKeys(@Param("documentos") Collection<String> documentos,
+                                      @Param("correos") Collection<String> correos);
+
+    /**
+     * Recorre las claves únicas de todas las personas sin cargar las entidades.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     *
+     * @return Stream con el documento y el correo de cada persona
+     */
+    @Query("select p.documentoIdentidad as documentoIdentidad, p.correo as correo from Persona p")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<UniqueKeys> streamAllUniqueKeys();
+}
@@ -0,0 +1,42 @@
+package proyeto1.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import proyeto1.model.PersonaTombstone;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio de las marcas de baja de personas.
+ *
+ * @version 1.0
+ */
+@Repository
+public interface PersonaTombstoneRepository extends JpaRepository<PersonaTombstone, Long> {
+
+    /**
+     * Bajas posteriores a una posición de la secuencia de cambios, en orden.
+     *
+     * @param changeSeq Posición ya sincronizada por el cliente
+     * @param limit     Número máximo de filas a devolver
+     * @return Bajas ordenadas por posición
+     */
+    List<PersonaTombstone> findByChangeSeqGreaterThanOrderByChangeSeqAsc(Long changeSeq, Limit limit);
+
+    /**
+     * Purga en una sola sentencia las bajas anteriores a la fecha indicada.
+     *
+     * @param cutoff Fecha límite
+     * @return Número de marcas eliminadas
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from PersonaTombstone t where t.deletedAt < :cutoff")
+    int deleteByDeletedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
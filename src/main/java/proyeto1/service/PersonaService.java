@@ -1,9 +1,23 @@
 package proyeto1.service;
 
 import proyeto1.model.Persona;
+import proyeto1.model.PersonaFieldSet;
+import proyeto1.model.PersonaVersion;
+import proyeto1.model.request.PersonaPatch;
+import proyeto1.model.response.BulkPersonaResult;
+import proyeto1.model.response.PersonaBatch;
+import proyeto1.model.response.PersonaChange;
+import proyeto1.model.response.PersonaDelta;
+import proyeto1.model.response.CursorPage;
+import proyeto1.model.response.PersonaResponse;
+import proyeto1.model.response.PersonaStats;
+import proyeto1.model.response.PersonaSuggestion;
+import proyeto1.util.BroadcastLog;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Interfaz para el servicio de personas.
@@ -27,6 +41,76 @@ public interface PersonaService {
      */
     List<Persona> getAllPersonas();
 
+    /**
+     * Obtiene una página de personas ordenada por ID mediante paginación por cursor.
+     *
+     * A diferencia de getAllPersonas(), solo carga en memoria las filas de la página
+     * solicitada y el coste de cada página no depende de su profundidad. Las filas
+     * se leen directamente como PersonaResponse, sin crear entidades.
+     *
+     * @param cursor Token de continuación devuelto en la página anterior, o null para la primera
+     * @param limit  Número máximo de personas a devolver
+     * @return Página de personas con el cursor de la página siguiente
+     * @throws IllegalArgumentException si el cursor o el límite no son válidos
+     */
+    CursorPage<PersonaResponse> getPersonasPage(String cursor, int limit);
+
+    /**
+     * Obtiene una página de personas leyendo solo las columnas de los campos indicados
+     * (además del ID y la versión). Los campos no pedidos quedan a null.
+     *
+     * @param cursor Token de continuación devuelto en la página anterior, o null para la primera
+     * @param limit  Número máximo de personas a devolver
+     * @param fields Campos a leer
+     * @return Página de personas con el cursor de la página siguiente
+     * @throws IllegalArgumentException si el cursor o el límite no son válidos
+     */
+    CursorPage<PersonaResponse> getPersonasPage(String cursor, int limit, PersonaFieldSet fields);
+
+    /**
+     * Obtiene solo las versiones de la página que devolvería getPersonasPage con los
+     * mismos parámetros, sin leer el resto de columnas. Sirve para responder a una
+     * petición condicional antes de cargar la página completa.
+     *
+     * @param cursor Token de continuación devuelto en la página anterior, o null para la primera
+     * @param limit  Número máximo de personas a devolver
+     * @return Página de versiones con el cursor de la página siguiente
+     * @throws IllegalArgumentException si el cursor o el límite no son válidos
+     */
+    CursorPage<PersonaVersion> getPersonasPageVersions(String cursor, int limit);
+
+    /**
+     * Recorre todas las personas en orden de ID entregándolas una a una al consumidor.
+     *
+     * Las filas se leen con un cursor de base de datos de solo avance y se convierten
+     * directamente en PersonaResponse, sin crear entidades, de modo que el consumo de
+     * memoria no depende del número de filas.
+     *
+     * @param consumer Consumidor que recibe cada persona convertida a PersonaResponse
+     */
+    void exportPersonas(Consumer<PersonaResponse> consumer);
+
+    /**
+     * Recorre todas las personas en orden de ID leyendo solo las columnas de los campos
+     * indicados (además del ID y la versión).
+     *
+     * @param consumer Consumidor que recibe cada persona
+     * @param fields   Campos a leer
+     */
+    void exportPersonas(Consumer<PersonaResponse> consumer, PersonaFieldSet fields);
+
+    /**
+     * Obtiene los cambios sobre personas (altas, modificaciones y bajas) desde una
+     * sincronización anterior, con un coste proporcional al número de cambios.
+     *
+     * @param since Token de la sincronización anterior, o null para recibir todas las personas
+     * @param limit Número máximo de cambios a devolver
+     * @return Cambios y token para la siguiente sincronización
+     * @throws IllegalArgumentException si el token o el límite no son válidos
+     * @throws proyeto1.exception.SyncTokenExpiredException si el token es demasiado antiguo
+     */
+    PersonaDelta getPersonaChanges(String since, int limit);
+
     /**
      * Busca una persona por su ID.
      *
@@ -35,6 +119,35 @@ public interface PersonaService {
      */
     Optional<Persona> getPersonaById(Long id);
 
+    /**
+     * Obtiene varias personas por ID con una sola consulta.
+     *
+     * @param ids IDs de las personas, en el orden en que se quieren recibir
+     * @return Personas encontradas e IDs no encontrados, en el orden de la petición
+     * @throws IllegalArgumentException si no hay IDs o se supera el máximo por petición
+     */
+    PersonaBatch getPersonasByIds(List<Long> ids);
+
+    /**
+     * Obtiene varias personas por ID leyendo solo las columnas de los campos indicados
+     * (además del ID y la versión). Las que ya están en caché se devuelven completas.
+     *
+     * @param ids    IDs de las personas, en el orden en que se quieren recibir
+     * @param fields Campos a leer
+     * @return Personas encontradas e IDs no encontrados, en el orden de la petición
+     * @throws IllegalArgumentException si no hay IDs o se supera el máximo por petición
+     */
+    PersonaBatch getPersonasByIds(List<Long> ids, PersonaFieldSet fields);
+
+    /**
+     * Obtiene la versión de una persona. Usa la caché si la persona está en ella y,
+     * si no, lee solo el ID, la versión y las fechas.
+     *
+     * @param id ID de la persona
+     * @return Optional con la versión si la persona existe
+     */
+    Optional<PersonaVersion> getPersonaVersion(Long id);
+
     /**
      * Busca una persona por su documento de identidad.
      *
@@ -51,6 +164,19 @@ public interface PersonaService {
      */
     Persona savePersona(Persona persona);
 
+    /**
+     * Guarda un lote grande de personas.
+     *
+     * La unicidad de documentos y correos se comprueba por bloques con una única
+     * consulta por bloque, los INSERT se envían en lotes JDBC y cada bloque se
+     * confirma en su propia transacción. Las filas inválidas o duplicadas se
+     * informan en el resultado sin deshacer el resto de la carga.
+     *
+     * @param personas Personas a guardar
+     * @return Resultado con el número de filas creadas y los fallos por fila
+     */
+    BulkPersonaResult bulkSavePersonas(List<Persona> personas);
+
     /**
      * Actualiza una persona existente.
      *
@@ -61,6 +187,21 @@ public interface PersonaService {
      */
     Persona updatePersona(Long id, Persona personaDetails);
 
+    /**
+     * Modifica solo los campos enviados de una persona, si sigue en la versión esperada.
+     *
+     * Se resuelve con un único UPDATE condicionado por la versión, sin leer antes la fila.
+     * La unicidad del documento y del correo la garantiza la restricción de la tabla.
+     *
+     * @param id ID de la persona a modificar
+     * @param patch Campos a modificar (los null se conservan)
+     * @param expectedVersion Versión sobre la que se hicieron los cambios, o null para no comprobarla
+     * @return Nueva versión de la persona
+     * @throws proyeto1.exception.ResourceNotFoundException si la persona no existe
+     * @throws proyeto1.exception.VersionConflictException si la persona ya no está en la versión esperada
+     */
+    PersonaVersion patchPersona(Long id, PersonaPatch patch, Long expectedVersion);
+
     /**
      * Elimina una persona por su ID.
      *
@@ -70,11 +211,79 @@ public interface PersonaService {
     void deletePersona(Long id);
 
     /**
-     * Busca personas cuyo nombre contenga el texto especificado.
+     * Busca personas cuyo nombre o apellido contenga el texto especificado,
+     * sin distinguir tildes ni mayúsculas. Devuelve como máximo el límite de
+     * búsqueda por defecto.
      *
      * @param nameFragment Texto a buscar en el nombre
      * @return Lista de personas que coinciden con la búsqueda
      */
-    List<Persona> searchPersonasByName(String nameFragment);
-}
+    List<PersonaResponse> searchPersonasByName(String nameFragment);
 
+    /**
+     * Busca personas cuyo nombre o apellido contenga todas las palabras del texto,
+     * sin distinguir tildes ni mayúsculas, ordenadas por relevancia.
+     *
+     * @param nameFragment Texto a buscar
+     * @param limit        Número máximo de resultados
+     * @return Lista de personas ordenada de más a menos relevante
+     */
+    List<PersonaResponse> searchPersonasByName(String nameFragment, int limit);
+
+    /**
+     * Busca personas por nombre y apellido leyendo solo las columnas de los campos
+     * indicados (además del ID y la versión).
+     *
+     * @param nameFragment Texto a buscar
+     * @param limit        Número máximo de resultados
+     * @param fields       Campos a leer
+     * @return Lista de personas ordenada de más a menos relevante
+     */
+    List<PersonaResponse> searchPersonasByName(String nameFragment, int limit, PersonaFieldSet fields);
+
+    /**
+     * Sugiere personas cuyo "nombre apellido" empieza por el prefijo indicado,
+     * sin distinguir tildes ni mayúsculas. Pensado para el autocompletado, que
+     * consulta en cada pulsación: solo devuelve ID y nombre para mostrar.
+     *
+     * @param prefix Prefijo escrito por el usuario
+     * @param limit  Número máximo de sugerencias
+     * @return Sugerencias en orden alfabético
+     */
+    List<PersonaSuggestion> suggestPersonas(String prefix, int limit);
+
+    /**
+     * Cuenta las personas agrupadas por un dato demográfico, sin cargar las personas.
+     *
+     * @param groupBy Dato por el que agrupar: birthYear, ageBand, emailDomain o createdDay
+     * @param from    Primer día de alta para createdDay, o null para los últimos días configurados
+     * @param to      Último día de alta para createdDay (incluido), o null para hoy
+     * @param limit   Número máximo de dominios para emailDomain, los de más personas primero
+     * @return Recuento por grupo
+     * @throws IllegalArgumentException si el dato, el rango de días o el límite no son válidos
+     */
+    PersonaStats getPersonaStats(String groupBy, LocalDate from, LocalDate to, int limit);
+
+    /**
+     * Suscribe a los cambios confirmados sobre personas (altas, modificaciones y bajas).
+     *
+     * Si se indica el identificador del último cambio recibido, primero se entregan los
+     * posteriores que aún se conservan. Si ya no se conservan todos, o el identificador
+     * es de un arranque anterior, la suscripción se marca con hueco y el cliente debe
+     * volver a cargar el estado completo.
+     *
+     * @param lastEventId Identificador del último cambio recibido, o null para recibir solo los nuevos
+     * @return Suscripción, que debe cerrarse al terminar
+     */
+    BroadcastLog.Subscription<PersonaChange> subscribeChanges(String lastEventId);
+
+    /**
+     * Obtiene el identificador desde el que continúa una suscripción con hueco: el del
+     * último cambio publicado antes de suscribirse. Los cambios posteriores llegan por
+     * la propia suscripción, así que el cliente que recarga el estado no pierde ninguno.
+     *
+     * @param subscription Suscripción con hueco
+     * @return Identificador de cambio
+     */
+    String getResumeEventId(BroadcastLog.Subscription<PersonaChange> subscription);
+}
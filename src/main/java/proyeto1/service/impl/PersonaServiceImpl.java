@@ -1,16 +1,74 @@
 package proyeto1.service.impl;
 
+import proyeto1.datasource.ShardRouting;
+import proyeto1.event.PersonaChangedEvent;
 import proyeto1.exception.ResourceNotFoundException;
+import proyeto1.exception.VersionConflictException;
 import proyeto1.model.Persona;
+import proyeto1.model.PersonaFieldSet;
+import proyeto1.model.PersonaVersion;
+import proyeto1.model.request.PersonaPatch;
+import proyeto1.model.response.BulkPersonaResult;
+import proyeto1.model.response.PersonaBatch;
+import proyeto1.model.response.PersonaChange;
+import proyeto1.model.response.PersonaDelta;
+import proyeto1.model.response.CursorPage;
+import proyeto1.model.response.PersonaResponse;
+import proyeto1.model.response.PersonaStats;
+import proyeto1.model.response.PersonaSuggestion;
 import proyeto1.repository.PersonaRepository;
 import proyeto1.service.PersonaService;
+import proyeto1.service.support.PersonaCache;
+import proyeto1.service.support.PersonaChangeLog;
+import proyeto1.service.support.PersonaChangeStream;
+import proyeto1.service.support.PersonaSearchIndex;
+import proyeto1.service.support.PersonaShards;
+import proyeto1.service.support.PersonaStatsIndex;
+import proyeto1.service.support.PersonaSuggestIndex;
+import proyeto1.service.support.PersonaUniquenessFilter;
+import proyeto1.util.BroadcastLog;
+import proyeto1.util.CursorCodec;
+import proyeto1.util.GroupCommitQueue;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Implementación del servicio de personas.
@@ -22,7 +80,15 @@ import java.util.Optional;
  * - @Service: Marca la clase como un servicio de Spring
  * - @RequiredArgsConstructor: Genera constructor para inyectar campos final
  * - @Slf4j: Proporciona un logger para la clase
- * - @Transactional: Gestiona transacciones de base de datos
+ *
+ * Cada escritura publica un PersonaChangedEvent; la caché y el resto de
+ * estructuras derivadas se mantienen al día escuchando ese evento.
+ *
+ * Las personas pueden estar repartidas en fragmentos (PersonaShards). Las operaciones
+ * sobre una persona se ejecutan en su fragmento, por lo que fijan el fragmento antes
+ * de abrir la transacción con transactionTemplate en lugar de usar @Transactional; los
+ * listados y búsquedas consultan todos los fragmentos en paralelo y combinan el
+ * resultado. Con un único fragmento no cambia nada.
  *
  * @version 1.0
  */
@@ -37,61 +103,787 @@ public class PersonaServiceImpl implements PersonaService {
      */
     private final PersonaRepository personaRepository;
 
+    /**
+     * EntityManager compartido, usado para liberar entidades durante los recorridos completos.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Plantilla de transacciones para las operaciones que confirman por bloques.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Validador de Bean Validation, usado para validar cada fila de una carga masiva.
+     */
+    private final Validator validator;
+
+    /**
+     * Caché de lecturas puntuales por ID y por documento de identidad.
+     */
+    private final PersonaCache personaCache;
+
+    /**
+     * Filtro en memoria que evita consultar la unicidad de valores que seguro que no existen.
+     */
+    private final PersonaUniquenessFilter uniquenessFilter;
+
+    /**
+     * Índice de trigramas para las búsquedas por nombre y apellido.
+     */
+    private final PersonaSearchIndex searchIndex;
+
+    /**
+     * Árbol radix para el autocompletado por prefijo de nombre y apellido.
+     */
+    private final PersonaSuggestIndex suggestIndex;
+
+    /**
+     * Copia columnar para las estadísticas demográficas.
+     */
+    private final PersonaStatsIndex statsIndex;
+
+    /**
+     * Publicador de los eventos de cambio de personas.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Registro de métricas, para el tamaño de los grupos de escritura.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Reparto de las personas entre fragmentos.
+     */
+    private final PersonaShards shards;
+
+    /**
+     * Flujo de los cambios confirmados, para las suscripciones en tiempo real.
+     */
+    private final PersonaChangeStream changeStream;
+
+    /**
+     * Registro de cambios para la sincronización incremental (incluye las marcas de baja).
+     */
+    private final PersonaChangeLog changeLog;
+
+    /**
+     * Tamaño máximo de página permitido en la paginación por cursor.
+     */
+    @Value("${persona.pagination.max-limit:500}")
+    private int maxPageLimit;
+
+    /**
+     * Número de filas por bloque en la carga masiva (y tamaño del lote JDBC).
+     */
+    @Value("${persona.bulk.batch-size:500}")
+    private int bulkBatchSize;
+
+    /**
+     * Número de resultados de búsqueda cuando no se indica un límite.
+     */
+    @Value("${persona.search.default-limit:50}")
+    private int searchDefaultLimit;
+
+    /**
+     * Número máximo de sugerencias por petición de autocompletado.
+     */
+    @Value("${persona.suggest.max-limit:50}")
+    private int suggestMaxLimit;
+
+    /**
+     * Número de días de altas por día cuando no se indica el primero.
+     */
+    @Value("${persona.stats.default-days:30}")
+    private int statsDefaultDays;
+
+    /**
+     * Número máximo de IDs por consulta múltiple.
+     */
+    @Value("${persona.batch.max-size:100}")
+    private int batchMaxSize;
+
+    /**
+     * Si las altas individuales concurrentes se confirman agrupadas en una sola transacción.
+     */
+    @Value("${persona.group-commit.enabled:false}")
+    private boolean groupCommitEnabled;
+
+    /**
+     * Número máximo de altas por grupo.
+     */
+    @Value("${persona.group-commit.max-batch-size:64}")
+    private int groupCommitMaxBatchSize;
+
+    /**
+     * Tiempo máximo que un alta espera a otras antes de confirmarse.
+     */
+    @Value("${persona.group-commit.max-wait:2ms}")
+    private Duration groupCommitMaxWait;
+
+    /**
+     * Número máximo de altas en espera; por encima, quien escribe espera a que haya hueco.
+     */
+    @Value("${persona.group-commit.queue-capacity:1024}")
+    private int groupCommitQueueCapacity;
+
+    /**
+     * Cola de altas agrupadas, o null si el modo no está activado.
+     */
+    private GroupCommitQueue<Persona, Persona> groupCommit;
+
+    private DistributionSummary groupCommitSize;
+
+    /**
+     * Arranca la cola de altas agrupadas si está activada.
+     */
+    @PostConstruct
+    void startGroupCommit() {
+        if (!groupCommitEnabled) {
+            return;
+        }
+        groupCommitSize = DistributionSummary.builder("personas.group.commit.size")
+                .description("Altas confirmadas en cada transacción agrupada")
+                .register(meterRegistry);
+        groupCommit = new GroupCommitQueue<>("persona-group-commit", groupCommitQueueCapacity,
+                groupCommitMaxBatchSize, groupCommitMaxWait, this::commitGroup);
+        Gauge.builder("personas.group.commit.queue", groupCommit, GroupCommitQueue::size)
+                .description("Altas en espera de confirmación agrupada")
+                .register(meterRegistry);
+        log.info("Confirmación agrupada de altas activada (hasta {} altas o {} por grupo)",
+                groupCommitMaxBatchSize, groupCommitMaxWait);
+    }
+
+    /**
+     * Confirma las altas que quedan en la cola antes de cerrar la aplicación.
+     */
+    @PreDestroy
+    void stopGroupCommit() {
+        if (groupCommit != null) {
+            groupCommit.close();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
-    @Transactional(readOnly = true)
     public List<Persona> getAllPersonas() {
         log.info("Obteniendo todas las personas");
-        return personaRepository.findAll();
+        return mergeById(shards.fanOutReadOnly(shard -> personaRepository.findAll()), Persona::getId, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Cada fragmento devuelve sus primeras filas tras el cursor y se combinan por ID:
+     * como los IDs son únicos entre fragmentos, el orden y el cursor son globales.
+     */
+    @Override
+    public CursorPage<PersonaResponse> getPersonasPage(String cursor, int limit) {
+        return getPersonasPage(cursor, limit, PersonaFieldSet.ALL);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPage<PersonaResponse> getPersonasPage(String cursor, int limit, PersonaFieldSet fields) {
+        int pageSize = pageSize(limit);
+        long afterId = afterId(cursor);
+        log.info("Obteniendo página de personas después del ID: {} (límite {}, campos {})", afterId, pageSize, fields);
+
+        // Pedimos una fila extra para saber si existe una página siguiente sin hacer un COUNT
+        List<PersonaResponse> rows = mergeById(
+                shards.fanOutReadOnly(shard -> fields.isAll()
+                        ? personaRepository.findResponsesAfterId(afterId, Limit.of(pageSize + 1))
+                        : personaRepository.findFieldsAfterId(fields, afterId, pageSize + 1)),
+                PersonaResponse::getId, pageSize + 1);
+        return toPage(rows, pageSize, PersonaResponse::getId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CursorPage<PersonaVersion> getPersonasPageVersions(String cursor, int limit) {
+        int pageSize = pageSize(limit);
+        long afterId = afterId(cursor);
+        List<PersonaVersion> rows = mergeById(
+                shards.fanOutReadOnly(shard -> personaRepository.findVersionsAfterId(afterId, Limit.of(pageSize + 1))),
+                PersonaVersion::id, pageSize + 1);
+        return toPage(rows, pageSize, PersonaVersion::id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PersonaDelta getPersonaChanges(String since, int limit) {
+        return changeLog.changesSince(since, limit);
+    }
+
+    /**
+     * Combina los resultados de cada fragmento en orden de ID y se queda con los primeros.
+     */
+    private static <T> List<T> mergeById(List<List<T>> perShard, Function<T, Long> id, int limit) {
+        if (perShard.size() == 1) {
+            List<T> rows = perShard.get(0);
+            return rows.size() > limit ? rows.subList(0, limit) : rows;
+        }
+        return perShard.stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(id))
+                .limit(limit)
+                .toList();
+    }
+
+    private int pageSize(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("El límite debe ser mayor que cero");
+        }
+        return Math.min(limit, maxPageLimit);
+    }
+
+    private static long afterId(String cursor) {
+        return cursor == null || cursor.isBlank() ? 0L : CursorCodec.decode(cursor);
+    }
+
+    /**
+     * Recorta la fila extra pedida para detectar si hay página siguiente y genera su cursor.
+     */
+    private static <T> CursorPage<T> toPage(List<T> rows, int pageSize, Function<T, Long> id) {
+        boolean hasMore = rows.size() > pageSize;
+        List<T> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? CursorCodec.encode(id.apply(items.get(items.size() - 1))) : null;
+        return new CursorPage<>(items, pageSize, hasMore, nextCursor);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Los fragmentos se recorren uno tras otro: los IDs de cada fragmento son menores
+     * que los del siguiente, así que el resultado sigue en orden de ID sin mezclar cursores.
+     */
+    @Override
+    public void exportPersonas(Consumer<PersonaResponse> consumer) {
+        exportPersonas(consumer, PersonaFieldSet.ALL);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    @Transactional(readOnly = true)
+    public void exportPersonas(Consumer<PersonaResponse> consumer, PersonaFieldSet fields) {
+        log.info("Exportando todas las personas en streaming (campos {})", fields);
+        long count = 0;
+        for (int shard = 0; shard < shards.count(); shard++) {
+            count += shards.readOnly(shard, () -> exportShard(consumer, fields));
+        }
+        log.info("Exportación finalizada: {} personas", count);
+    }
+
+    private long exportShard(Consumer<PersonaResponse> consumer, PersonaFieldSet fields) {
+        long count = 0;
+        // La proyección no crea entidades, así que el contexto de persistencia no crece con cada fila
+        try (Stream<PersonaResponse> personas = fields.isAll()
+                ? personaRepository.streamAllResponses()
+                : personaRepository.streamAllFields(fields)) {
+            var iterator = personas.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Se resuelve desde la caché; solo en caso de fallo se consulta el repositorio,
+     * en una transacción de solo lectura en el fragmento de la persona.
+     */
+    @Override
     public Optional<Persona> getPersonaById(Long id) {
         log.info("Buscando persona con ID: {}", id);
-        return personaRepository.findById(id);
+        return personaCache.getById(id, key -> shards.readOnly(shards.forId(key), () -> personaRepository.findById(key)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<PersonaVersion> getPersonaVersion(Long id) {
+        return personaCache.peek(id)
+                .map(PersonaVersion::of)
+                .or(() -> shards.readOnly(shards.forId(id), () -> personaRepository.findVersionById(id)));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Las personas que ya están en caché no se consultan; el resto se lee con una única
+     * consulta IN sobre la proyección (una por fragmento), en una transacción de solo
+     * lectura que solo abarca esa consulta: la conexión no se retiene más que eso.
+     */
+    @Override
+    public PersonaBatch getPersonasByIds(List<Long> ids) {
+        return getPersonasByIds(ids, PersonaFieldSet.ALL);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PersonaBatch getPersonasByIds(List<Long> ids, PersonaFieldSet fields) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicarse al menos un ID");
+        }
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        if (requested.size() > batchMaxSize) {
+            throw new IllegalArgumentException("La consulta supera el máximo de " + batchMaxSize + " IDs");
+        }
+        log.info("Buscando {} personas por ID", requested.size());
+
+        Map<Long, PersonaResponse> found = new HashMap<>();
+        List<Long> toLoad = new ArrayList<>();
+        for (Long id : requested) {
+            personaCache.peek(id).ifPresentOrElse(
+                    persona -> found.put(id, PersonaResponse.fromEntity(persona)),
+                    () -> toLoad.add(id));
+        }
+        if (!toLoad.isEmpty()) {
+            findResponsesByIds(toLoad, fields).forEach(persona -> found.put(persona.getId(), persona));
+        }
+
+        List<PersonaResponse> items = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            PersonaResponse persona = found.get(id);
+            if (persona != null) {
+                items.add(persona);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new PersonaBatch(items, missing);
+    }
+
+    /**
+     * Carga personas por ID con una consulta IN por fragmento, en paralelo.
+     */
+    private List<PersonaResponse> findResponsesByIds(List<Long> ids, PersonaFieldSet fields) {
+        Map<Integer, List<Long>> idsByShard = shards.partition(ids, shards::forId);
+        return shards.fanOutReadOnly(idsByShard.keySet(), shard -> fields.isAll()
+                        ? personaRepository.findResponsesByIdIn(idsByShard.get(shard))
+                        : personaRepository.findFieldsByIdIn(fields, idsByShard.get(shard)))
+                .stream()
+                .flatMap(List::stream)
+                .toList();
     }
 
     /**
      * {@inheritDoc}
+     *
+     * Se resuelve desde la caché; solo en caso de fallo se consulta el repositorio,
+     * en una transacción de solo lectura en el fragmento de la persona.
      */
     @Override
-    @Transactional(readOnly = true)
     public Optional<Persona> getPersonaByDocumentoIdentidad(String documentoIdentidad) {
         log.info("Buscando persona con Documento de Identidad: {}", documentoIdentidad);
-        return personaRepository.findByDocumentoIdentidad(documentoIdentidad);
+        return personaCache.getByDocumentoIdentidad(documentoIdentidad,
+                key -> shards.readOnly(shards.forDocumento(key), () -> personaRepository.findByDocumentoIdentidad(key)));
     }
 
     /**
      * {@inheritDoc}
+     *
+     * Con la confirmación agrupada activada, el alta se encola y este hilo espera al
+     * resultado de su grupo; la transacción la abre el hilo de la cola. Por eso el método
+     * no es @Transactional: esperar dentro de una transacción retendría una conexión.
      */
     @Override
-    @Transactional
     public Persona savePersona(Persona persona) {
         log.info("Guardando nueva persona: {}", persona.getNombre());
+        if (groupCommit == null) {
+            return shards.on(shards.forDocumento(persona.getDocumentoIdentidad()),
+                    () -> transactionTemplate.execute(status -> saveOne(persona)));
+        }
+        try {
+            return groupCommit.submit(persona).join();
+        } catch (CompletionException ex) {
+            // Cada llamante recibe la excepción de su propia alta (duplicado, integridad...)
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Guarda una persona dentro de la transacción en curso.
+     */
+    private Persona saveOne(Persona persona) {
+        // Verificamos si ya existe una persona con el mismo documento de identidad o correo
+        checkDocumentoDisponible(persona.getDocumentoIdentidad());
+        checkCorreoDisponible(persona.getCorreo());
+
+        Persona saved = personaRepository.save(persona);
+        eventPublisher.publishEvent(PersonaChangedEvent.created(saved));
+        return saved;
+    }
+
+    /**
+     * Confirma un grupo de altas individuales en una sola transacción (hilo de la cola).
+     *
+     * Las claves repetidas dentro del grupo se resuelven por orden de llegada: la primera
+     * alta gana y las siguientes reciben el mismo error que si hubieran llegado después de
+     * su confirmación. Las claves ya registradas se comprueban con una única consulta. Los
+     * resultados se completan solo tras el commit. Si la transacción del grupo falla, cada
+     * alta se reintenta en su propia transacción y recibe su propio error.
+     *
+     * Con fragmentación, el grupo se confirma con una transacción por fragmento.
+     */
+    private void commitGroup(List<GroupCommitQueue.Pending<Persona, Persona>> group) {
+        groupCommitSize.record(group.size());
+        List<Persona> personas = group.stream().map(GroupCommitQueue.Pending::item).toList();
+        List<Integer> candidates = new ArrayList<>(group.size());
+        Set<String> seenDocumentos = new HashSet<>();
+        Set<String> seenCorreos = new HashSet<>();
+        for (int i = 0; i < personas.size(); i++) {
+            Persona persona = personas.get(i);
+            if (seenDocumentos.contains(persona.getDocumentoIdentidad())) {
+                group.get(i).result().completeExceptionally(new IllegalArgumentException(
+                        "Ya existe una persona con el Documento de Identidad: " + persona.getDocumentoIdentidad()));
+            } else if (seenCorreos.contains(persona.getCorreo())) {
+                group.get(i).result().completeExceptionally(new IllegalArgumentException(
+                        "Ya existe una persona con el correo electrónico: " + persona.getCorreo()));
+            } else {
+                // Solo un alta aceptada reserva sus claves: una rechazada no debe bloquear a las siguientes
+                seenDocumentos.add(persona.getDocumentoIdentidad());
+                seenCorreos.add(persona.getCorreo());
+                candidates.add(i);
+            }
+        }
+
+        shards.partition(candidates, index -> shards.forDocumento(personas.get(index).getDocumentoIdentidad()))
+                .forEach((shard, shardCandidates) ->
+                        shards.run(shard, () -> commitCandidates(group, personas, shardCandidates)));
+    }
+
+    /**
+     * Confirma en una transacción las altas del grupo que pasaron la comprobación de
+     * repetidos, todas del mismo fragmento.
+     */
+    private void commitCandidates(List<GroupCommitQueue.Pending<Persona, Persona>> group, List<Persona> personas,
+                                  List<Integer> candidates) {
+        Map<Integer, String> conflicts = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(groupCommitMaxBatchSize);
+                UniqueKeySets existing = findExistingKeys(personas, candidates);
+                for (Integer index : candidates) {
+                    Persona persona = personas.get(index);
+                    String conflict = existing.conflictFor(persona);
+                    if (conflict != null) {
+                        conflicts.put(index, conflict);
+                    } else {
+                        entityManager.persist(persona);
+                        eventPublisher.publishEvent(PersonaChangedEvent.created(persona));
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Fallo al confirmar un grupo de {} altas, reintentando una a una: {}", candidates.size(), ex.getMessage());
+            for (Integer index : candidates) {
+                Persona persona = personas.get(index);
+                // El persist anterior pudo asignar un ID y una versión que se perdieron con el rollback
+                persona.setId(null);
+                persona.setVersion(null);
+                try {
+                    group.get(index).result().complete(transactionTemplate.execute(status -> saveOne(persona)));
+                } catch (RuntimeException single) {
+                    group.get(index).result().completeExceptionally(single);
+                }
+            }
+            return;
+        }
+        for (Integer index : candidates) {
+            String conflict = conflicts.get(index);
+            if (conflict != null) {
+                group.get(index).result().completeExceptionally(new IllegalArgumentException(conflict));
+            } else {
+                group.get(index).result().complete(personas.get(index));
+            }
+        }
+    }
+
+    /**
+     * Lanza una excepción si el documento de identidad ya está registrado.
+     * Solo consulta la base de datos cuando el filtro indica un posible duplicado.
+     */
+    private void checkDocumentoDisponible(String documentoIdentidad) {
+        checkDocumentoDisponible(documentoIdentidad, null);
+    }
+
+    /**
+     * Igual que checkDocumentoDisponible(String), sin contar a la persona indicada.
+     */
+    private void checkDocumentoDisponible(String documentoIdentidad, Long exceptId) {
+        if (uniquenessFilter.mightContainDocumento(documentoIdentidad)
+                && (exceptId == null
+                        ? personaRepository.existsByDocumentoIdentidad(documentoIdentidad)
+                        : personaRepository.existsByDocumentoIdentidadAndIdNot(documentoIdentidad, exceptId))) {
+            log.error("Ya existe una persona con el Documento de Identidad: {}", documentoIdentidad);
+            throw new IllegalArgumentException("Ya existe una persona con el Documento de Identidad: " + documentoIdentidad);
+        }
+    }
+
+    /**
+     * Lanza una excepción si el correo electrónico ya está registrado.
+     * Solo consulta la base de datos cuando el filtro indica un posible duplicado.
+     */
+    private void checkCorreoDisponible(String correo) {
+        checkCorreoDisponible(correo, null);
+    }
+
+    /**
+     * Igual que checkCorreoDisponible(String), sin contar a la persona indicada.
+     */
+    private void checkCorreoDisponible(String correo, Long exceptId) {
+        if (uniquenessFilter.mightContainCorreo(correo) && existsCorreo(correo, exceptId)) {
+            log.error("Ya existe una persona con el correo electrónico: {}", correo);
+            throw new IllegalArgumentException("Ya existe una persona con el correo electrónico: " + correo);
+        }
+    }
+
+    /**
+     * Comprueba si el correo está registrado. Con fragmentación, el correo puede estar en
+     * cualquier fragmento: el del hilo actual se consulta en su transacción y el resto en
+     * paralelo. Entre fragmentos la base de datos no garantiza la unicidad del correo, así
+     * que dos altas simultáneas con el mismo correo en fragmentos distintos podrían pasar
+     * ambas la comprobación.
+     */
+    private boolean existsCorreo(String correo, Long exceptId) {
+        boolean inCurrentShard = exceptId == null
+                ? personaRepository.existsByCorreo(correo)
+                : personaRepository.existsByCorreoAndIdNot(correo, exceptId);
+        if (inCurrentShard) {
+            return true;
+        }
+        // La persona excluida está en el fragmento actual: en el resto basta con buscar el correo
+        return shards.isSharded()
+                && shards.fanOut(otherShards(), shard -> personaRepository.existsByCorreo(correo)).contains(true);
+    }
+
+    /**
+     * @return Fragmentos distintos del fijado en el hilo actual
+     */
+    private List<Integer> otherShards() {
+        Integer current = ShardRouting.current();
+        return IntStream.range(0, shards.count())
+                .filter(shard -> current == null || shard != current)
+                .boxed()
+                .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * No es transaccional a propósito: cada bloque se confirma por separado para que
+     * un fallo no deshaga las filas ya guardadas. Con fragmentación, los bloques se
+     * forman dentro de cada fragmento.
+     */
+    @Override
+    public BulkPersonaResult bulkSavePersonas(List<Persona> personas) {
+        log.info("Carga masiva de {} personas en bloques de {}", personas.size(), bulkBatchSize);
+        BulkPersonaResult result = BulkPersonaResult.builder().total(personas.size()).build();
+
+        // Validamos cada fila y descartamos las claves repetidas dentro del propio lote
+        List<Integer> candidates = new ArrayList<>(personas.size());
+        Set<String> seenDocumentos = new HashSet<>();
+        Set<String> seenCorreos = new HashSet<>();
+        for (int i = 0; i < personas.size(); i++) {
+            Persona persona = personas.get(i);
+            Set<ConstraintViolation<Persona>> violations = validator.validate(persona);
+            if (!violations.isEmpty()) {
+                String reason = violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+                addFailure(result, i, persona, reason);
+            } else if (seenDocumentos.contains(persona.getDocumentoIdentidad())) {
+                addFailure(result, i, persona, "Documento de Identidad repetido dentro del lote");
+            } else if (seenCorreos.contains(persona.getCorreo())) {
+                addFailure(result, i, persona, "Correo electrónico repetido dentro del lote");
+            } else {
+                // Solo una fila aceptada reserva sus claves: una rechazada no debe bloquear a las siguientes
+                seenDocumentos.add(persona.getDocumentoIdentidad());
+                seenCorreos.add(persona.getCorreo());
+                candidates.add(i);
+            }
+        }
+
+        shards.partition(candidates, index -> shards.forDocumento(personas.get(index).getDocumentoIdentidad()))
+                .forEach((shard, shardCandidates) -> shards.run(shard, () -> {
+                    for (int from = 0; from < shardCandidates.size(); from += bulkBatchSize) {
+                        List<Integer> chunk = shardCandidates.subList(from, Math.min(from + bulkBatchSize, shardCandidates.size()));
+                        saveChunk(personas, chunk, result);
+                    }
+                }));
+
+        result.getFailures().sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        log.info("Carga masiva finalizada: {} creadas, {} fallidas", result.getCreated(), result.getFailures().size());
+        return result;
+    }
+
+    /**
+     * Guarda un bloque de la carga masiva en una única transacción.
+     *
+     * Si la transacción falla (por ejemplo, por una clave duplicada insertada en
+     * paralelo), se reintenta fila a fila para identificar cuáles fallan.
+     */
+    private void saveChunk(List<Persona> personas, List<Integer> chunk, BulkPersonaResult result) {
+        Set<Integer> rejected = new HashSet<>();
+        try {
+            Integer created = transactionTemplate.execute(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(bulkBatchSize);
+                UniqueKeySets existing = findExistingKeys(personas, chunk);
+
+                int persisted = 0;
+                for (Integer index : chunk) {
+                    Persona persona = personas.get(index);
+                    String conflict = existing.conflictFor(persona);
+                    if (conflict != null) {
+                        rejected.add(index);
+                        addFailure(result, index, persona, conflict);
+                    } else {
+                        entityManager.persist(persona);
+                        eventPublisher.publishEvent(PersonaChangedEvent.created(persona));
+                        persisted++;
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+                return persisted;
+            });
+            result.setCreated(result.getCreated() + (created != null ? created : 0));
+        } catch (RuntimeException ex) {
+            log.warn("Fallo al guardar un bloque de la carga masiva, reintentando fila a fila: {}", ex.getMessage());
+            // Los rechazos por unicidad ya registrados se conservan; el resto se reintenta
+            for (Integer index : chunk) {
+                if (!rejected.contains(index)) {
+                    saveSingle(personas, index, result);
+                }
+            }
+        }
+    }
 
-        // Verificamos si ya existe una persona con el mismo documento de identidad
-        if (personaRepository.existsByDocumentoIdentidad(persona.getDocumentoIdentidad())) {
-            log.error("Ya existe una persona con el Documento de Identidad: {}", persona.getDocumentoIdentidad());
-            throw new IllegalArgumentException("Ya existe una persona con el Documento de Identidad: " + persona.getDocumentoIdentidad());
+    /**
+     * Guarda una única fila de la carga masiva en su propia transacción.
+     */
+    private void saveSingle(List<Persona> personas, int index, BulkPersonaResult result) {
+        Persona persona = personas.get(index);
+        // El persist anterior pudo asignar un ID y una versión que se perdieron con el rollback
+        persona.setId(null);
+        persona.setVersion(null);
+        try {
+            String conflict = transactionTemplate.execute(status -> {
+                String found = findExistingKeys(personas, List.of(index)).conflictFor(persona);
+                if (found == null) {
+                    entityManager.persist(persona);
+                    eventPublisher.publishEvent(PersonaChangedEvent.created(persona));
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+                return found;
+            });
+            if (conflict != null) {
+                addFailure(result, index, persona, conflict);
+            } else {
+                result.setCreated(result.getCreated() + 1);
+            }
+        } catch (RuntimeException ex) {
+            persona.setId(null);
+            Throwable cause = ex;
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            addFailure(result, index, persona, cause.getMessage());
         }
+    }
 
-        return personaRepository.save(persona);
+    /**
+     * Consulta de una sola vez qué documentos y correos de las filas indicadas ya existen.
+     * Las claves que el filtro descarta no se envían a la consulta. Las filas deben ser
+     * del fragmento del hilo actual.
+     */
+    private UniqueKeySets findExistingKeys(List<Persona> personas, List<Integer> indexes) {
+        Set<String> documentos = new HashSet<>();
+        Set<String> correos = new HashSet<>();
+        for (Integer index : indexes) {
+            Persona persona = personas.get(index);
+            if (uniquenessFilter.mightContainDocumento(persona.getDocumentoIdentidad())) {
+                documentos.add(persona.getDocumentoIdentidad());
+            }
+            if (uniquenessFilter.mightContainCorreo(persona.getCorreo())) {
+                correos.add(persona.getCorreo());
+            }
+        }
+        UniqueKeySets existing = new UniqueKeySets(new HashSet<>(), new HashSet<>());
+        if (documentos.isEmpty() && correos.isEmpty()) {
+            return existing;
+        }
+        for (PersonaRepository.UniqueKeys keys : personaRepository.findExistingKeys(documentos, correos)) {
+            existing.documentos().add(keys.getDocumentoIdentidad());
+            existing.correos().add(keys.getCorreo());
+        }
+        // Los documentos solo pueden estar en este fragmento; los correos, en cualquiera
+        if (shards.isSharded() && !correos.isEmpty()) {
+            shards.fanOut(otherShards(), shard -> personaRepository.findExistingKeys(Set.of(), correos))
+                    .forEach(keys -> keys.forEach(key -> existing.correos().add(key.getCorreo())));
+        }
+        return existing;
+    }
+
+    /**
+     * Documentos y correos ya registrados en la base de datos.
+     */
+    private record UniqueKeySets(Set<String> documentos, Set<String> correos) {
+
+        /**
+         * @return Mensaje de conflicto para la persona, o null si sus claves están libres
+         */
+        String conflictFor(Persona persona) {
+            if (documentos.contains(persona.getDocumentoIdentidad())) {
+                return "Ya existe una persona con el Documento de Identidad: " + persona.getDocumentoIdentidad();
+            }
+            if (correos.contains(persona.getCorreo())) {
+                return "Ya existe una persona con el correo electrónico: " + persona.getCorreo();
+            }
+            return null;
+        }
+    }
+
+    private static void addFailure(BulkPersonaResult result, int index, Persona persona, String reason) {
+        result.getFailures().add(new BulkPersonaResult.Failure(index, persona.getDocumentoIdentidad(), reason));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    @Transactional
     public Persona updatePersona(Long id, Persona personaDetails) {
         log.info("Actualizando persona con ID: {}", id);
+        return shards.on(shards.forId(id), () -> transactionTemplate.execute(status -> updateOne(id, personaDetails)));
+    }
 
+    private Persona updateOne(Long id, Persona personaDetails) {
         // Buscamos la persona a actualizar
         Persona existingPersona = personaRepository.findById(id)
                 .orElseThrow(() -> {
@@ -99,12 +891,16 @@ public class PersonaServiceImpl implements PersonaService {
                     return new ResourceNotFoundException("Persona", "id", id);
                 });
 
-        // Verificamos si estamos intentando cambiar el documento de identidad a uno que ya existe
-        if (!existingPersona.getDocumentoIdentidad().equals(personaDetails.getDocumentoIdentidad()) &&
-                personaRepository.existsByDocumentoIdentidad(personaDetails.getDocumentoIdentidad())) {
-            log.error("Ya existe una persona con el Documento de Identidad: {}", personaDetails.getDocumentoIdentidad());
-            throw new IllegalArgumentException("Ya existe una persona con el Documento de Identidad: " + personaDetails.getDocumentoIdentidad());
+        // Verificamos si estamos intentando cambiar el documento de identidad o el correo a uno que ya existe
+        if (!existingPersona.getDocumentoIdentidad().equals(personaDetails.getDocumentoIdentidad())) {
+            checkMismoFragmento(id, personaDetails.getDocumentoIdentidad());
+            checkDocumentoDisponible(personaDetails.getDocumentoIdentidad());
         }
+        if (!existingPersona.getCorreo().equals(personaDetails.getCorreo())) {
+            checkCorreoDisponible(personaDetails.getCorreo());
+        }
+
+        Persona before = existingPersona.toBuilder().build();
 
         // Actualizamos los campos (manteniendo id)
         existingPersona.setNombre(personaDetails.getNombre());
@@ -115,35 +911,273 @@ public class PersonaServiceImpl implements PersonaService {
         existingPersona.setTelefono(personaDetails.getTelefono());
         existingPersona.setDireccion(personaDetails.getDireccion());
 
-        // Guardamos y devolvemos la persona actualizada
-        return personaRepository.save(existingPersona);
+        // Guardamos y devolvemos la persona actualizada. El flush aplica ya el UPDATE para que
+        // la versión y la fecha de modificación devueltas (y publicadas en el evento) sean las nuevas
+        Persona updated = personaRepository.saveAndFlush(existingPersona);
+        eventPublisher.publishEvent(PersonaChangedEvent.updated(before, updated));
+        return updated;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PersonaVersion patchPersona(Long id, PersonaPatch patch, Long expectedVersion) {
+        log.info("Modificando parcialmente persona con ID: {} (versión esperada: {})", id, expectedVersion);
+        if (!patch.hasChanges()) {
+            throw new IllegalArgumentException("La modificación no incluye ningún campo");
+        }
+        if (patch.getDocumentoIdentidad() != null) {
+            checkMismoFragmento(id, patch.getDocumentoIdentidad());
+        }
+        return shards.on(shards.forId(id),
+                () -> transactionTemplate.execute(status -> patchOne(id, patch, expectedVersion)));
+    }
+
+    private PersonaVersion patchOne(Long id, PersonaPatch patch, Long expectedVersion) {
+        // La misma comprobación de unicidad que en la actualización completa, excluyendo a la propia persona
+        if (patch.getDocumentoIdentidad() != null) {
+            checkDocumentoDisponible(patch.getDocumentoIdentidad(), id);
+        }
+        if (patch.getCorreo() != null) {
+            checkCorreoDisponible(patch.getCorreo(), id);
+        }
+
+        // UPDATE ... SET <solo los campos enviados>, version = version + 1 WHERE id = ? AND version = ?
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Persona> update = cb.createCriteriaUpdate(Persona.class);
+        Root<Persona> root = update.from(Persona.class);
+        Persona changes = Persona.builder().id(id).creadoEn(null).build();
+        setIfPresent(update, "nombre", patch.getNombre(), changes::setNombre);
+        setIfPresent(update, "apellido", patch.getApellido(), changes::setApellido);
+        setIfPresent(update, "documentoIdentidad", patch.getDocumentoIdentidad(), changes::setDocumentoIdentidad);
+        setIfPresent(update, "fechaNacimiento", patch.getFechaNacimiento(), changes::setFechaNacimiento);
+        setIfPresent(update, "correo", patch.getCorreo(), changes::setCorreo);
+        setIfPresent(update, "telefono", patch.getTelefono(), changes::setTelefono);
+        setIfPresent(update, "direccion", patch.getDireccion(), changes::setDireccion);
+
+        // Una actualización masiva no pasa por @PreUpdate: la fecha y la versión se fijan aquí
+        LocalDateTime now = LocalDateTime.now();
+        update.set(root.<LocalDateTime>get("actualizadoEn"), now);
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+        update.where(expectedVersion != null
+                ? cb.and(cb.equal(root.get("id"), id), cb.equal(root.get("version"), expectedVersion))
+                : cb.equal(root.get("id"), id));
+
+        if (executeUpdate(update) == 0) {
+            // Solo en el caso de fallo se lee la versión, para distinguir el 404 del conflicto
+            PersonaVersion current = personaRepository.findVersionById(id)
+                    .orElseThrow(() -> {
+                        log.error("Persona con ID: {} no encontrada", id);
+                        return new ResourceNotFoundException("Persona", "id", id);
+                    });
+            log.warn("Conflicto de versión al modificar la persona con ID: {} (esperada {}, actual {})",
+                    id, expectedVersion, current.version());
+            throw new VersionConflictException(id, expectedVersion, current.version());
+        }
+
+        // Con la versión esperada, la nueva es la siguiente y no hace falta leer la fila. Solo se
+        // lee (una vez, en la misma transacción) si se desconoce la versión o si algún consumidor
+        // del evento necesita el estado completo
+        Persona after = null;
+        if (expectedVersion == null || needsPostImage(changes)) {
+            after = personaRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Persona", "id", id));
+        }
+        changes.setVersion(after != null ? after.getVersion() : expectedVersion + 1);
+        changes.setActualizadoEn(now);
+        eventPublisher.publishEvent(PersonaChangedEvent.patched(id, after, changes));
+        return new PersonaVersion(id, changes.getVersion(), now);
+    }
+
+    /**
+     * Indica si algún consumidor de PersonaChangedEvent necesita el estado completo tras
+     * una modificación parcial: un índice en memoria al que afectan los campos modificados
+     * o el flujo de cambios, si tiene suscriptores.
+     */
+    private boolean needsPostImage(Persona changes) {
+        return searchIndex.affectedBy(changes)
+                || suggestIndex.affectedBy(changes)
+                || statsIndex.affectedBy(changes)
+                || changeStream.hasSubscribers();
+    }
+
+    /**
+     * Ejecuta la actualización masiva. A diferencia de los métodos del repositorio, el
+     * EntityManager no traduce las excepciones de Hibernate: la violación de una
+     * restricción (una escritura concurrente que superó la comprobación previa) se
+     * traduce aquí, para que se responda igual que en el resto de escrituras.
+     */
+    private int executeUpdate(CriteriaUpdate<Persona> update) {
+        try {
+            return entityManager.createQuery(update).executeUpdate();
+        } catch (org.hibernate.exception.ConstraintViolationException ex) {
+            throw new DataIntegrityViolationException(ex.getMessage(), ex);
+        }
+    }
+
+    private static <V> void setIfPresent(CriteriaUpdate<Persona> update, String attribute, V value, Consumer<V> changes) {
+        if (value != null) {
+            update.set(attribute, value);
+            changes.accept(value);
+        }
+    }
+
+    /**
+     * Con fragmentación, el documento de identidad decide el fragmento de la persona: un
+     * cambio de documento que la llevaría a otro fragmento se rechaza, porque moverla
+     * exigiría una escritura en dos bases de datos y un nuevo ID.
+     */
+    private void checkMismoFragmento(Long id, String documentoIdentidad) {
+        if (shards.isSharded() && documentoIdentidad != null
+                && shards.forDocumento(documentoIdentidad) != shards.forId(id)) {
+            throw new IllegalArgumentException(
+                    "El nuevo Documento de Identidad corresponde a otro fragmento: la persona debe darse de baja y de alta");
+        }
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    @Transactional
     public void deletePersona(Long id) {
         log.info("Eliminando persona con ID: {}", id);
+        shards.run(shards.forId(id), () -> transactionTemplate.executeWithoutResult(status -> deleteOne(id)));
+    }
 
+    private void deleteOne(Long id) {
         // Verificamos que la persona exista
-        if (!personaRepository.existsById(id)) {
-            log.error("Persona con ID: {} no encontrada", id);
-            throw new ResourceNotFoundException("Persona", "id", id);
-        }
+        Persona existingPersona = personaRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.error("Persona con ID: {} no encontrada", id);
+                    return new ResourceNotFoundException("Persona", "id", id);
+                });
 
-        personaRepository.deleteById(id);
+        personaRepository.delete(existingPersona);
+        changeLog.recordDeletion(existingPersona);
+        eventPublisher.publishEvent(PersonaChangedEvent.deleted(existingPersona));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    @Transactional(readOnly = true)
-    public List<Persona> searchPersonasByName(String nameFragment) {
+    public List<PersonaResponse> searchPersonasByName(String nameFragment) {
+        return searchPersonasByName(nameFragment, searchDefaultLimit);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Los IDs se resuelven en el índice de trigramas y las personas se cargan con una
+     * consulta de proyección por clave primaria en cada fragmento. Mientras el índice se
+     * construye al arrancar, se recurre a la consulta LIKE sobre el nombre.
+     *
+     * La consulta del índice no necesita conexión y cada acceso al repositorio abre
+     * su propia transacción de solo lectura, de modo que la conexión del pool no
+     * queda retenida mientras se calcula el ranking en memoria.
+     */
+    @Override
+    public List<PersonaResponse> searchPersonasByName(String nameFragment, int limit) {
+        return searchPersonasByName(nameFragment, limit, PersonaFieldSet.ALL);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Solo la carga por ID tras consultar el índice lee únicamente esas columnas; la
+     * consulta de respaldo mientras se construye el índice lee la fila completa.
+     */
+    @Override
+    public List<PersonaResponse> searchPersonasByName(String nameFragment, int limit, PersonaFieldSet fields) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("El límite debe ser mayor que cero");
+        }
+        int maxResults = Math.min(limit, maxPageLimit);
         log.info("Buscando personas que contienen en el nombre: {}", nameFragment);
-        return personaRepository.findByNombreContainingIgnoreCase(nameFragment);
+
+        Optional<List<Long>> rankedIds = searchIndex.search(nameFragment, maxResults);
+        if (rankedIds.isEmpty()) {
+            log.warn("Índice de búsqueda no disponible, se usa la consulta sobre la tabla");
+            return mergeById(
+                    shards.fanOutReadOnly(shard -> personaRepository.findResponsesByNombreContaining(nameFragment, Limit.of(maxResults))),
+                    PersonaResponse::getId, maxResults);
+        }
+        List<Long> ids = rankedIds.get();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, PersonaResponse> byId = findResponsesByIds(ids, fields).stream()
+                .collect(Collectors.toMap(PersonaResponse::getId, Function.identity()));
+        // Conservamos el orden de relevancia del índice
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Se responde desde el índice en memoria sin tocar la base de datos. Mientras el
+     * índice se construye al arrancar, se recurre a una consulta por prefijo del nombre.
+     */
+    @Override
+    public List<PersonaSuggestion> suggestPersonas(String prefix, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("El límite debe ser mayor que cero");
+        }
+        int maxResults = Math.min(limit, suggestMaxLimit);
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+
+        Optional<List<PersonaSuggestion>> suggestions = suggestIndex.suggest(prefix, maxResults);
+        if (suggestions.isPresent()) {
+            return suggestions.get();
+        }
+        log.warn("Índice de autocompletado no disponible, se usa la consulta sobre la tabla");
+        List<List<Persona>> perShard = shards.fanOutReadOnly(shard -> personaRepository
+                .findByNombreStartingWithIgnoreCaseOrderByNombreAscApellidoAsc(prefix.trim(), Limit.of(maxResults)));
+        Stream<Persona> matches = perShard.size() == 1
+                ? perShard.get(0).stream()
+                : perShard.stream()
+                        .flatMap(List::stream)
+                        .sorted(Comparator.comparing(Persona::getNombre).thenComparing(Persona::getApellido))
+                        .limit(maxResults);
+        return matches
+                .map(persona -> new PersonaSuggestion(persona.getId(), persona.getNombre() + " " + persona.getApellido()))
+                .toList();
     }
-}
 
+    /**
+     * {@inheritDoc}
+     *
+     * Se responde desde la copia columnar en memoria. Mientras se construye al arrancar,
+     * se construye una copia temporal recorriendo la tabla.
+     */
+    @Override
+    public PersonaStats getPersonaStats(String groupBy, LocalDate from, LocalDate to, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("El límite debe ser mayor que cero");
+        }
+        int maxResults = Math.min(limit, maxPageLimit);
+        LocalDate lastDay = to != null ? to : LocalDate.now();
+        LocalDate firstDay = from != null ? from : lastDay.minusDays(statsDefaultDays - 1L);
+        log.info("Calculando estadísticas de personas por {}", groupBy);
+
+        Optional<PersonaStats> stats = statsIndex.aggregate(groupBy, firstDay, lastDay, maxResults);
+        if (stats.isPresent()) {
+            return stats.get();
+        }
+        log.warn("Copia columnar de estadísticas no disponible, se recorre la tabla");
+        return statsIndex.aggregateFromTable(groupBy, firstDay, lastDay, maxResults);
+    }
+
+    @Override
+    public BroadcastLog.Subscription<PersonaChange> subscribeChanges(String lastEventId) {
+        return changeStream.subscribe(lastEventId);
+    }
+
+    @Override
+    public String getResumeEventId(BroadcastLog.Subscription<PersonaChange> subscription) {
+        return changeStream.resumeEventId(subscription);
+    }
+}
@@ -0,0 +1,173 @@
+package proyeto1.service.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import proyeto1.event.PersonaChangedEvent;
+import proyeto1.model.Persona;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Base para las estructuras en memoria derivadas de la tabla de personas
+ * que se mantienen al día de forma incremental.
+ *
+ * Al arrancar construye una estructura nueva recorriendo la tabla. Los cambios
+ * confirmados mientras dura el recorrido se guardan y se vuelven a aplicar sobre
+ * la estructura nueva antes de publicarla, de modo que no se pierde ninguno
+ * aunque el recorrido haya leído una versión anterior de la fila. A partir de
+ * ahí, cada PersonaChangedEvent se aplica tras el commit de su transacción.
+ *
+ * @param <T> Tipo de la estructura mantenida
+ * @version 1.0
+ */
+@Slf4j
+public abstract class AbstractPersonaIndex<T> {
+
+    private final PersonaTableScanner tableScanner;
+    private final ReentrantLock swapLock = new ReentrantLock();
+    private List<PersonaChangedEvent> pendingDuringBuild;
+    private volatile T current;
+
+    protected AbstractPersonaIndex(PersonaTableScanner tableScanner) {
+        this.tableScanner = tableScanner;
+    }
+
+    /**
+     * @return Estructura vacía lista para cargarse
+     */
+    protected abstract T createIndex();
+
+    /**
+     * Añade o reemplaza una persona en la estructura.
+     */
+    protected abstract void put(T index, Persona persona);
+
+    /**
+     * Elimina una persona de la estructura.
+     */
+    protected abstract void remove(T index, Persona persona);
+
+    /**
+     * Indica si una modificación parcial afecta a la estructura. Por defecto, si
+     * cambia el nombre o el apellido. El servicio también lo consulta antes de
+     * publicar el evento, para leer el estado nuevo solo cuando hace falta.
+     *
+     * @param changes Campos modificados (el resto a null)
+     * @return true si hay que volver a indexar la persona
+     */
+    public boolean affectedBy(Persona changes) {
+        return changes.getNombre() != null || changes.getApellido() != null;
+    }
+
+    /**
+     * @return Nombre de la estructura para los mensajes de log
+     */
+    protected abstract String name();
+
+    /**
+     * @return Estructura vigente, o null mientras se construye por primera vez
+     */
+    protected T current() {
+        return current;
+    }
+
+    /**
+     * @return true si la estructura ya se construyó y puede usarse
+     */
+    public boolean isReady() {
+        return current != null;
+    }
+
+    /**
+     * Construye la estructura recorriendo la tabla completa y la publica.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        swapLock.lock();
+        try {
+            pendingDuringBuild = new ArrayList<>();
+        } finally {
+            swapLock.unlock();
+        }
+
+        T fresh = createIndex();
+        long rows;
+        try {
+            rows = tableScanner.scan(persona -> put(fresh, persona));
+        } catch (RuntimeException ex) {
+            swapLock.lock();
+            try {
+                // Sin estructura nueva, los cambios vuelven a aplicarse sobre la vigente
+                pendingDuringBuild.forEach(event -> applyTo(current, event));
+                pendingDuringBuild = null;
+            } finally {
+                swapLock.unlock();
+            }
+            throw ex;
+        }
+
+        swapLock.lock();
+        try {
+            pendingDuringBuild.forEach(event -> applyTo(fresh, event));
+            pendingDuringBuild = null;
+            current = fresh;
+        } finally {
+            swapLock.unlock();
+        }
+        log.info("{} construido con {} personas en {} ms", name(), rows, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Aplica un cambio confirmado a la estructura.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPersonaChanged(PersonaChangedEvent event) {
+        PersonaChangedEvent applicable = resolve(event);
+        if (applicable == null) {
+            return;
+        }
+        swapLock.lock();
+        try {
+            if (pendingDuringBuild != null) {
+                pendingDuringBuild.add(applicable);
+            }
+            applyTo(current, applicable);
+        } finally {
+            swapLock.unlock();
+        }
+    }
+
+    /**
+     * Las modificaciones parciales no traen el estado anterior. Si afectan a la
+     * estructura se aplican como una actualización completa con el estado nuevo; si
+     * no, se ignoran. Por eso remove() puede recibir el estado nuevo y no debe depender
+     * de los valores anteriores.
+     */
+    private PersonaChangedEvent resolve(PersonaChangedEvent event) {
+        if (event.type() != PersonaChangedEvent.ChangeType.PATCHED) {
+            return event;
+        }
+        if (!affectedBy(event.changes())) {
+            return null;
+        }
+        return PersonaChangedEvent.updated(event.after(), event.after());
+    }
+
+    private void applyTo(T index, PersonaChangedEvent event) {
+        if (index == null) {
+            return;
+        }
+        if (event.before() != null) {
+            remove(index, event.before());
+        }
+        if (event.after() != null) {
+            put(index, event.after());
+        }
+    }
+}
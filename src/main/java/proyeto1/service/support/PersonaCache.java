@@ -0,0 +1,181 @@
+package proyeto1.service.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import proyeto1.datasource.ReadRouting;
+import proyeto1.event.PersonaChangedEvent;
+import proyeto1.model.Persona;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caché en memoria de personas para las búsquedas puntuales por ID y por documento.
+ *
+ * Usa Caffeine, cuya política de expulsión W-TinyLFU tiene en cuenta la frecuencia
+ * de acceso, con límite de tamaño y caducidad. Las entradas se guardan por ID y el
+ * documento de identidad solo apunta al ID, de modo que ambas vistas comparten la
+ * misma entrada y una sola invalidación las deja coherentes.
+ *
+ * Las escrituras invalidan la caché después del commit. Para que una lectura que
+ * empezó antes del commit no vuelva a guardar el valor antiguo, cada carga anota
+ * la generación de escritura vigente y solo se guarda si no ha cambiado.
+ *
+ * Con réplicas de lectura, las cargas van a una réplica salvo para las personas
+ * modificadas hace menos que el retraso admitido de las réplicas
+ * (persona.datasource.read-your-writes-window): esas se leen de la base de datos
+ * principal, porque una fila atrasada quedaría en caché hasta su caducidad, mucho más
+ * que el propio retraso. Sin réplicas (persona.datasource.routing.enabled=false) no
+ * hay nada que confirmar y cada carga hace una sola consulta.
+ *
+ * Las métricas de aciertos, fallos y expulsiones se publican en Micrometer con los
+ * nombres "personas.byId" y "personas.byDocumento" (ver /actuator/metrics/cache.gets).
+ *
+ * Las personas devueltas son instancias compartidas: no deben modificarse.
+ *
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class PersonaCache {
+
+    private final Cache<Long, Persona> byId;
+    private final Cache<String, Long> idsByDocumento;
+    private final Cache<Long, Boolean> recentlyWritten;
+    private final AtomicLong writeGeneration = new AtomicLong();
+    private final boolean replicaRouting;
+
+    public PersonaCache(@Value("${persona.cache.maximum-size:100000}") long maximumSize,
+                        @Value("${persona.cache.ttl:10m}") Duration ttl,
+                        @Value("${persona.datasource.read-your-writes-window:5s}") Duration replicaLag,
+                        @Value("${persona.datasource.routing.enabled:false}") boolean replicaRouting,
+                        MeterRegistry meterRegistry) {
+        this.replicaRouting = replicaRouting;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.idsByDocumento = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.recentlyWritten = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(replicaLag)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "personas.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByDocumento, "personas.byDocumento");
+        log.info("Caché de personas creada: tamaño máximo {}, TTL {}", maximumSize, ttl);
+    }
+
+    /**
+     * Obtiene una persona por ID, cargándola con el loader si no está en caché.
+     *
+     * @param id     ID de la persona
+     * @param loader Consulta a la base de datos para el caso de fallo
+     * @return Optional con la persona si existe
+     */
+    public Optional<Persona> getById(Long id, Function<Long, Optional<Persona>> loader) {
+        Persona cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long generation = writeGeneration.get();
+        Optional<Persona> loaded = isRecentlyWritten(id)
+                ? ReadRouting.onPrimary(() -> loader.apply(id))
+                : loader.apply(id);
+        loaded.ifPresent(persona -> putIfCurrent(persona, generation));
+        return loaded;
+    }
+
+    /**
+     * Obtiene una persona por documento de identidad, cargándola con el loader si no está en caché.
+     *
+     * @param documentoIdentidad Documento de identidad de la persona
+     * @param loader             Consulta a la base de datos para el caso de fallo
+     * @return Optional con la persona si existe
+     */
+    public Optional<Persona> getByDocumentoIdentidad(String documentoIdentidad,
+                                                     Function<String, Optional<Persona>> loader) {
+        Long id = idsByDocumento.getIfPresent(documentoIdentidad);
+        if (id != null) {
+            Persona cached = byId.getIfPresent(id);
+            // El índice por documento puede apuntar a una entrada ya expulsada o con otro documento
+            if (cached != null && documentoIdentidad.equals(cached.getDocumentoIdentidad())) {
+                return Optional.of(cached);
+            }
+        }
+        long generation = writeGeneration.get();
+        Optional<Persona> loaded = loader.apply(documentoIdentidad);
+        // Hasta leerla no se sabe qué persona es: si no aparece o cambió hace poco, la réplica
+        // puede ir atrasada y se confirma en la principal (sin réplicas ya se leyó de ella)
+        if (replicaRouting && (loaded.isEmpty() || isRecentlyWritten(loaded.get().getId()))) {
+            loaded = ReadRouting.onPrimary(() -> loader.apply(documentoIdentidad));
+        }
+        loaded.ifPresent(persona -> putIfCurrent(persona, generation));
+        return loaded;
+    }
+
+    /**
+     * Devuelve una persona solo si ya está en caché, sin consultar la base de datos.
+     *
+     * @param id ID de la persona
+     * @return Optional con la persona si está en caché
+     */
+    public Optional<Persona> peek(Long id) {
+        return Optional.ofNullable(byId.getIfPresent(id));
+    }
+
+    /**
+     * Invalida las entradas afectadas por un cambio una vez confirmada la transacción.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPersonaChanged(PersonaChangedEvent event) {
+        recentlyWritten.put(event.id(), Boolean.TRUE);
+        invalidate(event.id());
+        if (event.before() != null) {
+            idsByDocumento.invalidate(event.before().getDocumentoIdentidad());
+        }
+    }
+
+    /**
+     * Elimina una persona de la caché.
+     *
+     * @param id ID de la persona
+     */
+    public void invalidate(Long id) {
+        // Primero la generación: cualquier carga en curso dejará de poder guardar su resultado
+        writeGeneration.incrementAndGet();
+        byId.invalidate(id);
+    }
+
+    /**
+     * Vacía la caché por completo.
+     */
+    public void invalidateAll() {
+        writeGeneration.incrementAndGet();
+        byId.invalidateAll();
+        idsByDocumento.invalidateAll();
+    }
+
+    private boolean isRecentlyWritten(Long id) {
+        return recentlyWritten.getIfPresent(id) != null;
+    }
+
+    private void putIfCurrent(Persona persona, long generation) {
+        byId.asMap().compute(persona.getId(),
+                (key, current) -> writeGeneration.get() == generation ? persona : current);
+        idsByDocumento.put(persona.getDocumentoIdentidad(), persona.getId());
+    }
+}
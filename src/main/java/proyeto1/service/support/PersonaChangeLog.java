@@ -0,0 +1,203 @@
+package proyeto1.service.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import proyeto1.exception.SyncTokenExpiredException;
+import proyeto1.model.Persona;
+import proyeto1.model.PersonaTombstone;
+import proyeto1.model.response.PersonaDelta;
+import proyeto1.model.response.PersonaResponse;
+import proyeto1.repository.PersonaRepository;
+import proyeto1.repository.PersonaTombstoneRepository;
+import proyeto1.util.CursorCodec;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Registro de cambios de personas para la sincronización incremental.
+ *
+ * Cada alta, modificación y baja ocupa una posición en la secuencia de cambios de su
+ * fragmento: las altas y modificaciones en la columna change_seq de personas (la
+ * asigna la base de datos) y las bajas en una marca (PersonaTombstone) que se escribe
+ * en la misma transacción que la baja. Una sincronización recorre ambas por índice a
+ * partir de la posición del cliente, así que cuesta en proporción a los cambios.
+ *
+ * El token guarda el momento en que se emitió y la posición alcanzada en cada
+ * fragmento. Las posiciones se toman al escribir pero se hacen visibles al confirmar,
+ * de modo que una transacción lenta puede confirmar una posición menor que otra ya
+ * leída. Por eso el token solo avanza hasta el último cambio anterior a la ventana de
+ * asentamiento (persona.sync.settle); los cambios más recientes se entregan igualmente
+ * y se repiten en la siguiente sincronización. La ventana debe superar la duración de
+ * cualquier transacción de escritura y el retraso de las réplicas de lectura.
+ *
+ * Las marcas de baja se purgan pasado el periodo de retención; un token más antiguo
+ * podría no ver algunas bajas y se rechaza (SyncTokenExpiredException).
+ *
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class PersonaChangeLog {
+
+    private final PersonaRepository personaRepository;
+    private final PersonaTombstoneRepository tombstoneRepository;
+    private final PersonaShards shards;
+    private final int maxLimit;
+    private final Duration settle;
+    private final Duration tombstoneRetention;
+
+    public PersonaChangeLog(PersonaRepository personaRepository,
+                            PersonaTombstoneRepository tombstoneRepository,
+                            PersonaShards shards,
+                            @Value("${persona.sync.max-limit:1000}") int maxLimit,
+                            @Value("${persona.sync.settle:10s}") Duration settle,
+                            @Value("${persona.sync.tombstone-retention:30d}") Duration tombstoneRetention) {
+        if (!tombstoneRetention.minus(settle).isPositive()) {
+            throw new IllegalStateException("persona.sync.tombstone-retention debe ser mayor que persona.sync.settle");
+        }
+        this.personaRepository = personaRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.shards = shards;
+        this.maxLimit = maxLimit;
+        this.settle = settle;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * Cambio leído de un fragmento: una persona creada o modificada, o una baja.
+     */
+    private record Change(long sequence, LocalDateTime changedAt, PersonaResponse persona, Long deletedId) {
+
+        static Change of(Persona persona) {
+            LocalDateTime changedAt = persona.getActualizadoEn() != null ? persona.getActualizadoEn() : persona.getCreadoEn();
+            return new Change(persona.getChangeSeq(), changedAt, PersonaResponse.fromEntity(persona), null);
+        }
+
+        static Change of(PersonaTombstone tombstone) {
+            return new Change(tombstone.getChangeSeq(), tombstone.getDeletedAt(), null, tombstone.getPersonaId());
+        }
+    }
+
+    /**
+     * Registra la baja de una persona. Debe llamarse en la transacción que la elimina.
+     *
+     * @param persona Persona eliminada
+     */
+    public void recordDeletion(Persona persona) {
+        tombstoneRepository.save(PersonaTombstone.builder()
+                .personaId(persona.getId())
+                .deletedAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Obtiene los cambios posteriores a un token de sincronización.
+     *
+     * @param token Token de la sincronización anterior, o null para recibir todas las personas
+     * @param limit Número máximo de cambios a devolver
+     * @return Cambios y token para la siguiente sincronización
+     * @throws IllegalArgumentException  si el token o el límite no son válidos
+     * @throws SyncTokenExpiredException si el token es anterior al periodo de retención de las bajas
+     */
+    public PersonaDelta changesSince(String token, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("El límite debe ser mayor que cero");
+        }
+        int maxChanges = Math.min(limit, maxLimit);
+        long issuedAt = System.currentTimeMillis();
+        long[] since = positions(token, issuedAt);
+        LocalDateTime settledBefore = LocalDateTime.now().minus(settle);
+
+        // Una fila extra por tabla para saber si quedan cambios sin hacer un COUNT
+        List<List<Change>> perShard = shards.fanOutReadOnly(shard -> {
+            List<Change> changes = new ArrayList<>();
+            personaRepository.findChangedAfter(since[shard], Limit.of(maxChanges + 1))
+                    .forEach(persona -> changes.add(Change.of(persona)));
+            tombstoneRepository.findByChangeSeqGreaterThanOrderByChangeSeqAsc(since[shard], Limit.of(maxChanges + 1))
+                    .forEach(tombstone -> changes.add(Change.of(tombstone)));
+            changes.sort(Comparator.comparingLong(Change::sequence));
+            return changes;
+        });
+
+        // El cupo se reparte en orden de fragmento: cada uno avanza su propia posición
+        long[] next = since.clone();
+        List<PersonaResponse> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        boolean leftOut = false;
+        int remaining = maxChanges;
+        for (int shard = 0; shard < perShard.size(); shard++) {
+            List<Change> changes = perShard.get(shard);
+            int taken = Math.min(remaining, changes.size());
+            boolean settled = true;
+            for (Change change : changes.subList(0, taken)) {
+                if (change.persona() != null) {
+                    changed.add(change.persona());
+                } else {
+                    deleted.add(change.deletedId());
+                }
+                settled &= change.changedAt() == null || change.changedAt().isBefore(settledBefore);
+                if (settled) {
+                    next[shard] = change.sequence();
+                }
+            }
+            leftOut |= taken < changes.size();
+            remaining -= taken;
+        }
+
+        log.info("Sincronización desde {}: {} modificadas, {} eliminadas", Arrays.toString(since), changed.size(), deleted.size());
+        return PersonaDelta.builder()
+                .changed(changed)
+                .deleted(deleted)
+                // Si ninguna posición avanzó, pedir de nuevo ahora devolvería lo mismo
+                .hasMore(leftOut && !Arrays.equals(since, next))
+                .nextToken(encode(issuedAt, next))
+                .build();
+    }
+
+    /**
+     * Purga las marcas de baja más antiguas que el periodo de retención.
+     */
+    @Scheduled(fixedDelayString = "${persona.sync.prune-interval:1h}", initialDelayString = "${persona.sync.prune-interval:1h}")
+    public void pruneTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(tombstoneRetention);
+        int pruned = shards.fanOut(shard -> tombstoneRepository.deleteByDeletedAtBefore(cutoff)).stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+        if (pruned > 0) {
+            log.info("Purgadas {} marcas de baja anteriores a {}", pruned, cutoff);
+        }
+    }
+
+    /**
+     * @return Posición del token en cada fragmento (ceros si no hay token)
+     */
+    private long[] positions(String token, long now) {
+        if (token == null || token.isBlank()) {
+            return new long[shards.count()];
+        }
+        long[] decoded = CursorCodec.decodeAll(token.trim());
+        if (decoded.length != shards.count() + 1) {
+            // Emitido con otro número de fragmentos: sus posiciones ya no significan nada
+            throw new SyncTokenExpiredException();
+        }
+        if (decoded[0] < now - tombstoneRetention.toMillis() + settle.toMillis()) {
+            throw new SyncTokenExpiredException();
+        }
+        return Arrays.copyOfRange(decoded, 1, decoded.length);
+    }
+
+    private static String encode(long issuedAt, long[] positions) {
+        long[] values = new long[positions.length + 1];
+        values[0] = issuedAt;
+        System.arraycopy(positions, 0, values, 1, positions.length);
+        return CursorCodec.encodeAll(values);
+    }
+}
@@ -0,0 +1,125 @@
+package proyeto1.service.support;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import proyeto1.event.PersonaChangedEvent;
+import proyeto1.model.Persona;
+import proyeto1.model.response.PersonaChange;
+import proyeto1.model.response.PersonaResponse;
+import proyeto1.util.BroadcastLog;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flujo en memoria de los cambios confirmados sobre personas.
+ *
+ * Recibe cada PersonaChangedEvent después del commit (un cambio deshecho nunca se
+ * publica) y lo difunde a los suscriptores a través de un BroadcastLog, que conserva
+ * los últimos cambios para que un suscriptor que se reconecta reanude desde el último
+ * que recibió.
+ *
+ * Los identificadores de evento tienen la forma "época:secuencia". La época cambia en
+ * cada arranque: un identificador de un arranque anterior no se puede reanudar y la
+ * suscripción se marca con hueco, igual que si el cambio ya hubiera salido del buffer.
+ *
+ * Todos los cambios se publican con el estado que trae el evento, sin volver a leer la
+ * fila. El servicio solo lee el estado completo de una modificación parcial si hay
+ * suscriptores (hasSubscribers); la que se confirma sin ninguno queda en el buffer solo
+ * con los campos modificados, la versión y la fecha de modificación.
+ *
+ * Métricas: personas.stream.subscribers y personas.stream.overflows.
+ *
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class PersonaChangeStream {
+
+    private final BroadcastLog<PersonaChange> changes;
+    private final String epoch;
+
+    public PersonaChangeStream(MeterRegistry meterRegistry,
+                               @Value("${persona.stream.replay-size:10000}") int replaySize,
+                               @Value("${persona.stream.subscriber-buffer:1000}") int subscriberBuffer) {
+        this.changes = new BroadcastLog<>(replaySize, subscriberBuffer);
+        this.epoch = Long.toString(System.currentTimeMillis(), 36);
+        FunctionCounter.builder("personas.stream.overflows", changes, BroadcastLog::overflowCount)
+                .description("Suscriptores desconectados por no consumir los cambios a tiempo")
+                .register(meterRegistry);
+        Gauge.builder("personas.stream.subscribers", changes, BroadcastLog::subscriberCount)
+                .description("Suscriptores conectados al flujo de cambios")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publica un cambio confirmado.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPersonaChanged(PersonaChangedEvent event) {
+        // Una modificación parcial sin estado completo se publica con los campos modificados
+        Persona state = event.after() != null ? event.after() : event.changes();
+        PersonaResponse persona = state != null ? PersonaResponse.fromEntity(state) : null;
+        changes.publish(sequence -> PersonaChange.builder()
+                .eventId(eventId(sequence))
+                .type(event.type())
+                .personaId(event.id())
+                .persona(persona)
+                .publishedAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * @return true si hay algún suscriptor conectado
+     */
+    public boolean hasSubscribers() {
+        return changes.subscriberCount() > 0;
+    }
+
+    /**
+     * Suscribe a los cambios.
+     *
+     * @param lastEventId Último identificador de evento recibido, o null para recibir solo los nuevos
+     * @return Suscripción; con hueco si no se puede reanudar desde lastEventId
+     */
+    public BroadcastLog.Subscription<PersonaChange> subscribe(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return changes.subscribe();
+        }
+        long lastSequence = parseSequence(lastEventId.trim());
+        // Sin secuencia válida de este arranque: se fuerza el hueco con una secuencia futura
+        return changes.subscribe(lastSequence >= 0 ? lastSequence : Long.MAX_VALUE - 1);
+    }
+
+    /**
+     * @param subscription Suscripción con hueco
+     * @return Identificador desde el que continúa la suscripción una vez recargado el estado
+     */
+    public String resumeEventId(BroadcastLog.Subscription<PersonaChange> subscription) {
+        return eventId(subscription.startSequence());
+    }
+
+    private String eventId(long sequence) {
+        return epoch + ":" + sequence;
+    }
+
+    /**
+     * @return Secuencia del identificador, o -1 si no es de este arranque o no es válido
+     */
+    private long parseSequence(String eventId) {
+        int separator = eventId.indexOf(':');
+        if (separator < 0 || !epoch.equals(eventId.substring(0, separator))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package proyeto1.service.support;
+
+import proyeto1.model.Persona;
+import proyeto1.util.GroupCounter;
+import proyeto1.util.StringDictionary;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Copia columnar en memoria de las columnas de personas que se usan en las estadísticas.
+ *
+ * Cada columna es un array de primitivos con una posición por fila: las fechas como
+ * días desde 1970-01-01 (int) y el dominio del correo codificado con un diccionario
+ * (int). Contar por grupo es recorrer un array de enteros en paralelo (GroupCounter)
+ * sin crear objetos por fila, en lugar de cargar y recorrer entidades.
+ *
+ * Las filas de las personas eliminadas quedan libres y se reutilizan en las altas
+ * siguientes. Las escrituras toman el bloqueo de escritura y los recuentos el de
+ * lectura, de modo que cada recuento ve un estado consistente de todas las columnas.
+ *
+ * @version 1.0
+ */
+public final class PersonaColumns {
+
+    /**
+     * Valor de una fila sin dato en una columna.
+     */
+    static final int NULL = Integer.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Columnas de fecha.
+     */
+    public enum DateColumn {
+        FECHA_NACIMIENTO,
+        CREADO_EN
+    }
+
+    /**
+     * Resultado de un recuento por grupo.
+     *
+     * @param first   Clave del primer grupo (año o día, según el recuento; 0 si los grupos son códigos o rangos)
+     * @param counts  Número de personas de cada grupo
+     * @param missing Personas sin dato o fuera de los grupos pedidos
+     * @param total   Personas en la copia en el momento del recuento
+     * @param labels  Nombre de cada grupo en las columnas codificadas con diccionario; null en el resto
+     */
+    public record Histogram(int first, long[] counts, long missing, long total, List<String> labels) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> rowById = new HashMap<>();
+    private final StringDictionary emailDomains = new StringDictionary();
+    private boolean[] live = new boolean[INITIAL_CAPACITY];
+    private final int[][] days = new int[DateColumn.values().length][INITIAL_CAPACITY];
+    private int[] emailDomainCodes = new int[INITIAL_CAPACITY];
+    private final int[] minDay = new int[DateColumn.values().length];
+    private final int[] maxDay = new int[DateColumn.values().length];
+    private int[] freeRows = new int[16];
+    private int freeCount;
+    private int rowCount;
+
+    public PersonaColumns() {
+        Arrays.fill(minDay, Integer.MAX_VALUE);
+        Arrays.fill(maxDay, NULL);
+    }
+
+    /**
+     * Añade o reemplaza una persona.
+     *
+     * @param persona Persona con los valores actuales
+     */
+    public void put(Persona persona) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = rowById.get(persona.getId());
+            int row = existing != null ? existing : allocate(persona.getId());
+            setDay(DateColumn.FECHA_NACIMIENTO, row, persona.getFechaNacimiento());
+            LocalDateTime creadoEn = persona.getCreadoEn();
+            setDay(DateColumn.CREADO_EN, row, creadoEn != null ? creadoEn.toLocalDate() : null);
+            String domain = emailDomain(persona.getCorreo());
+            emailDomainCodes[row] = domain != null ? emailDomains.encode(domain) : NULL;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina una persona; su fila queda libre para la siguiente alta.
+     *
+     * @param id ID de la persona
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowById.remove(id);
+            if (row == null) {
+                return;
+            }
+            live[row] = false;
+            if (freeCount == freeRows.length) {
+                freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+            }
+            freeRows[freeCount++] = row;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Número de personas en la copia
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cuenta las personas por día de una columna de fecha.
+     *
+     * @param column  Columna de fecha
+     * @param fromDay Primer día (días desde 1970-01-01)
+     * @param toDay   Último día, incluido
+     * @return Un grupo por día, empezando por fromDay
+     */
+    public Histogram countByDay(DateColumn column, int fromDay, int toDay) {
+        if (toDay < fromDay) {
+            throw new IllegalArgumentException("El último día no puede ser anterior al primero");
+        }
+        int groups = Math.toIntExact((long) toDay - fromDay + 1);
+        lock.readLock().lock();
+        try {
+            return histogram(fromDay, days[column.ordinal()], groups, day -> day - fromDay, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cuenta las personas por año de una columna de fecha, entre el año más antiguo y
+     * el más reciente que han aparecido en ella.
+     *
+     * @param column Columna de fecha
+     * @return Un grupo por año, empezando por el más antiguo (sin grupos si la columna está vacía)
+     */
+    public Histogram countByYear(DateColumn column) {
+        lock.readLock().lock();
+        try {
+            int[] values = days[column.ordinal()];
+            if (minDay[column.ordinal()] > maxDay[column.ordinal()]) {
+                return histogram(0, values, 0, day -> -1, null);
+            }
+            int firstYear = LocalDate.ofEpochDay(minDay[column.ordinal()]).getYear();
+            int lastYear = LocalDate.ofEpochDay(maxDay[column.ordinal()]).getYear();
+            int[] yearStarts = new int[lastYear - firstYear + 2];
+            for (int year = firstYear; year <= lastYear + 1; year++) {
+                yearStarts[year - firstYear] = (int) LocalDate.of(year, 1, 1).toEpochDay();
+            }
+            return histogram(firstYear, values, yearStarts.length - 1, day -> rangeOf(yearStarts, day), null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cuenta las personas por rangos de días de una columna de fecha.
+     *
+     * @param column Columna de fecha
+     * @param bounds Límites ascendentes: el grupo i va de bounds[i] (incluido) a bounds[i + 1] (excluido)
+     * @return Un grupo por rango, en el orden de bounds
+     */
+    public Histogram countByRange(DateColumn column, int[] bounds) {
+        for (int i = 1; i < bounds.length; i++) {
+            if (bounds[i] <= bounds[i - 1]) {
+                throw new IllegalArgumentException("Los límites de los rangos deben ser ascendentes");
+            }
+        }
+        int[] ranges = bounds.clone();
+        lock.readLock().lock();
+        try {
+            return histogram(0, days[column.ordinal()], Math.max(0, ranges.length - 1),
+                    day -> rangeOf(ranges, day), null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cuenta las personas por dominio del correo (en minúsculas).
+     *
+     * @return Un grupo por dominio, en orden de código, con el dominio en labels
+     */
+    public Histogram countByEmailDomain() {
+        lock.readLock().lock();
+        try {
+            return histogram(0, emailDomainCodes, emailDomains.size(), IntUnaryOperator.identity(), emailDomains.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recuento común, con el bloqueo de lectura ya tomado. Las filas libres no cuentan;
+     * las que no tienen dato o caen fuera de los grupos se suman en missing.
+     */
+    private Histogram histogram(int first, int[] values, int groups, IntUnaryOperator groupOfValue, List<String> labels) {
+        boolean[] rowIsLive = live;
+        long[] counts = GroupCounter.count(rowCount, groups + 1, row -> {
+            if (!rowIsLive[row]) {
+                return -1;
+            }
+            int value = values[row];
+            int group = value == NULL ? groups : groupOfValue.applyAsInt(value);
+            return group >= 0 && group < groups ? group : groups;
+        });
+        return new Histogram(first, Arrays.copyOf(counts, groups), counts[groups], rowById.size(), labels);
+    }
+
+    /**
+     * @return Índice del rango [bounds[i], bounds[i + 1]) que contiene el valor, o -1 si no está en ninguno
+     */
+    private static int rangeOf(int[] bounds, int value) {
+        int position = Arrays.binarySearch(bounds, value);
+        int range = position >= 0 ? position : -position - 2;
+        return range < bounds.length - 1 ? range : -1;
+    }
+
+    private int allocate(Long id) {
+        int row;
+        if (freeCount > 0) {
+            row = freeRows[--freeCount];
+        } else {
+            if (rowCount == live.length) {
+                grow();
+            }
+            row = rowCount++;
+        }
+        live[row] = true;
+        rowById.put(id, row);
+        return row;
+    }
+
+    private void grow() {
+        int capacity = live.length * 2;
+        live = Arrays.copyOf(live, capacity);
+        for (int column = 0; column < days.length; column++) {
+            days[column] = Arrays.copyOf(days[column], capacity);
+        }
+        emailDomainCodes = Arrays.copyOf(emailDomainCodes, capacity);
+    }
+
+    private void setDay(DateColumn column, int row, LocalDate date) {
+        if (date == null) {
+            days[column.ordinal()][row] = NULL;
+            return;
+        }
+        int day = Math.toIntExact(date.toEpochDay());
+        days[column.ordinal()][row] = day;
+        minDay[column.ordinal()] = Math.min(minDay[column.ordinal()], day);
+        maxDay[column.ordinal()] = Math.max(maxDay[column.ordinal()], day);
+    }
+
+    /**
+     * @return Dominio del correo en minúsculas, o null si el correo no tiene
+     */
+    static String emailDomain(String correo) {
+        if (correo == null) {
+            return null;
+        }
+        int at = correo.lastIndexOf('@');
+        if (at < 0 || at == correo.length() - 1) {
+            return null;
+        }
+        return correo.substring(at + 1).trim().toLowerCase(Locale.ROOT);
+    }
+}
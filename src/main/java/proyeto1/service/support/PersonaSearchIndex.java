@@ -0,0 +1,57 @@
+package proyeto1.service.support;
+
+import org.springframework.stereotype.Component;
+import proyeto1.model.Persona;
+import proyeto1.util.TrigramIndex;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Índice de búsqueda por nombre y apellido, insensible a tildes y mayúsculas.
+ *
+ * Indexa "nombre apellido" de cada persona en un índice de trigramas en memoria,
+ * de modo que las búsquedas por subcadena ("perez" encuentra "Pérez") no
+ * recorren la tabla con LIKE '%x%'. Se actualiza con cada escritura del servicio.
+ *
+ * @version 1.0
+ */
+@Component
+public class PersonaSearchIndex extends AbstractPersonaIndex<TrigramIndex> {
+
+    public PersonaSearchIndex(PersonaTableScanner tableScanner) {
+        super(tableScanner);
+    }
+
+    /**
+     * Busca personas cuyo nombre o apellido contienen todas las palabras de la consulta.
+     *
+     * @param query Texto a buscar
+     * @param limit Número máximo de resultados
+     * @return IDs ordenados por relevancia, o vacío si el índice aún no está construido
+     */
+    public Optional<List<Long>> search(String query, int limit) {
+        TrigramIndex index = current();
+        return index != null ? Optional.of(index.search(query, limit)) : Optional.empty();
+    }
+
+    @Override
+    protected TrigramIndex createIndex() {
+        return new TrigramIndex();
+    }
+
+    @Override
+    protected void put(TrigramIndex index, Persona persona) {
+        index.put(persona.getId(), persona.getNombre() + " " + persona.getApellido());
+    }
+
+    @Override
+    protected void remove(TrigramIndex index, Persona persona) {
+        index.remove(persona.getId());
+    }
+
+    @Override
+    protected String name() {
+        return "Índice de búsqueda por nombre";
+    }
+}
@@ -0,0 +1,269 @@
+package proyeto1.service.support;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import proyeto1.datasource.ShardRouting;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Reparto de las personas entre fragmentos (shards) y ejecución de consultas en ellos.
+ *
+ * Cada persona vive en el fragmento que indica el hash de su documento de identidad,
+ * de modo que la unicidad del documento la sigue garantizando la base de datos de su
+ * fragmento. Su ID codifica el fragmento en los bits altos (firstId), así que las
+ * búsquedas por ID o por documento van a un único fragmento, y los IDs de un fragmento
+ * son siempre menores que los del siguiente.
+ *
+ * Las consultas que recorren todas las personas se lanzan en paralelo, una por
+ * fragmento, en hilos virtuales (fanOut), y el llamante combina los resultados.
+ *
+ * Las lecturas usan readOnly y fanOutReadOnly: sin una transacción de solo lectura,
+ * las consultas declaradas en el repositorio no marcan la conexión como de solo lectura
+ * y no llegan a las réplicas (ver ReadReplicaConfig).
+ *
+ * Con un único fragmento (fragmentación desactivada) todo se ejecuta en el hilo del
+ * llamante y sin fijar fragmento, exactamente como antes de existir esta clase.
+ *
+ * El reparto no debe cambiar una vez hay datos: un cambio de hash o de número de
+ * fragmentos dejaría cada persona en un fragmento distinto del que se consulta.
+ *
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class PersonaShards {
+
+    /**
+     * Bits bajos del ID reservados a la secuencia de cada fragmento.
+     */
+    public static final int SHARD_SHIFT = 48;
+
+    /**
+     * Con 32 fragmentos como máximo, los IDs no pasan de 2^53 y siguen siendo exactos
+     * como número en JavaScript.
+     */
+    public static final int MAX_SHARDS = 32;
+
+    private final int count;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService executor;
+
+    public PersonaShards(@Value("${persona.sharding.enabled:false}") boolean enabled,
+                         @Value("${persona.sharding.urls:}") List<String> urls,
+                         PlatformTransactionManager transactionManager) {
+        int count = enabled ? urls.size() : 1;
+        if (count < 1 || count > MAX_SHARDS) {
+            throw new IllegalArgumentException("El número de fragmentos debe estar entre 1 y " + MAX_SHARDS);
+        }
+        this.count = count;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.executor = count > 1 ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        if (count > 1) {
+            log.info("Personas repartidas en {} fragmentos", count);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * @return Número de fragmentos
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * @return true si hay más de un fragmento
+     */
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    /**
+     * @param documentoIdentidad Documento de identidad
+     * @return Fragmento en el que vive (o vivirá) la persona con ese documento
+     */
+    public int forDocumento(String documentoIdentidad) {
+        if (count == 1) {
+            return 0;
+        }
+        // String.hashCode está definido por la especificación: el reparto no cambia entre JVM
+        int hash = documentoIdentidad.hashCode() * 0x9E3779B9;
+        return Math.floorMod(hash ^ (hash >>> 16), count);
+    }
+
+    /**
+     * Un ID fuera del rango de todos los fragmentos no puede existir: se dirige a
+     * cualquiera de ellos y la consulta no encuentra nada.
+     *
+     * @param id ID de una persona
+     * @return Fragmento en el que vive la persona con ese ID
+     */
+    public int forId(long id) {
+        if (count == 1) {
+            return 0;
+        }
+        return (int) Math.floorMod(id >>> SHARD_SHIFT, (long) count);
+    }
+
+    /**
+     * @param shard Fragmento
+     * @return Primer valor del rango de IDs del fragmento
+     */
+    public static long firstId(int shard) {
+        return (long) shard << SHARD_SHIFT;
+    }
+
+    /**
+     * Ejecuta una operación en un fragmento. La transacción, si la hay, debe empezar
+     * dentro de la operación.
+     *
+     * @param shard  Fragmento
+     * @param action Operación a ejecutar
+     * @param <T>    Tipo del resultado
+     * @return Resultado de la operación
+     */
+    public <T> T on(int shard, Supplier<T> action) {
+        return count == 1 ? action.get() : ShardRouting.on(shard, action);
+    }
+
+    /**
+     * Ejecuta una operación sin resultado en un fragmento.
+     *
+     * @param shard  Fragmento
+     * @param action Operación a ejecutar
+     */
+    public void run(int shard, Runnable action) {
+        on(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Ejecuta una operación en una transacción de solo lectura en un fragmento.
+     *
+     * @param shard  Fragmento
+     * @param action Operación a ejecutar
+     * @param <T>    Tipo del resultado
+     * @return Resultado de la operación
+     */
+    public <T> T readOnly(int shard, Supplier<T> action) {
+        return on(shard, () -> readOnlyTransaction.execute(status -> action.get()));
+    }
+
+    /**
+     * Ejecuta una consulta en todos los fragmentos en paralelo.
+     *
+     * @param query Consulta a ejecutar en cada fragmento (recibe el fragmento)
+     * @param <T>   Tipo del resultado de cada fragmento
+     * @return Resultados en orden de fragmento
+     */
+    public <T> List<T> fanOut(IntFunction<T> query) {
+        return fanOut(IntStream.range(0, count).boxed().toList(), query);
+    }
+
+    /**
+     * Ejecuta una consulta en todos los fragmentos en paralelo, cada una en una
+     * transacción de solo lectura.
+     *
+     * @param query Consulta a ejecutar en cada fragmento (recibe el fragmento)
+     * @param <T>   Tipo del resultado de cada fragmento
+     * @return Resultados en orden de fragmento
+     */
+    public <T> List<T> fanOutReadOnly(IntFunction<T> query) {
+        return fanOut(shard -> readOnlyTransaction.execute(status -> query.apply(shard)));
+    }
+
+    /**
+     * Ejecuta una consulta en los fragmentos indicados en paralelo, cada una en una
+     * transacción de solo lectura.
+     *
+     * @param shards Fragmentos en los que ejecutar la consulta
+     * @param query  Consulta a ejecutar en cada fragmento (recibe el fragmento)
+     * @param <T>    Tipo del resultado de cada fragmento
+     * @return Resultados en el orden de los fragmentos indicados
+     */
+    public <T> List<T> fanOutReadOnly(Collection<Integer> shards, IntFunction<T> query) {
+        return fanOut(shards, shard -> readOnlyTransaction.execute(status -> query.apply(shard)));
+    }
+
+    /**
+     * Ejecuta una consulta en los fragmentos indicados en paralelo. Si alguna falla,
+     * se lanza su excepción una vez terminadas todas.
+     *
+     * @param shards Fragmentos en los que ejecutar la consulta
+     * @param query  Consulta a ejecutar en cada fragmento (recibe el fragmento)
+     * @param <T>    Tipo del resultado de cada fragmento
+     * @return Resultados en el orden de los fragmentos indicados
+     */
+    public <T> List<T> fanOut(Collection<Integer> shards, IntFunction<T> query) {
+        if (shards.size() <= 1) {
+            return shards.stream().map(shard -> on(shard, () -> query.apply(shard))).toList();
+        }
+        List<Future<T>> futures = new ArrayList<>(shards.size());
+        for (Integer shard : shards) {
+            futures.add(executor.submit(() -> ShardRouting.on(shard, () -> query.apply(shard))));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        RuntimeException failure = null;
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException ex) {
+                if (failure == null) {
+                    failure = ex.getCause() instanceof RuntimeException cause
+                            ? cause
+                            : new IllegalStateException("Falló la consulta en un fragmento", ex.getCause());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                futures.forEach(pending -> pending.cancel(true));
+                throw new IllegalStateException("Interrumpido esperando a los fragmentos", ex);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    /**
+     * Agrupa elementos por fragmento.
+     *
+     * @param items   Elementos a agrupar
+     * @param shardOf Fragmento de cada elemento
+     * @param <K>     Tipo de los elementos
+     * @return Elementos de cada fragmento, en orden de fragmento y conservando el orden original
+     */
+    public <K> Map<Integer, List<K>> partition(Collection<K> items, ToIntFunction<K> shardOf) {
+        Map<Integer, List<K>> byShard = new TreeMap<>();
+        for (K item : items) {
+            byShard.computeIfAbsent(shardOf.applyAsInt(item), shard -> new ArrayList<>()).add(item);
+        }
+        return byShard;
+    }
+}
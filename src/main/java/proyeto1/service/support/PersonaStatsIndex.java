@@ -0,0 +1,201 @@
+package proyeto1.service.support;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import proyeto1.model.Persona;
+import proyeto1.model.response.PersonaStats;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Copia columnar de las personas para las estadísticas demográficas: recuentos por año
+ * de nacimiento, rango de edad, dominio del correo y altas por día.
+ *
+ * Los recuentos se resuelven sobre PersonaColumns, en paralelo y sin consultar la base
+ * de datos. Como el resto de estructuras en memoria, se construye al arrancar y se
+ * actualiza con cada escritura del servicio.
+ *
+ * @version 1.0
+ */
+@Component
+public class PersonaStatsIndex extends AbstractPersonaIndex<PersonaColumns> {
+
+    public static final String BIRTH_YEAR = "birthYear";
+    public static final String AGE_BAND = "ageBand";
+    public static final String EMAIL_DOMAIN = "emailDomain";
+    public static final String CREATED_DAY = "createdDay";
+
+    private final PersonaTableScanner tableScanner;
+    private final int[] ageBands;
+    private final int maxDays;
+
+    public PersonaStatsIndex(PersonaTableScanner tableScanner,
+                             @Value("${persona.stats.age-bands:18,30,45,65}") int[] ageBands,
+                             @Value("${persona.stats.max-days:3660}") int maxDays) {
+        super(tableScanner);
+        for (int i = 0; i < ageBands.length; i++) {
+            if (ageBands[i] < 1 || (i > 0 && ageBands[i] <= ageBands[i - 1])) {
+                throw new IllegalStateException("persona.stats.age-bands debe ser una lista ascendente de edades mayores que cero");
+            }
+        }
+        this.tableScanner = tableScanner;
+        this.ageBands = ageBands.clone();
+        this.maxDays = maxDays;
+    }
+
+    /**
+     * Cuenta las personas agrupadas por un dato demográfico.
+     *
+     * @param groupBy Dato por el que agrupar: birthYear, ageBand, emailDomain o createdDay
+     * @param from    Primer día de alta (solo createdDay)
+     * @param to      Último día de alta, incluido (solo createdDay)
+     * @param limit   Número máximo de dominios, los de más personas primero (solo emailDomain)
+     * @return Recuento, o vacío si la copia aún no está construida
+     * @throws IllegalArgumentException si el dato o el rango de días no son válidos
+     */
+    public Optional<PersonaStats> aggregate(String groupBy, LocalDate from, LocalDate to, int limit) {
+        PersonaColumns columns = current();
+        return columns != null ? Optional.of(aggregate(columns, groupBy, from, to, limit)) : Optional.empty();
+    }
+
+    /**
+     * Igual que aggregate(), pero sobre una copia construida en el momento recorriendo
+     * la tabla. Para cuando la copia aún no está disponible.
+     */
+    public PersonaStats aggregateFromTable(String groupBy, LocalDate from, LocalDate to, int limit) {
+        validate(groupBy, from, to);
+        PersonaColumns columns = new PersonaColumns();
+        tableScanner.scan(columns::put);
+        return aggregate(columns, groupBy, from, to, limit);
+    }
+
+    private PersonaStats aggregate(PersonaColumns columns, String groupBy, LocalDate from, LocalDate to, int limit) {
+        validate(groupBy, from, to);
+        return switch (groupBy) {
+            case BIRTH_YEAR -> byBirthYear(columns);
+            case AGE_BAND -> byAgeBand(columns, LocalDate.now());
+            case EMAIL_DOMAIN -> byEmailDomain(columns, limit);
+            default -> byCreatedDay(columns, from, to);
+        };
+    }
+
+    private void validate(String groupBy, LocalDate from, LocalDate to) {
+        if (!List.of(BIRTH_YEAR, AGE_BAND, EMAIL_DOMAIN, CREATED_DAY).contains(groupBy)) {
+            throw new IllegalArgumentException("Agrupación desconocida: " + groupBy
+                    + ". Agrupaciones disponibles: " + String.join(", ", BIRTH_YEAR, AGE_BAND, EMAIL_DOMAIN, CREATED_DAY));
+        }
+        if (CREATED_DAY.equals(groupBy)) {
+            if (to.isBefore(from)) {
+                throw new IllegalArgumentException("La fecha final no puede ser anterior a la inicial");
+            }
+            if (to.toEpochDay() - from.toEpochDay() >= maxDays) {
+                throw new IllegalArgumentException("El rango de fechas supera el máximo de " + maxDays + " días");
+            }
+        }
+    }
+
+    private PersonaStats byBirthYear(PersonaColumns columns) {
+        PersonaColumns.Histogram histogram = columns.countByYear(PersonaColumns.DateColumn.FECHA_NACIMIENTO);
+        List<PersonaStats.Group> groups = new ArrayList<>(histogram.counts().length);
+        for (int i = 0; i < histogram.counts().length; i++) {
+            groups.add(new PersonaStats.Group(String.valueOf(histogram.first() + i), histogram.counts()[i]));
+        }
+        return stats(BIRTH_YEAR, histogram, groups);
+    }
+
+    /**
+     * Los rangos de edad se traducen a rangos de fecha de nacimiento: se tiene al menos
+     * N años si se nació como muy tarde hoy hace N años. Los rangos de fechas quedan en
+     * orden inverso al de las edades.
+     */
+    private PersonaStats byAgeBand(PersonaColumns columns, LocalDate today) {
+        int bands = ageBands.length;
+        int[] bounds = new int[bands + 2];
+        bounds[0] = PersonaColumns.NULL + 1;
+        for (int i = 0; i < bands; i++) {
+            bounds[i + 1] = (int) today.minusYears(ageBands[bands - 1 - i]).plusDays(1).toEpochDay();
+        }
+        bounds[bands + 1] = (int) today.plusDays(1).toEpochDay();
+        PersonaColumns.Histogram histogram = columns.countByRange(PersonaColumns.DateColumn.FECHA_NACIMIENTO, bounds);
+
+        List<PersonaStats.Group> groups = new ArrayList<>(bands + 1);
+        for (int band = 0; band <= bands; band++) {
+            int fromAge = band == 0 ? 0 : ageBands[band - 1];
+            String key = band == bands ? fromAge + "+" : fromAge + "-" + (ageBands[band] - 1);
+            groups.add(new PersonaStats.Group(key, histogram.counts()[bands - band]));
+        }
+        return stats(AGE_BAND, histogram, groups);
+    }
+
+    private PersonaStats byEmailDomain(PersonaColumns columns, int limit) {
+        PersonaColumns.Histogram histogram = columns.countByEmailDomain();
+        List<PersonaStats.Group> groups = new ArrayList<>();
+        for (int code = 0; code < histogram.counts().length; code++) {
+            if (histogram.counts()[code] > 0) {
+                groups.add(new PersonaStats.Group(histogram.labels().get(code), histogram.counts()[code]));
+            }
+        }
+        groups.sort(Comparator.comparingLong(PersonaStats.Group::getCount).reversed()
+                .thenComparing(PersonaStats.Group::getKey));
+        if (groups.size() <= limit) {
+            return stats(EMAIL_DOMAIN, histogram, groups);
+        }
+        // Las personas de los dominios que no se devuelven cuentan como fuera de los grupos
+        long leftOut = groups.subList(limit, groups.size()).stream().mapToLong(PersonaStats.Group::getCount).sum();
+        PersonaStats stats = stats(EMAIL_DOMAIN, histogram, groups.subList(0, limit));
+        stats.setMissing(stats.getMissing() + leftOut);
+        return stats;
+    }
+
+    private PersonaStats byCreatedDay(PersonaColumns columns, LocalDate from, LocalDate to) {
+        PersonaColumns.Histogram histogram = columns.countByDay(PersonaColumns.DateColumn.CREADO_EN,
+                (int) from.toEpochDay(), (int) to.toEpochDay());
+        List<PersonaStats.Group> groups = new ArrayList<>(histogram.counts().length);
+        for (int i = 0; i < histogram.counts().length; i++) {
+            groups.add(new PersonaStats.Group(from.plusDays(i).toString(), histogram.counts()[i]));
+        }
+        return stats(CREATED_DAY, histogram, groups);
+    }
+
+    private static PersonaStats stats(String groupBy, PersonaColumns.Histogram histogram, List<PersonaStats.Group> groups) {
+        return PersonaStats.builder()
+                .groupBy(groupBy)
+                .total(histogram.total())
+                .missing(histogram.missing())
+                .groups(List.copyOf(groups))
+                .build();
+    }
+
+    @Override
+    protected PersonaColumns createIndex() {
+        return new PersonaColumns();
+    }
+
+    @Override
+    protected void put(PersonaColumns index, Persona persona) {
+        index.put(persona);
+    }
+
+    @Override
+    protected void remove(PersonaColumns index, Persona persona) {
+        index.remove(persona.getId());
+    }
+
+    /**
+     * Solo la fecha de nacimiento y el correo pueden modificarse parcialmente
+     * (la fecha de alta no cambia).
+     */
+    @Override
+    public boolean affectedBy(Persona changes) {
+        return changes.getFechaNacimiento() != null || changes.getCorreo() != null;
+    }
+
+    @Override
+    protected String name() {
+        return "Copia columnar de estadísticas";
+    }
+}
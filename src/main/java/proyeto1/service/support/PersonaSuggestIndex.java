@@ -0,0 +1,132 @@
+package proyeto1.service.support;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import proyeto1.model.Persona;
+import proyeto1.model.response.PersonaSuggestion;
+import proyeto1.util.RadixTrie;
+import proyeto1.util.TextNormalizer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Índice de autocompletado por prefijo de "nombre apellido".
+ *
+ * Guarda el texto normalizado (sin tildes, en minúsculas) de cada persona en un
+ * árbol radix y, aparte, el nombre para mostrar de cada ID, de modo que una
+ * sugerencia se responde sin consultar la base de datos ni cargar entidades.
+ * Se actualiza con cada escritura del servicio.
+ *
+ * El tamaño estimado del índice se publica en Micrometer como
+ * "personas.suggest.index.bytes" y "personas.suggest.index.nodes". Los totales se
+ * mantienen en cada escritura, por lo que leer las métricas no recorre el índice.
+ *
+ * @version 1.0
+ */
+@Component
+public class PersonaSuggestIndex extends AbstractPersonaIndex<PersonaSuggestIndex.Suggestions> {
+
+    public PersonaSuggestIndex(PersonaTableScanner tableScanner, MeterRegistry meterRegistry) {
+        super(tableScanner);
+        Gauge.builder("personas.suggest.index.bytes", this, index -> index.footprint().estimatedBytes())
+                .description("Memoria estimada del índice de autocompletado")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("personas.suggest.index.nodes", this, index -> index.footprint().trie().nodes())
+                .description("Nodos del árbol radix del índice de autocompletado")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Devuelve las personas cuyo "nombre apellido" empieza por el prefijo.
+     *
+     * @param prefix Prefijo escrito por el usuario (se normaliza igual que los nombres)
+     * @param limit  Número máximo de sugerencias
+     * @return Sugerencias en orden alfabético, o vacío si el índice aún no está construido
+     */
+    public Optional<List<PersonaSuggestion>> suggest(String prefix, int limit) {
+        Suggestions index = current();
+        if (index == null) {
+            return Optional.empty();
+        }
+        List<PersonaSuggestion> suggestions = index.trie.prefixSearch(TextNormalizer.normalize(prefix), limit).stream()
+                .map(id -> {
+                    String displayName = index.displayNames.get(id);
+                    return displayName != null ? new PersonaSuggestion(id, displayName) : null;
+                })
+                .filter(Objects::nonNull)
+                .toList();
+        return Optional.of(suggestions);
+    }
+
+    /**
+     * @return Tamaño del índice vigente (todo a cero mientras se construye)
+     */
+    public Footprint footprint() {
+        Suggestions index = current();
+        if (index == null) {
+            return new Footprint(new RadixTrie.Footprint(0, 0, 0), 0, 0);
+        }
+        RadixTrie.Footprint trie = index.trie.footprint();
+        long names = index.displayNames.size();
+        long nameChars = index.nameChars.sum();
+        // Por nombre: entrada del mapa (32) + Long (16) + String (24) + cabecera del array (16)
+        long namesBytes = names * (32 + 16 + 24 + 16) + nameChars;
+        return new Footprint(trie, names, trie.estimatedBytes() + namesBytes);
+    }
+
+    /**
+     * Tamaño del árbol radix, número de nombres guardados y memoria total estimada.
+     */
+    public record Footprint(RadixTrie.Footprint trie, long names, long estimatedBytes) {
+    }
+
+    @Override
+    protected Suggestions createIndex() {
+        return new Suggestions();
+    }
+
+    @Override
+    protected void put(Suggestions index, Persona persona) {
+        remove(index, persona);
+        String displayName = persona.getNombre() + " " + persona.getApellido();
+        index.trie.put(TextNormalizer.normalize(displayName), persona.getId());
+        index.displayNames.put(persona.getId(), displayName);
+        index.nameChars.add(displayName.length());
+    }
+
+    /**
+     * Elimina la clave guardada para el ID, que puede no coincidir con el nombre
+     * de la persona recibida si esta ya trae el estado nuevo.
+     */
+    @Override
+    protected void remove(Suggestions index, Persona persona) {
+        String displayName = index.displayNames.remove(persona.getId());
+        if (displayName != null) {
+            index.nameChars.add(-displayName.length());
+            index.trie.remove(TextNormalizer.normalize(displayName), persona.getId());
+        }
+    }
+
+    @Override
+    protected String name() {
+        return "Índice de autocompletado";
+    }
+
+    /**
+     * Árbol radix de claves normalizadas, nombres para mostrar por ID y la suma de la
+     * longitud de esos nombres.
+     */
+    static final class Suggestions {
+
+        private final RadixTrie trie = new RadixTrie();
+        private final Map<Long, String> displayNames = new ConcurrentHashMap<>();
+        private final LongAdder nameChars = new LongAdder();
+    }
+}
@@ -0,0 +1,80 @@
+package proyeto1.service.support;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import proyeto1.datasource.ReadRouting;
+import proyeto1.model.Persona;
+import proyeto1.repository.PersonaRepository;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Lee la tabla de personas para construir y mantener las estructuras en memoria
+ * (índices, filtros...).
+ *
+ * Usa el cursor de solo avance del repositorio dentro de una transacción de solo
+ * lectura y separa cada entidad del contexto de persistencia tras entregarla,
+ * de modo que el recorrido no acumula memoria. Las lecturas usan siempre una
+ * transacción nueva, independiente de la que pudiera estar en curso.
+ *
+ * Con réplicas de lectura, las lecturas van a la base de datos principal: tras un
+ * commit, una réplica podría devolver todavía el estado anterior. Con fragmentación,
+ * el recorrido pasa por los fragmentos uno tras otro, en orden de ID.
+ *
+ * @version 1.0
+ */
+@Component
+public class PersonaTableScanner {
+
+    private final PersonaRepository personaRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final EntityManager entityManager;
+    private final PersonaShards shards;
+
+    public PersonaTableScanner(PersonaRepository personaRepository,
+                               PlatformTransactionManager transactionManager,
+                               EntityManager entityManager,
+                               PersonaShards shards) {
+        this.personaRepository = personaRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.entityManager = entityManager;
+        this.shards = shards;
+    }
+
+    /**
+     * Entrega cada persona de la tabla al consumidor, en orden de ID.
+     *
+     * @param consumer Consumidor de cada persona (la entidad se separa al volver)
+     * @return Número de personas recorridas
+     */
+    public long scan(Consumer<Persona> consumer) {
+        long total = 0;
+        for (int shard = 0; shard < shards.count(); shard++) {
+            total += shards.on(shard, () -> scanShard(consumer));
+        }
+        return total;
+    }
+
+    private long scanShard(Consumer<Persona> consumer) {
+        Long count = ReadRouting.onPrimary(() -> readOnlyTransaction.execute(status -> {
+            long rows = 0;
+            try (Stream<Persona> personas = personaRepository.streamAllOrderById()) {
+                var iterator = personas.iterator();
+                while (iterator.hasNext()) {
+                    Persona persona = iterator.next();
+                    consumer.accept(persona);
+                    entityManager.detach(persona);
+                    rows++;
+                }
+            }
+            return rows;
+        }));
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,131 @@
+package proyeto1.service.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import proyeto1.event.PersonaChangedEvent;
+import proyeto1.model.Persona;
+import proyeto1.repository.PersonaRepository;
+import proyeto1.util.BloomFilter;
+
+import java.util.stream.Stream;
+
+/**
+ * Filtro de pertenencia en memoria para las columnas únicas de Persona
+ * (documento de identidad y correo electrónico).
+ *
+ * Antes de cada escritura, el servicio consulta el filtro: si responde que el valor
+ * no existe, se omite la consulta a la base de datos; solo los posibles duplicados
+ * pasan a la comprobación real con existsBy... La restricción UNIQUE de la tabla
+ * sigue siendo la garantía final ante escrituras concurrentes.
+ *
+ * El filtro se construye al arrancar recorriendo las claves existentes y se
+ * actualiza con cada alta o modificación. Mientras no está listo, responde
+ * siempre "puede existir" para no saltarse ninguna comprobación.
+ *
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class PersonaUniquenessFilter {
+
+    private final PersonaRepository personaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PersonaShards shards;
+    private final BloomFilter documentos;
+    private final BloomFilter correos;
+    private final Counter skipped;
+    private final Counter checked;
+    private volatile boolean ready;
+
+    public PersonaUniquenessFilter(PersonaRepository personaRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   PersonaShards shards,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${persona.unique-filter.expected-insertions:1000000}") long expectedInsertions,
+                                   @Value("${persona.unique-filter.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.personaRepository = personaRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.shards = shards;
+        this.documentos = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        this.correos = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        this.skipped = Counter.builder("personas.unique.filter")
+                .description("Comprobaciones de unicidad resueltas por el filtro sin consultar la base de datos")
+                .tag("result", "skipped")
+                .register(meterRegistry);
+        this.checked = Counter.builder("personas.unique.filter")
+                .description("Comprobaciones de unicidad que requirieron consultar la base de datos")
+                .tag("result", "checked")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Carga en el filtro todas las claves existentes al arrancar la aplicación, de
+     * todos los fragmentos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.nanoTime();
+        long[] count = {0};
+        for (int shard = 0; shard < shards.count(); shard++) {
+            shards.run(shard, () -> transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<PersonaRepository.UniqueKeys> keys = personaRepository.streamAllUniqueKeys()) {
+                    keys.forEach(key -> {
+                        documentos.put(key.getDocumentoIdentidad());
+                        correos.put(key.getCorreo());
+                        count[0]++;
+                    });
+                }
+            }));
+        }
+        ready = true;
+        log.info("Filtro de unicidad construido con {} personas en {} ms ({} bits, {} funciones hash)",
+                count[0], (System.nanoTime() - start) / 1_000_000, documentos.bitSize(), documentos.hashFunctions());
+    }
+
+    /**
+     * Registra las claves de una persona creada o modificada.
+     *
+     * Se ejecuta de forma síncrona dentro de la transacción de escritura, de modo que
+     * el valor ya está en el filtro antes de que la fila sea visible para otros.
+     * Si la transacción se deshace el valor queda como falso positivo, lo cual es inocuo.
+     */
+    @EventListener
+    public void onPersonaChanged(PersonaChangedEvent event) {
+        // En las modificaciones parciales basta con los campos modificados (el estado nuevo
+        // puede no venir): las claves que no cambian ya están en el filtro
+        Persona keys = event.type() == PersonaChangedEvent.ChangeType.PATCHED ? event.changes() : event.after();
+        if (keys != null && keys.getDocumentoIdentidad() != null) {
+            documentos.put(keys.getDocumentoIdentidad());
+        }
+        if (keys != null && keys.getCorreo() != null) {
+            correos.put(keys.getCorreo());
+        }
+    }
+
+    /**
+     * @param documentoIdentidad Documento a comprobar
+     * @return false si el documento seguro que no está registrado
+     */
+    public boolean mightContainDocumento(String documentoIdentidad) {
+        return record(!ready || documentos.mightContain(documentoIdentidad));
+    }
+
+    /**
+     * @param correo Correo a comprobar
+     * @return false si el correo seguro que no está registrado
+     */
+    public boolean mightContainCorreo(String correo) {
+        return record(!ready || correos.mightContain(correo));
+    }
+
+    private boolean record(boolean mightContain) {
+        (mightContain ? checked : skipped).increment();
+        return mightContain;
+    }
+}
@@ -0,0 +1,42 @@
+package proyeto1.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Endpoint de Actuator para escribir una instantánea de la tabla de personas:
+ * POST /actuator/snapshot.
+ *
+ * El fichero se escribe en persona.storage.snapshot-path y puede usarse después como
+ * persona.storage.restore-from para arrancar otro nodo con los mismos datos.
+ *
+ * @version 1.0
+ */
+@Component
+@Endpoint(id = "snapshot")
+public class PersonaSnapshotEndpoint {
+
+    private final PersonaSnapshotService snapshotService;
+    private final Path snapshotPath;
+
+    public PersonaSnapshotEndpoint(PersonaSnapshotService snapshotService,
+                                   @Value("${persona.storage.snapshot-path:./data/personas.snapshot}") Path snapshotPath) {
+        this.snapshotService = snapshotService;
+        this.snapshotPath = snapshotPath;
+    }
+
+    @WriteOperation
+    public PersonaSnapshotService.SnapshotResult snapshot() {
+        try {
+            return snapshotService.write(snapshotPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir la instantánea " + snapshotPath, e);
+        }
+    }
+}
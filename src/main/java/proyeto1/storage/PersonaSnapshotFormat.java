@@ -0,0 +1,215 @@
+package proyeto1.storage;
+
+import proyeto1.model.Persona;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Formato binario de las instantáneas de la tabla de personas.
+ *
+ * Cada fila se escribe con tipos de tamaño fijo (IDs y versión como long, fechas como
+ * días o segundos desde epoch) y textos en UTF-8 modificado, precedida de un byte de
+ * presencia para las columnas opcionales. El fichero completo va comprimido con GZIP.
+ *
+ * Estructura: cabecera (MAGIC, versión del formato), filas (ROW + datos) y cierre
+ * (END + número de filas), que permite detectar ficheros truncados al restaurar.
+ *
+ * @version 1.0
+ */
+public final class PersonaSnapshotFormat {
+
+    /**
+     * "PSNP" en ASCII.
+     */
+    static final int MAGIC = 0x50534E50;
+    static final int FORMAT_VERSION = 1;
+
+    private static final byte ROW = 1;
+    private static final byte END = 0;
+
+    private static final int HAS_TELEFONO = 1;
+    private static final int HAS_DIRECCION = 1 << 1;
+    private static final int HAS_CREADO_EN = 1 << 2;
+    private static final int HAS_ACTUALIZADO_EN = 1 << 3;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private PersonaSnapshotFormat() {
+    }
+
+    /**
+     * Escribe una instantánea fila a fila.
+     */
+    public static final class Writer implements Closeable {
+
+        private final DataOutputStream out;
+        private long rows;
+
+        /**
+         * @param target Flujo de destino (se cierra al cerrar el escritor)
+         * @throws IOException si no se puede escribir la cabecera
+         */
+        public Writer(OutputStream target) throws IOException {
+            GZIPOutputStream gzip = new GZIPOutputStream(target, BUFFER_SIZE) {
+                {
+                    // Prima la velocidad: la instantánea se escribe con el servicio en marcha
+                    def.setLevel(Deflater.BEST_SPEED);
+                }
+            };
+            this.out = new DataOutputStream(new BufferedOutputStream(gzip, BUFFER_SIZE));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+        }
+
+        /**
+         * @param persona Fila a escribir
+         * @throws IOException si falla la escritura
+         */
+        public void write(Persona persona) throws IOException {
+            int present = (persona.getTelefono() != null ? HAS_TELEFONO : 0)
+                    | (persona.getDireccion() != null ? HAS_DIRECCION : 0)
+                    | (persona.getCreadoEn() != null ? HAS_CREADO_EN : 0)
+                    | (persona.getActualizadoEn() != null ? HAS_ACTUALIZADO_EN : 0);
+            out.writeByte(ROW);
+            out.writeByte(present);
+            out.writeLong(persona.getId());
+            out.writeLong(persona.getVersion() != null ? persona.getVersion() : 0);
+            out.writeUTF(persona.getNombre());
+            out.writeUTF(persona.getApellido());
+            out.writeUTF(persona.getDocumentoIdentidad());
+            out.writeUTF(persona.getCorreo());
+            out.writeInt((int) persona.getFechaNacimiento().toEpochDay());
+            if (persona.getTelefono() != null) {
+                out.writeUTF(persona.getTelefono());
+            }
+            if (persona.getDireccion() != null) {
+                out.writeUTF(persona.getDireccion());
+            }
+            if (persona.getCreadoEn() != null) {
+                writeTimestamp(persona.getCreadoEn());
+            }
+            if (persona.getActualizadoEn() != null) {
+                writeTimestamp(persona.getActualizadoEn());
+            }
+            rows++;
+        }
+
+        /**
+         * Escribe el cierre de la instantánea. Sin él, el fichero se considera truncado.
+         *
+         * @return Número de filas escritas
+         * @throws IOException si falla la escritura
+         */
+        public long finish() throws IOException {
+            out.writeByte(END);
+            out.writeLong(rows);
+            out.flush();
+            return rows;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        private void writeTimestamp(LocalDateTime timestamp) throws IOException {
+            out.writeLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(timestamp.getNano());
+        }
+    }
+
+    /**
+     * Lee una instantánea fila a fila.
+     */
+    public static final class Reader implements Closeable {
+
+        private final DataInputStream in;
+        private long rows;
+        private boolean ended;
+
+        /**
+         * @param source Flujo de origen (se cierra al cerrar el lector)
+         * @throws IOException si el flujo no es una instantánea de una versión conocida
+         */
+        public Reader(InputStream source) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(source, BUFFER_SIZE), BUFFER_SIZE));
+            if (in.readInt() != MAGIC) {
+                throw new IOException("El fichero no es una instantánea de personas");
+            }
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Versión de instantánea no soportada: " + version);
+            }
+        }
+
+        /**
+         * @return Siguiente fila, o null al llegar al cierre de la instantánea
+         * @throws IOException si el fichero está truncado o dañado
+         */
+        public Persona next() throws IOException {
+            if (ended) {
+                return null;
+            }
+            byte marker = in.readByte();
+            if (marker == END) {
+                long expected = in.readLong();
+                if (expected != rows) {
+                    throw new IOException("Instantánea dañada: se esperaban " + expected + " filas y se leyeron " + rows);
+                }
+                ended = true;
+                return null;
+            }
+            if (marker != ROW) {
+                throw new IOException("Instantánea dañada: marca de fila desconocida " + marker);
+            }
+            int present = in.readByte();
+            Persona persona = Persona.builder()
+                    .id(in.readLong())
+                    .version(in.readLong())
+                    .nombre(in.readUTF())
+                    .apellido(in.readUTF())
+                    .documentoIdentidad(in.readUTF())
+                    .correo(in.readUTF())
+                    .fechaNacimiento(LocalDate.ofEpochDay(in.readInt()))
+                    .creadoEn(null)
+                    .build();
+            if ((present & HAS_TELEFONO) != 0) {
+                persona.setTelefono(in.readUTF());
+            }
+            if ((present & HAS_DIRECCION) != 0) {
+                persona.setDireccion(in.readUTF());
+            }
+            if ((present & HAS_CREADO_EN) != 0) {
+                persona.setCreadoEn(readTimestamp());
+            }
+            if ((present & HAS_ACTUALIZADO_EN) != 0) {
+                persona.setActualizadoEn(readTimestamp());
+            }
+            rows++;
+            return persona;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private LocalDateTime readTimestamp() throws IOException {
+            long seconds = in.readLong();
+            return LocalDateTime.ofEpochSecond(seconds, in.readInt(), ZoneOffset.UTC);
+        }
+    }
+}
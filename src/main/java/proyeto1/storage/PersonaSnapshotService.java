@@ -0,0 +1,196 @@
+package proyeto1.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import proyeto1.model.Persona;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * Escribe y restaura instantáneas de la tabla de personas en el formato de
+ * PersonaSnapshotFormat.
+ *
+ * Ambas operaciones trabajan con JDBC directamente, sin pasar por Hibernate: la
+ * escritura recorre una única consulta con un cursor de solo avance y la restauración
+ * inserta con sentencias preparadas en lotes, en lugar de interpretar un INSERT por fila
+ * como hace data.sql.
+ *
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class PersonaSnapshotService {
+
+    private static final String COLUMNS =
+            "id, version, nombre, apellido, documento_identidad, correo, fecha_nacimiento, telefono, direccion, created_at, updated_at";
+
+    private static final int FETCH_SIZE = 1000;
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    /**
+     * Holgura sobre el mayor ID restaurado al reiniciar la secuencia: Hibernate reserva
+     * bloques de 50 valores que terminan en el valor devuelto por la secuencia.
+     */
+    private static final long SEQUENCE_MARGIN = 51;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public PersonaSnapshotService(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        // Plantilla propia para no cambiar el tamaño de lectura de la compartida
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Resultado de escribir o restaurar una instantánea.
+     *
+     * @param path   Fichero de la instantánea
+     * @param rows   Número de personas
+     * @param bytes  Tamaño del fichero
+     * @param millis Duración de la operación
+     */
+    public record SnapshotResult(String path, long rows, long bytes, long millis) {
+    }
+
+    /**
+     * Escribe una instantánea de la tabla. Se escribe en un fichero temporal que se
+     * renombra al terminar, de modo que nunca queda a medias una instantánea válida.
+     *
+     * @param target Fichero de destino
+     * @return Resultado de la escritura
+     * @throws IOException si falla la escritura del fichero
+     */
+    public SnapshotResult write(Path target) throws IOException {
+        long start = System.nanoTime();
+        Path absolute = target.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        Path temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        long rows;
+        try (OutputStream out = Files.newOutputStream(temporary);
+             PersonaSnapshotFormat.Writer writer = new PersonaSnapshotFormat.Writer(out)) {
+            // Una sola consulta: la base de datos la resuelve sobre una vista consistente de la tabla
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.query("select " + COLUMNS + " from personas order by id", resultSet -> {
+                        try {
+                            writer.write(mapRow(resultSet));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+            rows = writer.finish();
+        } catch (UncheckedIOException ex) {
+            Files.deleteIfExists(temporary);
+            throw ex.getCause();
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temporary);
+            throw ex;
+        }
+        Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        SnapshotResult result = new SnapshotResult(absolute.toString(), rows, Files.size(absolute), elapsedMillis(start));
+        log.info("Instantánea escrita: {} personas, {} bytes en {} ms ({})",
+                result.rows(), result.bytes(), result.millis(), result.path());
+        return result;
+    }
+
+    /**
+     * Restaura una instantánea sobre la tabla de personas, que debe estar vacía, y
+     * reinicia la secuencia de IDs por encima del mayor ID restaurado.
+     *
+     * Todo se hace en una transacción: si el fichero está dañado no queda ninguna fila.
+     *
+     * @param source Fichero de la instantánea
+     * @return Resultado de la restauración
+     * @throws IOException si el fichero no se puede leer o no es una instantánea válida
+     */
+    public SnapshotResult restore(Path source) throws IOException {
+        long start = System.nanoTime();
+        String insert = "insert into personas (" + COLUMNS + ") values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try {
+            long rows = transactionTemplate.execute(status -> {
+                long count = 0;
+                long maxId = 0;
+                List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+                try (InputStream in = Files.newInputStream(source);
+                     PersonaSnapshotFormat.Reader reader = new PersonaSnapshotFormat.Reader(in)) {
+                    for (Persona persona = reader.next(); persona != null; persona = reader.next()) {
+                        batch.add(toRow(persona));
+                        maxId = Math.max(maxId, persona.getId());
+                        count++;
+                        if (batch.size() == INSERT_BATCH_SIZE) {
+                            jdbcTemplate.batchUpdate(insert, batch);
+                            batch.clear();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (!batch.isEmpty()) {
+                    jdbcTemplate.batchUpdate(insert, batch);
+                }
+                jdbcTemplate.execute("alter sequence personas_seq restart with " + (maxId + SEQUENCE_MARGIN));
+                return count;
+            });
+            SnapshotResult result = new SnapshotResult(source.toAbsolutePath().toString(), rows, Files.size(source), elapsedMillis(start));
+            log.info("Instantánea restaurada: {} personas en {} ms ({})", result.rows(), result.millis(), result.path());
+            return result;
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static Persona mapRow(ResultSet resultSet) throws SQLException {
+        Timestamp creadoEn = resultSet.getTimestamp("created_at");
+        Timestamp actualizadoEn = resultSet.getTimestamp("updated_at");
+        return Persona.builder()
+                .id(resultSet.getLong("id"))
+                .version(resultSet.getLong("version"))
+                .nombre(resultSet.getString("nombre"))
+                .apellido(resultSet.getString("apellido"))
+                .documentoIdentidad(resultSet.getString("documento_identidad"))
+                .correo(resultSet.getString("correo"))
+                .fechaNacimiento(resultSet.getDate("fecha_nacimiento").toLocalDate())
+                .telefono(resultSet.getString("telefono"))
+                .direccion(resultSet.getString("direccion"))
+                .creadoEn(creadoEn != null ? creadoEn.toLocalDateTime() : null)
+                .actualizadoEn(actualizadoEn != null ? actualizadoEn.toLocalDateTime() : null)
+                .build();
+    }
+
+    private static Object[] toRow(Persona persona) {
+        return new Object[]{
+                persona.getId(),
+                persona.getVersion(),
+                persona.getNombre(),
+                persona.getApellido(),
+                persona.getDocumentoIdentidad(),
+                persona.getCorreo(),
+                Date.valueOf(persona.getFechaNacimiento()),
+                persona.getTelefono(),
+                persona.getDireccion(),
+                persona.getCreadoEn() != null ? Timestamp.valueOf(persona.getCreadoEn()) : null,
+                persona.getActualizadoEn() != null ? Timestamp.valueOf(persona.getActualizadoEn()) : null
+        };
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,104 @@
+package proyeto1.storage;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Carga los datos iniciales en el modo de almacenamiento persistente.
+ *
+ * A diferencia del modo en memoria, donde spring.sql.init ejecuta data.sql en cada
+ * arranque, aquí solo se cargan datos si la tabla está vacía: desde una instantánea
+ * si se configuró persona.storage.restore-from y el fichero existe, o ejecutando el
+ * script de datos iniciales en caso contrario. Con datos ya presentes el arranque no
+ * inserta nada.
+ *
+ * Se ejecuta después de que Hibernate cree o actualice el esquema y antes de que
+ * los índices en memoria se construyan (ApplicationReadyEvent).
+ *
+ * @version 1.0
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@ConditionalOnProperty(name = "persona.storage.initialize", havingValue = "true")
+@Slf4j
+public class PersonaStorageInitializer {
+
+    /**
+     * Cómo se obtuvieron los datos en este arranque.
+     */
+    public enum Outcome {
+        EXISTING,
+        RESTORED,
+        SEEDED
+    }
+
+    private final DataSource dataSource;
+    private final PersonaSnapshotService snapshotService;
+    private final Resource seedScript;
+    private final String restoreFrom;
+    private Outcome outcome;
+    private long millis;
+
+    public PersonaStorageInitializer(DataSource dataSource,
+                                     PersonaSnapshotService snapshotService,
+                                     @Value("${persona.storage.seed-script:classpath:data.sql}") Resource seedScript,
+                                     @Value("${persona.storage.restore-from:}") String restoreFrom) {
+        this.dataSource = dataSource;
+        this.snapshotService = snapshotService;
+        this.seedScript = seedScript;
+        this.restoreFrom = restoreFrom;
+    }
+
+    @PostConstruct
+    void initialize() {
+        long start = System.nanoTime();
+        Long rows = new JdbcTemplate(dataSource).queryForObject("select count(*) from personas", Long.class);
+        if (rows != null && rows > 0) {
+            outcome = Outcome.EXISTING;
+            if (!restoreFrom.isBlank()) {
+                log.warn("Se ignora persona.storage.restore-from: la tabla ya contiene {} personas", rows);
+            }
+        } else if (!restoreFrom.isBlank() && Files.exists(Path.of(restoreFrom))) {
+            try {
+                snapshotService.restore(Path.of(restoreFrom));
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo restaurar la instantánea " + restoreFrom, e);
+            }
+            outcome = Outcome.RESTORED;
+        } else {
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator(seedScript);
+            populator.setSqlScriptEncoding("UTF-8");
+            populator.execute(dataSource);
+            outcome = Outcome.SEEDED;
+        }
+        millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Almacenamiento persistente inicializado ({}) en {} ms", outcome, millis);
+    }
+
+    /**
+     * @return Cómo se obtuvieron los datos en este arranque
+     */
+    public Outcome outcome() {
+        return outcome;
+    }
+
+    /**
+     * @return Duración de la carga de datos en milisegundos
+     */
+    public long millis() {
+        return millis;
+    }
+}
@@ -0,0 +1,48 @@
+package proyeto1.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Informa del tiempo de arranque y del modo de almacenamiento al terminar de arrancar.
+ *
+ * El tiempo total (desde el inicio de la JVM) también se publica como la métrica
+ * application.ready.time de Spring Boot; aquí se desglosa la parte de carga de datos
+ * para comparar el modo en memoria (data.sql en cada arranque) con el persistente.
+ *
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class StartupReport {
+
+    private final ObjectProvider<PersonaStorageInitializer> storageInitializer;
+    private final String datasourceUrl;
+
+    public StartupReport(ObjectProvider<PersonaStorageInitializer> storageInitializer,
+                         @Value("${spring.datasource.url:}") String datasourceUrl) {
+        this.storageInitializer = storageInitializer;
+        this.datasourceUrl = datasourceUrl;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report(ApplicationReadyEvent event) {
+        long sinceJvmStart = ManagementFactory.getRuntimeMXBean().getUptime();
+        long context = event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1;
+        String mode = datasourceUrl.startsWith("jdbc:h2:mem:") ? "memoria" : "persistente";
+        PersonaStorageInitializer initializer = storageInitializer.getIfAvailable();
+        if (initializer != null) {
+            log.info("Arranque en modo {}: {} ms desde el inicio de la JVM ({} ms de contexto, {} ms de carga de datos: {})",
+                    mode, sinceJvmStart, context, initializer.millis(), initializer.outcome());
+        } else {
+            log.info("Arranque en modo {}: {} ms desde el inicio de la JVM ({} ms de contexto)",
+                    mode, sinceJvmStart, context);
+        }
+    }
+}
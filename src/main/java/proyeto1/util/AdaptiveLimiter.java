@@ -0,0 +1,218 @@
+package proyeto1.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Límite de concurrencia adaptativo (AIMD guiado por la latencia).
+ *
+ * Admite peticiones mientras las que están en curso no superen el límite actual, que
+ * se ajusta con cada petición terminada:
+ *
+ * - Si la latencia reciente supera tolerance veces la latencia de referencia, o la
+ *   petición falló por sobrecarga, el límite se multiplica por backoff (reducción
+ *   multiplicativa).
+ * - Si no, y el límite se está usando al menos a la mitad, crece en 1/límite, es decir,
+ *   aproximadamente una unidad por cada límite de peticiones (aumento aditivo).
+ *
+ * Tras una reducción, las peticiones que ya estaban en curso no vuelven a reducirlo:
+ * reflejan la misma sobrecarga, y sin esta regla una ráfaga de respuestas lentas
+ * llevaría el límite al mínimo de golpe.
+ *
+ * Las latencias se comparan por ruta: cada ruta (por ejemplo "GET /personas/{id} 200")
+ * lleva su propia media reciente, de las últimas decenas de peticiones, y su latencia de
+ * referencia, una media de los últimos cientos. Así una respuesta 304 o un acierto de
+ * caché no fijan la referencia de las rutas que consultan la base de datos, y un fallo
+ * de caché suelto no se confunde con sobrecarga: solo cuenta cuando sube la media
+ * reciente. La referencia sigue lentamente a la latencia para adaptarse si el sistema
+ * se vuelve más lento de forma permanente.
+ *
+ * @version 1.0
+ */
+public class AdaptiveLimiter {
+
+    /**
+     * Peso de cada latencia en la media reciente (unas 10 peticiones).
+     */
+    private static final double RECENT_WEIGHT = 0.1;
+
+    /**
+     * Peso de cada latencia en la latencia de referencia (unas 500 peticiones).
+     */
+    private static final double BASELINE_WEIGHT = 0.002;
+
+    /**
+     * Ruta usada cuando el llamante no distingue rutas.
+     */
+    private static final String DEFAULT_ROUTE = "";
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoff;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile double limit;
+    private final Map<String, RouteLatency> latencies = new HashMap<>();
+    private int staleSignals;
+
+    /**
+     * @param initialLimit Límite inicial
+     * @param minLimit     Límite mínimo (siempre se admite al menos este número de peticiones)
+     * @param maxLimit     Límite máximo
+     * @param tolerance    Múltiplo de la latencia de referencia a partir del cual se reduce el límite
+     * @param backoff      Factor de reducción del límite, entre 0 y 1
+     */
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, double backoff) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Se requiere 1 <= mínimo <= inicial <= máximo");
+        }
+        if (tolerance <= 1 || backoff <= 0 || backoff >= 1) {
+            throw new IllegalArgumentException("La tolerancia debe ser mayor que 1 y el factor de reducción estar entre 0 y 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoff = backoff;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Intenta admitir una petición. Si se admite, debe llamarse después a exactamente uno
+     * de onSuccess, onOverload o onIgnore.
+     *
+     * @return true si la petición se admite
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera una petición terminada correctamente y ajusta el límite según su latencia,
+     * sin distinguir rutas.
+     *
+     * @param latencyNanos Latencia de la petición
+     */
+    public void onSuccess(long latencyNanos) {
+        onSuccess(DEFAULT_ROUTE, latencyNanos);
+    }
+
+    /**
+     * Libera una petición terminada correctamente y ajusta el límite según su latencia
+     * comparada con la de su ruta.
+     *
+     * @param route        Ruta o clase de petición; debe tomar pocos valores distintos
+     * @param latencyNanos Latencia de la petición
+     */
+    public void onSuccess(String route, long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        lock.lock();
+        try {
+            boolean stale = consumeStale();
+            RouteLatency latency = latencies.computeIfAbsent(route, key -> new RouteLatency(latencyNanos));
+            latency.record(latencyNanos);
+            if (latency.recentNanos > latency.baselineNanos * tolerance) {
+                if (!stale) {
+                    decrease(inFlightBefore);
+                }
+            } else if (inFlightBefore * 2 >= limit) {
+                // Solo crece si el límite se está usando: con poca carga no hay nada que aprender
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Libera una petición que falló por sobrecarga (error del servidor, tiempo agotado...)
+     * y reduce el límite.
+     */
+    public void onOverload() {
+        int inFlightBefore = inFlight.getAndDecrement();
+        lock.lock();
+        try {
+            if (!consumeStale()) {
+                decrease(inFlightBefore);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Libera una petición sin usarla para ajustar el límite (por ejemplo, un error del cliente).
+     */
+    public void onIgnore() {
+        inFlight.decrementAndGet();
+        lock.lock();
+        try {
+            consumeStale();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Límite actual
+     */
+    public int limit() {
+        return (int) limit;
+    }
+
+    /**
+     * @return Peticiones admitidas y aún en curso
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Reduce el límite. Las peticiones que siguen en curso quedan marcadas como
+     * anteriores a la reducción.
+     */
+    private void decrease(int inFlightBefore) {
+        limit = Math.max(minLimit, limit * backoff);
+        staleSignals = inFlightBefore - 1;
+    }
+
+    /**
+     * @return true si la petición que termina fue admitida antes de la última reducción
+     */
+    private boolean consumeStale() {
+        if (staleSignals > 0) {
+            staleSignals--;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Media reciente y latencia de referencia de una ruta (medias móviles exponenciales).
+     */
+    private static final class RouteLatency {
+
+        private double recentNanos;
+        private double baselineNanos;
+
+        private RouteLatency(long firstNanos) {
+            this.recentNanos = firstNanos;
+            this.baselineNanos = firstNanos;
+        }
+
+        private void record(long latencyNanos) {
+            recentNanos += (latencyNanos - recentNanos) * RECENT_WEIGHT;
+            baselineNanos += (latencyNanos - baselineNanos) * BASELINE_WEIGHT;
+        }
+    }
+}
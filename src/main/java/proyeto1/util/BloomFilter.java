@@ -0,0 +1,122 @@
+package proyeto1.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para cadenas, seguro para uso concurrente.
+ *
+ * Responde si un valor "puede estar" en el conjunto o si "seguro que no está".
+ * Los falsos positivos son posibles (con la probabilidad configurada), los falsos
+ * negativos no. No admite borrados: un valor eliminado sigue dando positivo.
+ *
+ * Los bits se guardan en un AtomicLongArray y se activan con CAS, por lo que
+ * las inserciones y consultas concurrentes no necesitan bloqueos.
+ *
+ * @version 1.0
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashFunctions;
+
+    /**
+     * Crea un filtro dimensionado para el número de elementos y la tasa de falsos positivos indicados.
+     *
+     * @param expectedInsertions     Número de elementos que se espera insertar
+     * @param falsePositiveProbability Probabilidad de falso positivo deseada (entre 0 y 1)
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("El número de elementos esperados debe ser mayor que cero");
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("La probabilidad de falso positivo debe estar entre 0 y 1");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (optimalBits + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Añade un valor al filtro. Los valores null se ignoran.
+     *
+     * @param value Valor a añadir
+     */
+    public void put(String value) {
+        if (value == null) {
+            return;
+        }
+        long hash = hash64(value);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << (bit & 63);
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    /**
+     * Indica si el valor puede estar en el filtro.
+     *
+     * @param value Valor a consultar
+     * @return false si el valor seguro que no se añadió; true si puede haberse añadido
+     */
+    public boolean mightContain(String value) {
+        if (value == null) {
+            return false;
+        }
+        long hash = hash64(value);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Número de bits del filtro
+     */
+    public long bitSize() {
+        return bitCount;
+    }
+
+    /**
+     * @return Número de funciones hash aplicadas a cada valor
+     */
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * Hash de 64 bits (FNV-1a sobre los bytes UTF-8 con el mezclado final de MurmurHash3).
+     */
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,270 @@
+package proyeto1.util;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+/**
+ * Registro de difusión: entrega cada valor publicado a todos los suscriptores y
+ * conserva los últimos en un buffer circular para que un suscriptor que se reconecta
+ * pueda reanudar desde el último que recibió.
+ *
+ * Cada valor recibe un número de secuencia creciente, empezando por 1. Cada
+ * suscriptor tiene su propia cola acotada; publicar nunca bloquea: si la cola de un
+ * suscriptor está llena, se le da de baja (consumidor lento) y recibe lo que ya tenía
+ * en la cola antes de terminar. Al reconectarse con su última secuencia recupera el
+ * resto del buffer circular, siempre que no haya quedado atrás.
+ *
+ * @param <T> Tipo de los valores
+ * @version 1.0
+ */
+public class BroadcastLog<T> {
+
+    private final Entry<T>[] ring;
+    private final int subscriberCapacity;
+    private final List<Subscription<T>> subscribers = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long nextSequence = 1;
+    private long overflowCount;
+
+    /**
+     * @param capacity           Número de valores recientes que se conservan para reanudar
+     * @param subscriberCapacity Número máximo de valores pendientes de entrega por suscriptor
+     */
+    @SuppressWarnings("unchecked")
+    public BroadcastLog(int capacity, int subscriberCapacity) {
+        if (capacity < 1 || subscriberCapacity < 1) {
+            throw new IllegalArgumentException("Las capacidades deben ser mayores que cero");
+        }
+        this.ring = new Entry[capacity];
+        this.subscriberCapacity = subscriberCapacity;
+    }
+
+    /**
+     * Publica un valor y lo encola para todos los suscriptores.
+     *
+     * @param value Valor a publicar
+     * @return Secuencia asignada
+     */
+    public long publish(T value) {
+        return publish(sequence -> value);
+    }
+
+    /**
+     * Publica un valor que depende de su secuencia (por ejemplo, que la incluye).
+     *
+     * @param factory Crea el valor a partir de la secuencia asignada
+     * @return Secuencia asignada
+     */
+    public long publish(LongFunction<T> factory) {
+        lock.lock();
+        try {
+            long sequence = nextSequence++;
+            Entry<T> entry = new Entry<>(sequence, factory.apply(sequence));
+            ring[(int) (sequence % ring.length)] = entry;
+            subscribers.removeIf(subscription -> {
+                if (subscription.offer(entry)) {
+                    return false;
+                }
+                if (subscription.overflowed) {
+                    overflowCount++;
+                }
+                return true;
+            });
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Crea una suscripción a los valores publicados a partir de ahora.
+     *
+     * @return Suscripción
+     */
+    public Subscription<T> subscribe() {
+        return subscribe(-1);
+    }
+
+    /**
+     * Crea una suscripción que primero entrega los valores conservados posteriores a
+     * lastSequence y después los nuevos, sin huecos ni repeticiones.
+     *
+     * Si alguno de los valores posteriores a lastSequence ya no se conserva (o
+     * lastSequence es posterior al último publicado), la suscripción se marca con hueco
+     * (hasGap) y solo entrega los valores nuevos: el suscriptor debe volver a cargar el
+     * estado completo.
+     *
+     * @param lastSequence Última secuencia recibida, o negativo para recibir solo los nuevos
+     * @return Suscripción
+     */
+    public Subscription<T> subscribe(long lastSequence) {
+        lock.lock();
+        try {
+            long oldest = Math.max(1, nextSequence - ring.length);
+            boolean gap = lastSequence >= 0 && (lastSequence + 1 < oldest || lastSequence >= nextSequence);
+            Deque<Entry<T>> replay = new ArrayDeque<>();
+            if (lastSequence >= 0 && !gap) {
+                for (long sequence = lastSequence + 1; sequence < nextSequence; sequence++) {
+                    replay.add(ring[(int) (sequence % ring.length)]);
+                }
+            }
+            Subscription<T> subscription = new Subscription<>(this, replay, subscriberCapacity, gap, nextSequence - 1);
+            subscribers.add(subscription);
+            return subscription;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Número de suscriptores activos
+     */
+    public int subscriberCount() {
+        lock.lock();
+        try {
+            return subscribers.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Secuencia del último valor publicado, o 0 si no se ha publicado ninguno
+     */
+    public long lastSequence() {
+        lock.lock();
+        try {
+            return nextSequence - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Número de suscriptores dados de baja por no consumir a tiempo
+     */
+    public long overflowCount() {
+        lock.lock();
+        try {
+            return overflowCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(Subscription<T> subscription) {
+        lock.lock();
+        try {
+            subscribers.remove(subscription);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Valor publicado con su secuencia.
+     *
+     * @param sequence Secuencia
+     * @param value    Valor
+     */
+    public record Entry<T>(long sequence, T value) {
+    }
+
+    /**
+     * Suscripción a un BroadcastLog. La consume un único hilo.
+     */
+    public static final class Subscription<T> implements AutoCloseable {
+
+        private final BroadcastLog<T> log;
+        private final Deque<Entry<T>> replay;
+        private final BlockingQueue<Entry<T>> queue;
+        private final boolean gap;
+        private final long startSequence;
+        private volatile boolean overflowed;
+        private volatile boolean closed;
+
+        private Subscription(BroadcastLog<T> log, Deque<Entry<T>> replay, int capacity, boolean gap, long startSequence) {
+            this.log = log;
+            this.replay = replay;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.gap = gap;
+            this.startSequence = startSequence;
+        }
+
+        /**
+         * Espera al siguiente valor.
+         *
+         * @param timeout Tiempo máximo de espera
+         * @return Siguiente valor, o null si no llega ninguno en el plazo o la suscripción terminó
+         * @throws InterruptedException si el hilo se interrumpe esperando
+         */
+        public Entry<T> poll(Duration timeout) throws InterruptedException {
+            if (closed) {
+                return null;
+            }
+            Entry<T> next = replay.poll();
+            if (next != null) {
+                return next;
+            }
+            // Dada de baja por lenta: se entrega lo que ya estaba en la cola, sin esperar más
+            return overflowed ? queue.poll() : queue.poll(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * @return true si la suscripción terminó: cerrada, o dada de baja por lenta y sin valores pendientes
+         */
+        public boolean isFinished() {
+            return closed || (overflowed && replay.isEmpty() && queue.isEmpty());
+        }
+
+        /**
+         * @return true si se dio de baja porque su cola se llenó
+         */
+        public boolean isOverflowed() {
+            return overflowed;
+        }
+
+        /**
+         * @return true si no se pudo reanudar desde la secuencia pedida
+         */
+        public boolean hasGap() {
+            return gap;
+        }
+
+        /**
+         * @return Secuencia del último valor publicado antes de suscribirse: tras un hueco,
+         * el suscriptor recarga el estado y continúa desde aquí
+         */
+        public long startSequence() {
+            return startSequence;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            log.remove(this);
+        }
+
+        /**
+         * @return false si la cola está llena y la suscripción queda dada de baja
+         */
+        private boolean offer(Entry<T> entry) {
+            if (closed) {
+                return false;
+            }
+            if (!queue.offer(entry)) {
+                overflowed = true;
+                return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package proyeto1.util;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Construye los validadores HTTP (ETag y Last-Modified) de las respuestas de personas.
+ *
+ * El ETag de una persona es su ID y su versión. El de una colección es un hash de
+ * los pares (ID, versión) de sus elementos en orden, más el indicador de si hay más
+ * resultados, de modo que cambia si se crea, modifica o elimina cualquier elemento.
+ * Todos son ETag fuertes: la misma versión produce siempre los mismos bytes en cada
+ * formato. Como JSON, Smile y CBOR son representaciones distintas del mismo recurso,
+ * las binarias llevan el formato como sufijo ("1-3.smile", "1-3.cbor"); el de JSON no
+ * lleva sufijo. If-Match acepta el ETag de cualquiera de ellas.
+ *
+ * @version 1.0
+ */
+public final class CacheValidators {
+
+    /**
+     * Tipo de contenido de Smile.
+     */
+    public static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private static final String SMILE_SUFFIX = ".smile";
+    private static final String CBOR_SUFFIX = ".cbor";
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private CacheValidators() {
+    }
+
+    /**
+     * @param id      ID de la persona
+     * @param version Versión de la fila
+     * @return ETag fuerte de la persona
+     */
+    public static String etag(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Extrae la versión de un ETag de persona, como los que recibe en If-Match.
+     *
+     * @param etag ETag recibido (con comillas)
+     * @param id   ID de la persona a la que debe corresponder
+     * @return Versión, o null si no es un ETag fuerte de esa persona
+     */
+    public static Long parseVersion(String etag, Long id) {
+        etag = withoutRepresentation(etag);
+        String prefix = "\"" + id + "-";
+        if (etag == null || !etag.startsWith(prefix) || !etag.endsWith("\"") || etag.length() <= prefix.length() + 1) {
+            return null;
+        }
+        try {
+            return Long.parseLong(etag.substring(prefix.length(), etag.length() - 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * @param items   Elementos de la colección, en el orden de la respuesta
+     * @param id      Función que obtiene el ID de un elemento
+     * @param version Función que obtiene la versión de un elemento
+     * @param hasMore Si la colección tiene más elementos después de estos
+     * @return ETag fuerte de la colección
+     */
+    public static <T> String collectionEtag(List<T> items, Function<T, Long> id, Function<T, Long> version, boolean hasMore) {
+        long hash = FNV_OFFSET;
+        for (T item : items) {
+            hash = mix(hash, orMinusOne(id.apply(item)));
+            hash = mix(hash, orMinusOne(version.apply(item)));
+        }
+        hash = mix(hash, hasMore ? 1 : 0);
+        return "\"c-" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * @param etag        ETag de la representación JSON
+     * @param contentType Tipo de contenido de la respuesta (null equivale a JSON)
+     * @return ETag de la representación en ese formato
+     */
+    public static String forRepresentation(String etag, MediaType contentType) {
+        String suffix = suffix(contentType);
+        if (etag == null || suffix.isEmpty() || !etag.endsWith("\"") || etag.endsWith(suffix + "\"")) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + suffix + "\"";
+    }
+
+    /**
+     * Formato que recibirá una petición según su cabecera Accept, con el mismo criterio
+     * que la negociación de contenido: el tipo aceptado más específico y de mayor calidad,
+     * y JSON ante comodines, sin Accept o con una cabecera inválida.
+     *
+     * @param accept Cabecera Accept (puede ser null)
+     * @return Tipo de contenido: JSON, Smile o CBOR
+     */
+    public static MediaType preferredRepresentation(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException ex) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            for (MediaType candidate : List.of(MediaType.APPLICATION_JSON, SMILE, MediaType.APPLICATION_CBOR)) {
+                if (type.includes(candidate) && type.getQualityValue() > 0) {
+                    return candidate;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    /**
+     * @return ETag sin el sufijo de formato, tal como sería el de JSON
+     */
+    private static String withoutRepresentation(String etag) {
+        if (etag == null) {
+            return null;
+        }
+        for (String suffix : List.of(SMILE_SUFFIX, CBOR_SUFFIX)) {
+            if (etag.endsWith(suffix + "\"")) {
+                return etag.substring(0, etag.length() - suffix.length() - 1) + "\"";
+            }
+        }
+        return etag;
+    }
+
+    private static String suffix(MediaType contentType) {
+        if (contentType == null) {
+            return "";
+        }
+        if (contentType.equalsTypeAndSubtype(SMILE)) {
+            return SMILE_SUFFIX;
+        }
+        if (contentType.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+            return CBOR_SUFFIX;
+        }
+        return "";
+    }
+
+    /**
+     * @param lastModified Fecha de modificación en la zona horaria del servidor (puede ser null)
+     * @return Milisegundos desde epoch para la cabecera Last-Modified, o -1 si no hay fecha
+     */
+    public static long lastModifiedMillis(LocalDateTime lastModified) {
+        return lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+
+    /**
+     * FNV-1a sobre los 8 bytes del valor.
+     */
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long orMinusOne(Long value) {
+        return value != null ? value : -1;
+    }
+}
@@ -0,0 +1,93 @@
+package proyeto1.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+/**
+ * Codifica y decodifica los tokens de continuación que se entregan a los clientes.
+ *
+ * El token es opaco para el cliente (Base64 URL-safe) e incluye un prefijo
+ * de versión para poder cambiar el formato sin romper cursores en circulación.
+ *
+ * @version 1.0
+ */
+public final class CursorCodec {
+
+    private static final String PREFIX = "v1:";
+
+    private CursorCodec() {
+    }
+
+    /**
+     * Codifica una posición como token opaco.
+     *
+     * @param position Última clave entregada al cliente
+     * @return Token de continuación
+     */
+    public static String encode(long position) {
+        byte[] raw = (PREFIX + position).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Decodifica un token de continuación.
+     *
+     * @param token Token recibido del cliente
+     * @return Posición codificada en el token
+     * @throws IllegalArgumentException si el token no es válido
+     */
+    public static long decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Token de continuación inválido: " + token);
+            }
+            long position = Long.parseLong(raw.substring(PREFIX.length()));
+            if (position < 0) {
+                throw new IllegalArgumentException("Token de continuación inválido: " + token);
+            }
+            return position;
+        } catch (IllegalArgumentException ex) {
+            // NumberFormatException y los errores de Base64 también son IllegalArgumentException
+            throw new IllegalArgumentException("Token de continuación inválido: " + token, ex);
+        }
+    }
+
+    /**
+     * Codifica varias posiciones (por ejemplo, una por fragmento) como un único token opaco.
+     *
+     * @param positions Posiciones a codificar
+     * @return Token de continuación
+     */
+    public static String encodeAll(long... positions) {
+        String raw = PREFIX + Arrays.stream(positions).mapToObj(Long::toString).collect(Collectors.joining(","));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token de continuación con varias posiciones.
+     *
+     * @param token Token recibido del cliente
+     * @return Posiciones codificadas en el token, en el mismo orden
+     * @throws IllegalArgumentException si el token no es válido
+     */
+    public static long[] decodeAll(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX) || raw.length() == PREFIX.length()) {
+                throw new IllegalArgumentException("Token de continuación inválido: " + token);
+            }
+            long[] positions = Arrays.stream(raw.substring(PREFIX.length()).split(",", -1))
+                    .mapToLong(Long::parseLong)
+                    .toArray();
+            if (Arrays.stream(positions).anyMatch(position -> position < 0)) {
+                throw new IllegalArgumentException("Token de continuación inválido: " + token);
+            }
+            return positions;
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Token de continuación inválido: " + token, ex);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package proyeto1.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Cola de escrituras con confirmación agrupada (group commit).
+ *
+ * Los hilos que escriben encolan su elemento y reciben un CompletableFuture. Un único
+ * hilo consumidor toma el primer elemento disponible, espera como mucho maxWait a que
+ * lleguen más (o hasta reunir maxBatchSize) y entrega el grupo completo al committer,
+ * que debe completar el resultado de cada elemento. Con carga baja un elemento solo
+ * espera maxWait; con carga alta los grupos se llenan antes y el coste de cada
+ * confirmación se reparte entre todos sus elementos.
+ *
+ * La cola es acotada: cuando está llena, submit bloquea al productor hasta que haya
+ * hueco, de modo que la presión se traslada a quien escribe en lugar de acumular memoria.
+ *
+ * @param <T> Tipo de los elementos a escribir
+ * @param <R> Tipo del resultado de cada elemento
+ * @version 1.0
+ */
+public class GroupCommitQueue<T, R> implements AutoCloseable {
+
+    private final BlockingQueue<Pending<T, R>> queue;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final Consumer<List<Pending<T, R>>> committer;
+    private final Thread worker;
+    private volatile boolean closed;
+
+    /**
+     * @param name         Nombre del hilo consumidor
+     * @param capacity     Número máximo de elementos en espera
+     * @param maxBatchSize Número máximo de elementos por grupo
+     * @param maxWait      Tiempo máximo que el primer elemento de un grupo espera a los demás
+     * @param committer    Escribe un grupo y completa el resultado de cada elemento
+     */
+    public GroupCommitQueue(String name, int capacity, int maxBatchSize, Duration maxWait,
+                            Consumer<List<Pending<T, R>>> committer) {
+        if (capacity < 1 || maxBatchSize < 1) {
+            throw new IllegalArgumentException("La capacidad y el tamaño de grupo deben ser mayores que cero");
+        }
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.committer = committer;
+        this.worker = Thread.ofPlatform().name(name).daemon().start(this::run);
+    }
+
+    /**
+     * Encola un elemento, esperando si la cola está llena.
+     *
+     * @param item Elemento a escribir
+     * @return Resultado del elemento, que se completa cuando su grupo se confirma
+     * @throws IllegalStateException si la cola está cerrada o el hilo se interrumpe esperando
+     */
+    public CompletableFuture<R> submit(T item) {
+        if (closed) {
+            throw new IllegalStateException("La cola de escritura está cerrada");
+        }
+        Pending<T, R> pending = new Pending<>(item, new CompletableFuture<>());
+        try {
+            queue.put(pending);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando hueco en la cola de escritura", ex);
+        }
+        return pending.result();
+    }
+
+    /**
+     * @return Número de elementos en espera
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Deja de aceptar elementos, escribe los que quedan en la cola y detiene el hilo consumidor.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            worker.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<Pending<T, R>> batch = new ArrayList<>(maxBatchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Pending<T, R> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    // Primero lo que ya está en la cola, sin esperar
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    Pending<T, R> next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                commit(batch);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Entrega el grupo al committer. Ningún elemento queda sin resultado: si el committer
+     * falla o no completa alguno, se completa con el error.
+     */
+    private void commit(List<Pending<T, R>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            committer.accept(List.copyOf(batch));
+        } catch (RuntimeException | Error ex) {
+            batch.forEach(pending -> pending.result().completeExceptionally(ex));
+            return;
+        }
+        IllegalStateException missing = new IllegalStateException("El grupo de escritura no completó el elemento");
+        batch.forEach(pending -> pending.result().completeExceptionally(missing));
+    }
+
+    /**
+     * Elemento en espera y su resultado.
+     *
+     * @param item   Elemento a escribir
+     * @param result Resultado que el committer debe completar
+     */
+    public record Pending<T, R>(T item, CompletableFuture<R> result) {
+    }
+}
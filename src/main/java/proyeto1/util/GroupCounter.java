@@ -0,0 +1,68 @@
+package proyeto1.util;
+
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Cuenta las filas de una tabla columnar por grupo (GROUP BY ... COUNT(*)) sin crear
+ * objetos por fila.
+ *
+ * Las filas se reparten en bloques consecutivos que se cuentan en paralelo en el
+ * ForkJoinPool común, cada hilo sobre su propio array de contadores; al final se suman
+ * los arrays. Así no hay contención entre hilos ni boxing: la función que asigna el
+ * grupo recibe y devuelve int, y los contadores son long[]. Con pocas filas se cuenta
+ * en el hilo que llama.
+ *
+ * Quien llama debe garantizar que las columnas no cambian durante el recuento (por
+ * ejemplo, con un bloqueo de lectura); los hilos del recuento ven lo escrito antes de
+ * empezar.
+ *
+ * @version 1.0
+ */
+public final class GroupCounter {
+
+    /**
+     * Filas por bloque: suficientes para amortizar el reparto y pocas para equilibrar la carga.
+     */
+    static final int CHUNK_SIZE = 16_384;
+
+    private GroupCounter() {
+    }
+
+    /**
+     * @param rows       Número de filas (se recorren de 0 a rows - 1)
+     * @param groups     Número de grupos
+     * @param groupOfRow Grupo de cada fila, de 0 a groups - 1, o negativo para no contarla
+     * @return Número de filas de cada grupo
+     * @throws ArrayIndexOutOfBoundsException si groupOfRow devuelve un grupo mayor o igual que groups
+     */
+    public static long[] count(int rows, int groups, IntUnaryOperator groupOfRow) {
+        if (rows < 0 || groups < 0) {
+            throw new IllegalArgumentException("El número de filas y de grupos no puede ser negativo");
+        }
+        int chunks = (rows + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream chunkIndexes = IntStream.range(0, chunks);
+        if (chunks > 1) {
+            chunkIndexes = chunkIndexes.parallel();
+        }
+        return chunkIndexes.collect(
+                () -> new long[groups],
+                (counts, chunk) -> countChunk(counts, chunk * CHUNK_SIZE, (int) Math.min(rows, (long) (chunk + 1) * CHUNK_SIZE), groupOfRow),
+                GroupCounter::addTo);
+    }
+
+    private static void countChunk(long[] counts, int from, int to, IntUnaryOperator groupOfRow) {
+        for (int row = from; row < to; row++) {
+            int group = groupOfRow.applyAsInt(row);
+            if (group >= 0) {
+                counts[group]++;
+            }
+        }
+    }
+
+    private static void addTo(long[] target, long[] counts) {
+        for (int group = 0; group < target.length; group++) {
+            target[group] += counts[group];
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package proyeto1.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Árbol radix (trie compactado) que asocia claves de texto a IDs numéricos
+ * y responde búsquedas por prefijo.
+ *
+ * Las cadenas de nodos con un único hijo se fusionan en una sola arista, por lo
+ * que el número de nodos crece con el número de claves y no con su longitud.
+ * Cada nodo guarda su etiqueta como char[], los hijos en un array ordenado por
+ * el primer carácter y los IDs como long[], sin objetos intermedios.
+ *
+ * Las búsquedas recorren el subárbol del prefijo en orden alfabético y se detienen
+ * al reunir los resultados pedidos, por lo que su coste depende del límite y no
+ * del número de claves que comparten el prefijo. Una clave aparece antes que
+ * sus extensiones ("ana" antes que "ana gomez").
+ *
+ * El tamaño (footprint) se mantiene al día en cada escritura, de modo que consultarlo
+ * no recorre el árbol.
+ *
+ * Es seguro para uso concurrente mediante un bloqueo de lectura/escritura.
+ *
+ * @version 1.0
+ */
+public class RadixTrie {
+
+    private static final char[] NO_LABEL = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final long[] NO_VALUES = new long[0];
+
+    /**
+     * Estimación de la cabecera de un objeto y de un array en una JVM de 64 bits con oops comprimidos.
+     */
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    private final Node root = new Node(NO_LABEL);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int size;
+    private long nodes;
+    private long labelChars;
+    private long estimatedBytes;
+
+    public RadixTrie() {
+        account(root, 1);
+    }
+
+    /**
+     * Asocia un ID a una clave.
+     *
+     * @param key Clave (ya normalizada)
+     * @param id  ID a asociar
+     */
+    public void put(String key, long id) {
+        lock.writeLock().lock();
+        try {
+            Node node = root;
+            int position = 0;
+            while (position < key.length()) {
+                int childIndex = node.childIndex(key.charAt(position));
+                if (childIndex < 0) {
+                    Node leaf = new Node(key.substring(position).toCharArray());
+                    account(node, -1);
+                    node.insertChild(-childIndex - 1, leaf);
+                    account(node, 1);
+                    account(leaf, 1);
+                    node = leaf;
+                    position = key.length();
+                    break;
+                }
+                Node child = node.children[childIndex];
+                int common = commonPrefix(child.label, key, position);
+                if (common < child.label.length) {
+                    // La clave se separa a mitad de la arista: partimos el nodo
+                    Node split = new Node(Arrays.copyOf(child.label, common));
+                    account(child, -1);
+                    child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+                    account(child, 1);
+                    split.children = new Node[]{child};
+                    account(split, 1);
+                    node.children[childIndex] = split;
+                    child = split;
+                }
+                node = child;
+                position += common;
+            }
+            account(node, -1);
+            if (node.addValue(id)) {
+                size++;
+            }
+            account(node, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina la asociación entre una clave y un ID, compactando los nodos que quedan vacíos.
+     *
+     * @param key Clave (ya normalizada)
+     * @param id  ID a desasociar
+     */
+    public void remove(String key, long id) {
+        lock.writeLock().lock();
+        try {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            int position = 0;
+            while (position < key.length()) {
+                int childIndex = node.childIndex(key.charAt(position));
+                if (childIndex < 0) {
+                    return;
+                }
+                Node child = node.children[childIndex];
+                if (commonPrefix(child.label, key, position) < child.label.length) {
+                    return;
+                }
+                path.add(node);
+                node = child;
+                position += child.label.length;
+            }
+            account(node, -1);
+            boolean removed = node.removeValue(id);
+            account(node, 1);
+            if (!removed) {
+                return;
+            }
+            size--;
+            compact(path, node);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve hasta limit IDs cuyas claves empiezan por el prefijo, sin repetidos.
+     *
+     * @param prefix Prefijo (ya normalizado)
+     * @param limit  Número máximo de IDs
+     * @return IDs en orden alfabético de clave
+     */
+    public List<Long> prefixSearch(String prefix, int limit) {
+        if (limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int position = 0;
+            while (position < prefix.length()) {
+                int childIndex = node.childIndex(prefix.charAt(position));
+                if (childIndex < 0) {
+                    return List.of();
+                }
+                Node child = node.children[childIndex];
+                int common = commonPrefix(child.label, prefix, position);
+                if (common < child.label.length && position + common < prefix.length()) {
+                    return List.of();
+                }
+                node = child;
+                position += common;
+            }
+
+            // Recorrido en preorden: los IDs de un nodo antes que los de sus descendientes
+            Set<Long> result = new LinkedHashSet<>();
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(node);
+            while (!stack.isEmpty() && result.size() < limit) {
+                Node current = stack.pop();
+                for (long id : current.values) {
+                    result.add(id);
+                    if (result.size() >= limit) {
+                        break;
+                    }
+                }
+                for (int i = current.children.length - 1; i >= 0; i--) {
+                    stack.push(current.children[i]);
+                }
+            }
+            return new ArrayList<>(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Número de asociaciones clave-ID almacenadas
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Estadísticas de tamaño del árbol, con una estimación de su memoria
+     */
+    public Footprint footprint() {
+        lock.readLock().lock();
+        try {
+            return new Footprint(nodes, labelChars, estimatedBytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Número de nodos, de caracteres en etiquetas y bytes estimados ocupados por el árbol.
+     */
+    public record Footprint(long nodes, long labelChars, long estimatedBytes) {
+    }
+
+    /**
+     * Suma (sign = 1) o resta (sign = -1) un nodo de los totales del footprint. Un nodo
+     * que se modifica se resta antes del cambio y se vuelve a sumar después.
+     */
+    private void account(Node node, int sign) {
+        nodes += sign;
+        labelChars += (long) sign * node.label.length;
+        // Nodo (cabecera + 3 referencias) más sus arrays, salvo los vacíos compartidos
+        long bytes = align(OBJECT_HEADER + 3L * REFERENCE);
+        if (node.label.length > 0) {
+            bytes += align(ARRAY_HEADER + 2L * node.label.length);
+        }
+        if (node.children.length > 0) {
+            bytes += align(ARRAY_HEADER + (long) REFERENCE * node.children.length);
+        }
+        if (node.values.length > 0) {
+            bytes += align(ARRAY_HEADER + 8L * node.values.length);
+        }
+        estimatedBytes += sign * bytes;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Sube por el camino eliminando nodos vacíos y fusionando los que quedan con un solo hijo.
+     */
+    private void compact(List<Node> path, Node node) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node parent = path.get(i);
+            if (node.values.length == 0 && node.children.length == 0) {
+                account(parent, -1);
+                parent.removeChild(node);
+                account(parent, 1);
+                account(node, -1);
+            } else if (node.values.length == 0 && node.children.length == 1) {
+                Node only = node.children[0];
+                account(node, -1);
+                account(only, -1);
+                char[] merged = Arrays.copyOf(node.label, node.label.length + only.label.length);
+                System.arraycopy(only.label, 0, merged, node.label.length, only.label.length);
+                node.label = merged;
+                node.children = only.children;
+                node.values = only.values;
+                account(node, 1);
+                return;
+            } else {
+                return;
+            }
+            node = parent;
+            if (node == root) {
+                return;
+            }
+        }
+    }
+
+    private static int commonPrefix(char[] label, String key, int offset) {
+        int max = Math.min(label.length, key.length() - offset);
+        int i = 0;
+        while (i < max && label[i] == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+
+        private char[] label;
+        private Node[] children = NO_CHILDREN;
+        private long[] values = NO_VALUES;
+
+        Node(char[] label) {
+            this.label = label;
+        }
+
+        /**
+         * Búsqueda binaria del hijo por su primer carácter; negativo si no existe
+         * (con el mismo convenio que Arrays.binarySearch).
+         */
+        int childIndex(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char midChar = children[mid].label[0];
+                if (midChar < first) {
+                    low = mid + 1;
+                } else if (midChar > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void insertChild(int at, Node child) {
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, at);
+            grown[at] = child;
+            System.arraycopy(children, at, grown, at + 1, children.length - at);
+            children = grown;
+        }
+
+        void removeChild(Node child) {
+            int at = childIndex(child.label[0]);
+            if (at < 0) {
+                return;
+            }
+            Node[] shrunk = children.length == 1 ? NO_CHILDREN : new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, at);
+            System.arraycopy(children, at + 1, shrunk, at, children.length - at - 1);
+            children = shrunk;
+        }
+
+        boolean addValue(long id) {
+            for (long value : values) {
+                if (value == id) {
+                    return false;
+                }
+            }
+            values = Arrays.copyOf(values, values.length + 1);
+            values[values.length - 1] = id;
+            return true;
+        }
+
+        boolean removeValue(long id) {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == id) {
+                    long[] shrunk = values.length == 1 ? NO_VALUES : new long[values.length - 1];
+                    System.arraycopy(values, 0, shrunk, 0, i);
+                    System.arraycopy(values, i + 1, shrunk, i, values.length - i - 1);
+                    values = shrunk;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package proyeto1.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Diccionario de cadenas para la codificación por diccionario de una columna.
+ *
+ * Cada valor distinto recibe un código entero consecutivo (0, 1, 2...) la primera vez
+ * que aparece, de modo que la columna guarda un int por fila en lugar de una referencia
+ * a un String, y agrupar por el valor es contar por código en un array. Los códigos
+ * no se reutilizan: un valor que deja de usarse conserva el suyo.
+ *
+ * No es seguro para uso concurrente; quien lo use debe sincronizar el acceso.
+ *
+ * @version 1.0
+ */
+public class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * @param value Valor a codificar
+     * @return Código del valor, asignado ahora si es la primera vez que aparece
+     */
+    public int encode(String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * @param code Código devuelto por encode()
+     * @return Valor del código
+     * @throws IndexOutOfBoundsException si el código no se ha asignado
+     */
+    public String decode(int code) {
+        return values.get(code);
+    }
+
+    /**
+     * @return Número de valores distintos (los códigos van de 0 a size() - 1)
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * @return Copia de los valores, en orden de código
+     */
+    public List<String> values() {
+        return List.copyOf(values);
+    }
+}
@@ -0,0 +1,37 @@
+package proyeto1.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normaliza textos para las búsquedas: elimina tildes y diacríticos,
+ * pasa a minúsculas y colapsa los espacios.
+ *
+ * Así "Pérez", "PEREZ" y "perez" se indexan y se buscan igual.
+ *
+ * @version 1.0
+ */
+public final class TextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Normaliza un texto para búsqueda.
+     *
+     * @param text Texto original (puede ser null)
+     * @return Texto sin tildes, en minúsculas y con espacios simples; cadena vacía si es null
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String folded = DIACRITICS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,319 @@
+package proyeto1.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido de trigramas para búsquedas por subcadena.
+ *
+ * Cada texto se normaliza (sin tildes, en minúsculas) y se descompone en trigramas;
+ * para cada trigrama se guarda la lista ordenada de IDs que lo contienen. Una consulta
+ * intersecta las listas de sus trigramas empezando por la más corta, verifica los
+ * candidatos contra el texto y ordena los resultados por relevancia:
+ * coincidencia exacta, prefijo del texto, prefijo de palabra y, por último,
+ * subcadena interior; a igualdad, el texto más corto primero.
+ *
+ * Las consultas de varias palabras exigen que todas aparezcan (en cualquier orden).
+ * Las palabras de menos de tres caracteres se resuelven uniendo los trigramas que
+ * las contienen.
+ *
+ * Es seguro para uso concurrente: las lecturas comparten un bloqueo de lectura y
+ * las modificaciones toman el de escritura.
+ *
+ * @version 1.0
+ */
+public class TrigramIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Long, String> texts = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Añade o reemplaza el texto indexado para un ID.
+     *
+     * @param id   Identificador del documento
+     * @param text Texto a indexar
+     */
+    public void put(long id, String text) {
+        String normalized = TextNormalizer.normalize(text);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            texts.put(id, normalized);
+            for (long trigram : trigrams(normalized)) {
+                postings.computeIfAbsent(trigram, key -> new PostingList()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina un ID del índice.
+     *
+     * @param id Identificador del documento
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Número de textos indexados
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return texts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los IDs cuyo texto contiene todas las palabras de la consulta.
+     *
+     * @param query Texto a buscar (se normaliza igual que los textos indexados)
+     * @param limit Número máximo de resultados
+     * @return IDs ordenados de más a menos relevante
+     */
+    public List<Long> search(String query, int limit) {
+        String normalized = TextNormalizer.normalize(query);
+        if (normalized.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        String[] terms = normalized.split(" ");
+        String[] wordPrefixes = new String[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            wordPrefixes[i] = " " + terms[i];
+        }
+        lock.readLock().lock();
+        try {
+            long[] candidates = candidatesFor(terms);
+            if (candidates.length == 0) {
+                return List.of();
+            }
+
+            // Cola acotada con los mejores resultados: el peor queda en la cabeza
+            Comparator<Hit> byRelevance = Comparator.comparingInt(Hit::score)
+                    .thenComparingInt(Hit::length)
+                    .thenComparingLong(Hit::id);
+            PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, byRelevance.reversed());
+            for (long id : candidates) {
+                String text = texts.get(id);
+                int score = score(text, terms, wordPrefixes);
+                if (score >= 0) {
+                    best.add(new Hit(id, score, text.length()));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(byRelevance);
+            return hits.stream().map(Hit::id).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        String previous = texts.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (long trigram : trigrams(previous)) {
+            PostingList list = postings.get(trigram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * IDs cuyo texto puede contener todos los términos (requiere verificación posterior).
+     *
+     * Los trigramas de todos los términos largos se intersectan juntos, de la lista más
+     * corta a la más larga, de modo que el coste lo marca el trigrama más selectivo.
+     */
+    private long[] candidatesFor(String[] terms) {
+        Set<Long> queryTrigrams = new HashSet<>();
+        List<String> shortTerms = new ArrayList<>();
+        for (String term : terms) {
+            if (term.length() >= 3) {
+                queryTrigrams.addAll(trigrams(term));
+            } else {
+                shortTerms.add(term);
+            }
+        }
+
+        long[] result = null;
+        if (!queryTrigrams.isEmpty()) {
+            List<PostingList> lists = new ArrayList<>(queryTrigrams.size());
+            for (long trigram : queryTrigrams) {
+                PostingList list = postings.get(trigram);
+                if (list == null) {
+                    return EMPTY;
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            result = lists.get(0).toArray();
+            for (int i = 1; i < lists.size() && result.length > 0; i++) {
+                result = lists.get(i).retainAll(result);
+            }
+        }
+        for (String term : shortTerms) {
+            long[] matches = shortTermCandidates(term);
+            result = result == null ? matches : intersect(result, matches);
+        }
+        return result != null ? result : EMPTY;
+    }
+
+    /**
+     * Términos de menos de tres caracteres: unión de las listas de los trigramas que los contienen.
+     */
+    private long[] shortTermCandidates(String term) {
+        Set<Long> union = new HashSet<>();
+        for (Map.Entry<Long, PostingList> entry : postings.entrySet()) {
+            if (decode(entry.getKey()).contains(term)) {
+                PostingList list = entry.getValue();
+                for (int i = 0; i < list.size; i++) {
+                    union.add(list.ids[i]);
+                }
+            }
+        }
+        long[] result = union.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Puntuación de relevancia (menor es mejor) o -1 si algún término no aparece.
+     */
+    private static int score(String text, String[] terms, String[] wordPrefixes) {
+        if (terms.length == 1 && text.equals(terms[0])) {
+            return 0;
+        }
+        int worst = 1;
+        for (int i = 0; i < terms.length; i++) {
+            String term = terms[i];
+            int termScore;
+            if (text.startsWith(term)) {
+                termScore = 1;
+            } else if (text.contains(wordPrefixes[i])) {
+                termScore = 2;
+            } else if (text.contains(term)) {
+                termScore = 3;
+            } else {
+                return -1;
+            }
+            worst = Math.max(worst, termScore);
+        }
+        return worst;
+    }
+
+    private static Set<Long> trigrams(String text) {
+        Set<Long> result = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            result.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return result;
+    }
+
+    private static String decode(long trigram) {
+        return new String(new char[]{
+                (char) (trigram >>> 32), (char) (trigram >>> 16), (char) trigram});
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private record Hit(long id, int score, int length) {
+    }
+
+    /**
+     * Lista de IDs ordenada y sin duplicados sobre un array primitivo.
+     */
+    private static final class PostingList {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        /**
+         * Devuelve los IDs de candidates presentes en esta lista. Con pocos candidatos usa
+         * búsqueda binaria, de modo que el coste depende de ellos y no del tamaño de la lista.
+         */
+        long[] retainAll(long[] candidates) {
+            // Si hay muchos candidatos, un recorrido lineal de ambas listas es más barato
+            if ((long) candidates.length * 16 > size) {
+                return intersect(candidates, Arrays.copyOf(ids, size));
+            }
+            long[] result = new long[candidates.length];
+            int n = 0;
+            for (long candidate : candidates) {
+                if (Arrays.binarySearch(ids, 0, size, candidate) >= 0) {
+                    result[n++] = candidate;
+                }
+            }
+            return Arrays.copyOf(result, n);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package proyeto1.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import proyeto1.model.response.ApiResponse;
+import proyeto1.util.AdaptiveLimiter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Control de admisión delante de los endpoints de personas.
+ *
+ * Cada petición debe obtener plaza en un AdaptiveLimiter antes de llegar al controlador:
+ * uno para lecturas (GET y HEAD) y otro para escrituras, de modo que una ráfaga de
+ * escrituras lentas no deja sin plazas a las lecturas ni al revés. Si no hay plaza, se
+ * responde al momento 503 con Retry-After, sin ocupar un hilo de Tomcat ni una conexión
+ * del pool esperando.
+ *
+ * Las respuestas 5xx (pool agotado, tiempo de espera...) cuentan como sobrecarga; las
+ * 4xx y las peticiones que el cliente abandona (IOException al escribir la respuesta)
+ * no ajustan el límite. Las peticiones asíncronas (exportación) y las rutas excluidas
+ * no pasan por el limitador, porque su duración no refleja la carga del sistema.
+ *
+ * La latencia de cada petición se compara con la de su ruta y código de estado (por
+ * ejemplo "GET /personas/{id} 304"), no con la de todas las peticiones.
+ *
+ * Métricas: personas.admission.limit, personas.admission.inflight y
+ * personas.admission.rejected, con la etiqueta budget=read|write.
+ *
+ * @version 1.0
+ */
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdaptiveLimiter readLimiter;
+    private final AdaptiveLimiter writeLimiter;
+    private final Counter readRejected;
+    private final Counter writeRejected;
+    private final List<String> excludedPaths;
+    private final String retryAfterSeconds;
+    private final byte[] rejectionBody;
+
+    public AdmissionControlFilter(AdaptiveLimiter readLimiter, AdaptiveLimiter writeLimiter,
+                                  List<String> excludedPaths, Duration retryAfter,
+                                  ObjectMapper objectMapper, MeterRegistry meterRegistry) throws IOException {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.excludedPaths = excludedPaths;
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+        this.rejectionBody = objectMapper.writeValueAsBytes(ApiResponse.error(
+                "El servicio está sobrecargado, reintente más tarde", "SERVICE_UNAVAILABLE"));
+        this.readRejected = register(meterRegistry, "read", readLimiter);
+        this.writeRejected = register(meterRegistry, "write", writeLimiter);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return excludedPaths.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean read = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        AdaptiveLimiter limiter = read ? readLimiter : writeLimiter;
+        if (!limiter.tryAcquire()) {
+            (read ? readRejected : writeRejected).increment();
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean completed = false;
+        boolean aborted = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } catch (IOException ex) {
+            // El cliente cerró la conexión: no dice nada de la carga del servidor
+            aborted = true;
+            throw ex;
+        } finally {
+            if (aborted) {
+                limiter.onIgnore();
+            } else if (!completed || response.getStatus() >= 500) {
+                limiter.onOverload();
+            } else if (request.isAsyncStarted() || response.getStatus() >= 400) {
+                limiter.onIgnore();
+            } else {
+                limiter.onSuccess(route(request, response), System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * @return Método, patrón del endpoint y código de estado de la petición
+     */
+    private static String route(HttpServletRequest request, HttpServletResponse response) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "?") + " " + response.getStatus();
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(rejectionBody.length);
+        response.getOutputStream().write(rejectionBody);
+    }
+
+    private static Counter register(MeterRegistry registry, String budget, AdaptiveLimiter limiter) {
+        Gauge.builder("personas.admission.limit", limiter, AdaptiveLimiter::limit)
+                .description("Límite actual de peticiones concurrentes admitidas")
+                .tag("budget", budget)
+                .register(registry);
+        Gauge.builder("personas.admission.inflight", limiter, AdaptiveLimiter::inFlight)
+                .description("Peticiones admitidas en curso")
+                .tag("budget", budget)
+                .register(registry);
+        return Counter.builder("personas.admission.rejected")
+                .description("Peticiones rechazadas con 503 por falta de plaza")
+                .tag("budget", budget)
+                .register(registry);
+    }
+}
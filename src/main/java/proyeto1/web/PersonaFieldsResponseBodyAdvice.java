@@ -0,0 +1,41 @@
+package proyeto1.web;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+import proyeto1.controller.PersonaController;
+import proyeto1.model.PersonaFieldSet;
+
+/**
+ * Deja en la respuesta solo los campos de persona pedidos con el parámetro fields.
+ *
+ * El controlador valida el parámetro y guarda el PersonaFieldSet en el atributo
+ * {@link #ATTRIBUTE} de la petición; aquí se aplica su filtro al escribir el cuerpo,
+ * sea cual sea el formato (JSON, Smile o CBOR). Sin el atributo la respuesta no cambia.
+ *
+ * @version 1.0
+ */
+@ControllerAdvice(assignableTypes = PersonaController.class)
+public class PersonaFieldsResponseBodyAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    /**
+     * Atributo de la petición con el PersonaFieldSet pedido.
+     */
+    public static final String ATTRIBUTE = PersonaFieldSet.class.getName();
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(ATTRIBUTE) instanceof PersonaFieldSet fields
+                && !fields.isAll()) {
+            bodyContainer.setFilters(fields.filters());
+        }
+    }
+}
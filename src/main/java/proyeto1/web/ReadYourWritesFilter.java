@@ -0,0 +1,77 @@
+package proyeto1.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import proyeto1.datasource.ReadRouting;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Garantiza que un cliente lee sus propias escrituras aunque las lecturas vayan a réplicas.
+ *
+ * Cada escritura marca a su cliente durante una ventana que debe cubrir el retraso
+ * máximo de las réplicas; mientras dura, las lecturas de ese cliente se dirigen a la
+ * base de datos principal. El cliente se identifica por la cabecera X-Client-Id o, si
+ * no la envía, por su dirección IP.
+ *
+ * La marca se pone antes de la escritura (el cliente puede leer en cuanto recibe la
+ * respuesta) y se renueva al terminar, de modo que la ventana cuenta desde el commit.
+ *
+ * @version 1.0
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private final Cache<String, Boolean> recentWriters;
+
+    /**
+     * @param window     Tiempo durante el que las lecturas de un cliente van a la principal tras escribir
+     * @param maxClients Número máximo de clientes recordados a la vez
+     */
+    public ReadYourWritesFilter(Duration window, long maxClients) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxClients)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = clientId(request);
+        if (isRead(request)) {
+            if (recentWriters.getIfPresent(client) == null) {
+                chain.doFilter(request, response);
+                return;
+            }
+            try (ReadRouting.Scope ignored = ReadRouting.primary()) {
+                chain.doFilter(request, response);
+            }
+            return;
+        }
+
+        recentWriters.put(client, Boolean.TRUE);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+    }
+
+    private static String clientId(HttpServletRequest request) {
+        String header = request.getHeader(CLIENT_ID_HEADER);
+        return StringUtils.hasText(header) ? header : request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,50 @@
+package proyeto1.web;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import proyeto1.controller.PersonaController;
+import proyeto1.util.CacheValidators;
+
+/**
+ * Añade al ETag de la respuesta el sufijo del formato en que se escribe (Smile o CBOR).
+ *
+ * El controlador calcula el ETag antes de la negociación de contenido; aquí ya se
+ * conoce el formato elegido, de modo que JSON, Smile y CBOR de la misma versión no
+ * comparten ETag fuerte.
+ *
+ * @version 1.0
+ */
+@ControllerAdvice(assignableTypes = PersonaController.class)
+public class RepresentationEtagResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        String etag = response.getHeaders().getETag();
+        String representationEtag = CacheValidators.forRepresentation(etag, selectedContentType);
+        if (representationEtag != null && !representationEtag.equals(etag)) {
+            if (response instanceof ServletServerHttpResponse servletResponse) {
+                // La comprobación de If-None-Match de Spring puede haber escrito ya el ETag de JSON
+                // en la respuesta: se sustituye ahí y no se repite al escribir las cabeceras
+                response.getHeaders().remove(HttpHeaders.ETAG);
+                servletResponse.getServletResponse().setHeader(HttpHeaders.ETAG, representationEtag);
+            } else {
+                response.getHeaders().setETag(representationEtag);
+            }
+        }
+        return body;
+    }
+}
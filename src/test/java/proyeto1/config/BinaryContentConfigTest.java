@@ -0,0 +1,75 @@
+package proyeto1.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import proyeto1.model.response.ApiResponse;
+import proyeto1.model.response.PersonaResponse;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryContentConfigTest {
+
+    private static final TypeReference<ApiResponse<List<PersonaResponse>>> RESPONSE_TYPE = new TypeReference<>() {
+    };
+
+    private final ApiResponse<List<PersonaResponse>> response = ApiResponse.success("Personas encontradas correctamente",
+            LongStream.rangeClosed(1, 50).mapToObj(BinaryContentConfigTest::persona).toList());
+
+    @Test
+    void smileRoundTripsTheSameModelAsJson() throws IOException {
+        assertRoundTrip(BinaryContentConfig.smileMapper(builder()));
+    }
+
+    @Test
+    void cborRoundTripsTheSameModelAsJson() throws IOException {
+        assertRoundTrip(BinaryContentConfig.cborMapper(builder(), false));
+        assertRoundTrip(BinaryContentConfig.cborMapper(builder(), true));
+    }
+
+    @Test
+    void binaryListsAreSmallerThanJson() throws IOException {
+        int json = builder().build().writeValueAsBytes(response).length;
+
+        assertThat(BinaryContentConfig.smileMapper(builder()).writeValueAsBytes(response)).hasSizeLessThan(json);
+        assertThat(BinaryContentConfig.cborMapper(builder(), false).writeValueAsBytes(response)).hasSizeLessThan(json);
+        // Con stringref los nombres de campo se escriben una sola vez
+        assertThat(BinaryContentConfig.cborMapper(builder(), true).writeValueAsBytes(response))
+                .hasSizeLessThan(BinaryContentConfig.cborMapper(builder(), false).writeValueAsBytes(response).length);
+    }
+
+    private void assertRoundTrip(ObjectMapper mapper) throws IOException {
+        ApiResponse<List<PersonaResponse>> decoded = mapper.readValue(mapper.writeValueAsBytes(response), RESPONSE_TYPE);
+
+        assertThat(decoded).isEqualTo(response);
+    }
+
+    /**
+     * Constructor configurado como el de Spring Boot (fechas ISO-8601).
+     */
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static PersonaResponse persona(long id) {
+        return PersonaResponse.builder()
+                .id(id)
+                .nombre("Nombre" + id)
+                .apellido("Apellido" + id)
+                .documentoIdentidad(id + "-9")
+                .fechaNacimiento(LocalDate.of(1990, 1, 1).plusDays(id))
+                .correo("persona" + id + "@ejemplo.com")
+                .telefono(id % 2 == 0 ? "555-" + id : null)
+                .creadoEn(LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123_000_000))
+                .version(id % 3)
+                .build();
+    }
+}
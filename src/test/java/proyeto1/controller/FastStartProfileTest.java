@@ -0,0 +1,52 @@
+package proyeto1.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springdoc.core.service.OpenAPIService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Comprueba que la aplicación arranca y atiende peticiones con el perfil fast-start.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("fast-start")
+class FastStartProfileTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OpenAPIService openAPIService;
+
+    @Test
+    void servesPersonasWithDeferredRepositories() throws Exception {
+        mockMvc.perform(get("/personas/{id}", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.nombre").value("Juan"));
+        mockMvc.perform(get("/personas").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(3));
+    }
+
+    @Test
+    void openApiDocsAreBuiltOnFirstRequest() throws Exception {
+        assertThat(openAPIService.getCachedOpenAPI(Locale.ENGLISH)).isNull();
+
+        mockMvc.perform(get("/api-docs").locale(Locale.ENGLISH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.paths['/personas/{id}']").exists());
+
+        assertThat(openAPIService.getCachedOpenAPI(Locale.ENGLISH)).isNotNull();
+    }
+}
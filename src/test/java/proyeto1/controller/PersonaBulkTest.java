@@ -0,0 +1,116 @@
+package proyeto1.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import proyeto1.service.PersonaService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de la carga masiva (POST /personas/bulk) y de los IDs de los datos iniciales.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PersonaBulkTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PersonaService personaService;
+
+    @Test
+    void seedRowsKeepTheirFixedIds() throws Exception {
+        mockMvc.perform(get("/personas/2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.nombre").value("Ana"));
+        mockMvc.perform(get("/personas/10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.nombre").value("Elena"));
+    }
+
+    @Test
+    void newPersonasGetIdsAboveTheSeedRows() throws Exception {
+        assertThat(PersonaFixtures.create(mockMvc)).isGreaterThan(10);
+    }
+
+    @Test
+    void bulkCreatesValidRowsAndReportsFailures() throws Exception {
+        String suffix = PersonaFixtures.unique();
+        String body = "[" + String.join(",",
+                PersonaFixtures.personaJson("Uno", "BULK-1-" + suffix, "bulk1-" + suffix + "@test.com"),
+                PersonaFixtures.personaJson("Dos", "BULK-2-" + suffix, "bulk2-" + suffix + "@test.com"),
+                // Documento repetido dentro del lote
+                PersonaFixtures.personaJson("Tres", "BULK-1-" + suffix, "bulk3-" + suffix + "@test.com"),
+                // Documento que ya existe en la base de datos
+                PersonaFixtures.personaJson("Cuatro", "12345678-9", "bulk4-" + suffix + "@test.com"),
+                // Fila inválida: sin nombre
+                PersonaFixtures.personaJson("", "BULK-5-" + suffix, "bulk5-" + suffix + "@test.com")) + "]";
+
+        MvcResult result = mockMvc.perform(post("/personas/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.total").value(5))
+                .andExpect(jsonPath("$.data.created").value(2))
+                .andExpect(jsonPath("$.data.failures.length()").value(3))
+                .andExpect(jsonPath("$.data.failures[0].index").value(2))
+                .andExpect(jsonPath("$.data.failures[1].index").value(3))
+                .andExpect(jsonPath("$.data.failures[2].index").value(4))
+                .andReturn();
+        assertThat((String) JsonPath.read(result.getResponse().getContentAsString(), "$.data.failures[0].reason"))
+                .contains("repetido");
+    }
+
+    @Test
+    void rowRejectedForARepeatedCorreoDoesNotReserveItsDocumento() throws Exception {
+        String suffix = PersonaFixtures.unique();
+        String body = "[" + String.join(",",
+                PersonaFixtures.personaJson("Uno", "BULK-A-" + suffix, "m1-" + suffix + "@test.com"),
+                // Correo repetido: se rechaza y su documento queda libre
+                PersonaFixtures.personaJson("Dos", "BULK-B-" + suffix, "m1-" + suffix + "@test.com"),
+                PersonaFixtures.personaJson("Tres", "BULK-B-" + suffix, "m3-" + suffix + "@test.com")) + "]";
+
+        mockMvc.perform(post("/personas/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.created").value(2))
+                .andExpect(jsonPath("$.data.failures.length()").value(1))
+                .andExpect(jsonPath("$.data.failures[0].index").value(1))
+                .andExpect(jsonPath("$.data.failures[0].reason").value("Correo electrónico repetido dentro del lote"));
+        assertThat(personaService.getPersonaByDocumentoIdentidad("BULK-B-" + suffix))
+                .hasValueSatisfying(persona -> assertThat(persona.getNombre()).isEqualTo("Tres"));
+    }
+
+    @Test
+    void clientSuppliedIdIsIgnoredOnCreate() throws Exception {
+        for (long id : new long[]{1, 999_999}) {
+            String suffix = PersonaFixtures.unique();
+            String json = """
+                    {
+                        "id": %1$d,
+                        "nombre": "Conid",
+                        "apellido": "Prueba",
+                        "documentoIdentidad": "ID-%2$s",
+                        "fechaNacimiento": "1990-01-01",
+                        "correo": "id-%2$s@test.com",
+                        "telefono": "555-0000"
+                    }
+                    """.formatted(id, suffix);
+
+            long created = PersonaFixtures.create(mockMvc, json);
+
+            assertThat(created).isNotEqualTo(id).isGreaterThan(10);
+        }
+        mockMvc.perform(get("/personas/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.nombre").value("Juan"));
+    }
+}
@@ -0,0 +1,94 @@
+package proyeto1.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import proyeto1.model.Persona;
+import proyeto1.service.PersonaService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de la caché de lecturas por ID y por documento de identidad.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PersonaCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PersonaService personaService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void repeatedReadsByIdDoNotQueryTheDatabase() throws Exception {
+        long id = PersonaFixtures.create(mockMvc);
+        mockMvc.perform(get("/personas/{id}", id)).andExpect(status().isOk());
+
+        double before = selects();
+        mockMvc.perform(get("/personas/{id}", id)).andExpect(status().isOk());
+
+        assertThat(selects() - before).isZero();
+    }
+
+    @Test
+    void readsByDocumentoShareTheCachedPersona() {
+        Persona byId = personaService.getPersonaById(3L).orElseThrow();
+
+        double before = selects();
+        Persona byDocumento = personaService.getPersonaByDocumentoIdentidad(byId.getDocumentoIdentidad()).orElseThrow();
+        Persona again = personaService.getPersonaByDocumentoIdentidad(byId.getDocumentoIdentidad()).orElseThrow();
+
+        // La carga por ID ya dejó apuntado su documento: ninguna de las dos consulta la base de datos
+        assertThat(selects() - before).isZero();
+        assertThat(byDocumento).isSameAs(byId);
+        assertThat(again).isSameAs(byId);
+        assertThat(byDocumento.getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void missingDocumentoIsQueriedOnceWithoutReplicas() {
+        double before = selects();
+        assertThat(personaService.getPersonaByDocumentoIdentidad("DOC-" + PersonaFixtures.unique())).isEmpty();
+
+        // Sin réplicas no se repite la consulta en la principal
+        assertThat(selects() - before).isEqualTo(1);
+    }
+
+    @Test
+    void updatesAndDeletesInvalidateTheCachedPersona() throws Exception {
+        String suffix = PersonaFixtures.unique();
+        String documento = "DOC-" + suffix;
+        String correo = "cache-" + suffix + "@test.com";
+        long id = PersonaFixtures.create(mockMvc, PersonaFixtures.personaJson("Antes", documento, correo));
+        mockMvc.perform(get("/personas/{id}", id)).andExpect(jsonPath("$.data.nombre").value("Antes"));
+
+        mockMvc.perform(put("/personas/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PersonaFixtures.personaJson("Despues", documento, correo)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/personas/{id}", id)).andExpect(jsonPath("$.data.nombre").value("Despues"));
+        assertThat(personaService.getPersonaByDocumentoIdentidad(documento)).map(Persona::getNombre).contains("Despues");
+
+        mockMvc.perform(delete("/personas/{id}", id)).andExpect(status().isOk());
+        mockMvc.perform(get("/personas/{id}", id)).andExpect(status().isNotFound());
+        assertThat(personaService.getPersonaByDocumentoIdentidad(documento)).isEmpty();
+    }
+
+    private double selects() {
+        return meterRegistry.get("personas.db.statements").tag("type", "select").counter().count();
+    }
+}
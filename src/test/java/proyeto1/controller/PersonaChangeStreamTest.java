@@ -0,0 +1,122 @@
+package proyeto1.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import proyeto1.service.support.PersonaChangeStream;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests del flujo de cambios (GET /personas/stream).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PersonaChangeStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PersonaChangeStream changeStream;
+
+    @Test
+    void patchIsStreamedWithTheFullState() throws Exception {
+        long id = PersonaFixtures.create(mockMvc);
+        String etag = etagOf(id);
+        MvcResult stream = mockMvc.perform(get("/personas/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        try {
+            patchPersona(id, etag, "{\"telefono\": \"555-0101\"}");
+
+            // El nombre del evento y sus datos se escriben por separado: se espera a los datos
+            String events = awaitContent(stream.getResponse(), "\"telefono\":\"555-0101\"");
+            assertThat(events)
+                    .contains("event:PATCHED")
+                    .contains("\"personaId\":" + id)
+                    // El teléfono no está indexado, pero con suscriptores se lee el estado completo
+                    .contains("\"apellido\":\"Prueba\"");
+        } finally {
+            stream.getRequest().getAsyncContext().complete();
+        }
+    }
+
+    @Test
+    void patchWithKnownVersionIsNotReadBack() throws Exception {
+        long id = PersonaFixtures.create(mockMvc);
+        String etag = etagOf(id);
+        assertThat(changeStream.hasSubscribers()).isFalse();
+
+        double before = selects();
+        // El teléfono no afecta a ningún índice y nadie escucha el flujo: basta con el UPDATE
+        patchPersona(id, etag, "{\"telefono\": \"555-0102\"}")
+                .andExpect(header().string(HttpHeaders.ETAG, containsString(id + "-1")));
+
+        assertThat(selects() - before).isZero();
+        mockMvc.perform(get("/personas/{id}", id))
+                .andExpect(jsonPath("$.data.telefono").value("555-0102"))
+                .andExpect(jsonPath("$.data.version").value(1));
+    }
+
+    @Test
+    void patchReadsTheRowOnceForAllListeners() throws Exception {
+        long id = PersonaFixtures.create(mockMvc);
+
+        double before = selects();
+        // Cambiar el nombre afecta a la caché, a los índices de búsqueda y al flujo de cambios
+        patchPersona(id, "*", "{\"nombre\": \"Indexada\"}");
+
+        assertThat(selects() - before).isEqualTo(1);
+    }
+
+    private String etagOf(long id) throws Exception {
+        return mockMvc.perform(get("/personas/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private ResultActions patchPersona(long id, String ifMatch, String body) throws Exception {
+        return mockMvc.perform(patch("/personas/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, ifMatch)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+    }
+
+    private double selects() {
+        return meterRegistry.get("personas.db.statements").tag("type", "select").counter().count();
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(5));
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && Instant.now().isBefore(deadline)) {
+            Thread.sleep(20);
+            content = response.getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+}
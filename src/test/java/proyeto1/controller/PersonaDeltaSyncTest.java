@@ -0,0 +1,130 @@
+package proyeto1.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import proyeto1.service.support.PersonaShards;
+import proyeto1.util.CursorCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de la sincronización incremental (GET /personas/changes).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PersonaDeltaSyncTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PersonaShards shards;
+
+    /**
+     * Resultado acumulado de una sincronización completa.
+     */
+    private record Sync(List<Long> changed, List<Long> deleted, String nextToken) {
+    }
+
+    @Test
+    void firstSyncReturnsEveryPersonaAndAToken() throws Exception {
+        Sync sync = sync(null);
+
+        assertThat(sync.changed()).contains(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        assertThat(sync.nextToken()).isNotBlank();
+    }
+
+    @Test
+    void syncFromATokenReturnsCreatedPatchedAndDeletedPersonas() throws Exception {
+        long patched = PersonaFixtures.create(mockMvc);
+        long removed = PersonaFixtures.create(mockMvc);
+        String token = sync(null).nextToken();
+
+        long created = PersonaFixtures.create(mockMvc);
+        mockMvc.perform(patch("/personas/{id}", patched)
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\": \"Sincronizada\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/personas/{id}", removed)).andExpect(status().isOk());
+
+        Sync delta = sync(token);
+
+        assertThat(delta.changed()).contains(created, patched).doesNotContain(removed);
+        assertThat(delta.deleted()).contains(removed);
+    }
+
+    @Test
+    void changesInsideTheSettleWindowAreRepeatedOnTheNextSync() throws Exception {
+        String token = sync(null).nextToken();
+        long created = PersonaFixtures.create(mockMvc);
+
+        Sync first = sync(token);
+        Sync second = sync(first.nextToken());
+
+        // El cambio es demasiado reciente para que el token lo deje atrás
+        assertThat(first.changed()).contains(created);
+        assertThat(second.changed()).contains(created);
+    }
+
+    @Test
+    void invalidTokenOrLimitIsRejected() throws Exception {
+        mockMvc.perform(get("/personas/changes").param("since", "no-es-un-token"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("BAD_REQUEST"));
+        mockMvc.perform(get("/personas/changes").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void tokenOlderThanTheRetentionOrFromOtherShardsHasExpired() throws Exception {
+        long[] ancient = new long[shards.count() + 1];
+        long[] otherShards = new long[shards.count() + 2];
+        otherShards[0] = System.currentTimeMillis();
+
+        mockMvc.perform(get("/personas/changes").param("since", CursorCodec.encodeAll(ancient)))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.errorCode").value("SYNC_TOKEN_EXPIRED"));
+        mockMvc.perform(get("/personas/changes").param("since", CursorCodec.encodeAll(otherShards)))
+                .andExpect(status().isGone());
+    }
+
+    /**
+     * Sincroniza desde un token siguiendo nextToken mientras queden cambios.
+     */
+    private Sync sync(String token) throws Exception {
+        List<Long> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        boolean hasMore;
+        do {
+            var request = get("/personas/changes");
+            if (token != null) {
+                request.param("since", token);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            List<Number> changedIds = JsonPath.read(body, "$.data.changed[*].id");
+            List<Number> deletedIds = JsonPath.read(body, "$.data.deleted");
+            changedIds.forEach(id -> changed.add(id.longValue()));
+            deletedIds.forEach(id -> deleted.add(id.longValue()));
+            token = JsonPath.read(body, "$.data.nextToken");
+            hasMore = JsonPath.read(body, "$.data.hasMore");
+        } while (hasMore);
+        return new Sync(changed, deleted, token);
+    }
+}
@@ -0,0 +1,85 @@
+package proyeto1.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de la exportación en streaming (GET /personas/export).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PersonaExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportsEveryPersonaAsOneJsonObjectPerLineInIdOrder() throws Exception {
+        long created = PersonaFixtures.create(mockMvc);
+
+        List<JsonNode> lines = export(null);
+
+        List<Long> ids = lines.stream().map(line -> line.get("id").asLong()).toList();
+        assertThat(ids).isSorted().doesNotHaveDuplicates().contains(1L, 10L, created);
+        assertThat(lines.get(0).get("nombre").asText()).isEqualTo("Juan");
+        assertThat(lines.get(0).has("correo")).isTrue();
+    }
+
+    @Test
+    void fieldsTrimEachLine() throws Exception {
+        JsonNode first = export("nombre").get(0);
+
+        assertThat(first.get("id").asLong()).isEqualTo(1L);
+        assertThat(first.get("nombre").asText()).isEqualTo("Juan");
+        assertThat(first.has("correo")).isFalse();
+        assertThat(first.has("version")).isFalse();
+    }
+
+    @Test
+    void unknownFieldIsRejectedBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/personas/export").param("fields", "salario"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<JsonNode> export(String fields) throws Exception {
+        var builder = get("/personas/export");
+        if (fields != null) {
+            builder.param("fields", fields);
+        }
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isBlank()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,87 @@
+package proyeto1.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de la selección de campos (parámetro fields) en las lecturas de personas.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PersonaFieldsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void byIdReturnsOnlyTheRequestedFieldsAndTheId() throws Exception {
+        mockMvc.perform(get("/personas/{id}", 1).param("fields", "nombre,correo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(jsonPath("$.data.id").value(1))
+                .andExpect(jsonPath("$.data.nombre").value("Juan"))
+                .andExpect(jsonPath("$.data.correo").isString())
+                .andExpect(jsonPath("$.data.version").doesNotExist());
+    }
+
+    @Test
+    void versionIsReturnedOnlyWhenRequested() throws Exception {
+        mockMvc.perform(get("/personas/{id}", 1).param("fields", "version"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data.version").isNumber());
+    }
+
+    @Test
+    void pageAndSearchTrimEveryItem() throws Exception {
+        mockMvc.perform(get("/personas").param("limit", "5").param("fields", "apellido"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(5))
+                .andExpect(jsonPath("$.data.items[*].apellido").isNotEmpty())
+                .andExpect(jsonPath("$.data.items[*].nombre").isEmpty())
+                .andExpect(jsonPath("$.data.nextCursor").isString());
+
+        mockMvc.perform(get("/personas/search").param("q", "Ana").param("fields", "nombre"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].id", hasItem(2)))
+                .andExpect(jsonPath("$.data[*].nombre", everyItem(notNullValue())))
+                .andExpect(jsonPath("$.data[*].correo").isEmpty());
+    }
+
+    @Test
+    void binaryRepresentationsHonourTheSelection() throws Exception {
+        byte[] body = mockMvc.perform(get("/personas/{id}", 1)
+                        .param("fields", "nombre")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode data = new CBORMapper().readTree(body).get("data");
+        assertThat(data.properties()).extracting(Map.Entry::getKey).containsExactlyInAnyOrder("id", "nombre");
+    }
+
+    @Test
+    void unknownFieldIsRejected() throws Exception {
+        mockMvc.perform(get("/personas/{id}", 1).param("fields", "nombre,salario"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("BAD_REQUEST"));
+        mockMvc.perform(get("/personas").param("fields", "salario"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,67 @@
+package proyeto1.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Datos de prueba para los tests de la API de personas.
+ *
+ * El contexto de Spring (y su base de datos H2 en memoria) se comparte entre clases de
+ * test, por lo que cada persona lleva un documento y un correo únicos.
+ */
+final class PersonaFixtures {
+
+    private PersonaFixtures() {
+    }
+
+    /**
+     * @return Sufijo único para documentos y correos
+     */
+    static String unique() {
+        return UUID.randomUUID().toString().substring(0, 13);
+    }
+
+    /**
+     * @return Cuerpo JSON de una persona válida con documento y correo únicos
+     */
+    static String personaJson(String nombre) {
+        String suffix = unique();
+        return personaJson(nombre, "DOC-" + suffix, "persona-" + suffix + "@test.com");
+    }
+
+    static String personaJson(String nombre, String documento, String correo) {
+        return """
+                {
+                    "nombre": "%s",
+                    "apellido": "Prueba",
+                    "documentoIdentidad": "%s",
+                    "fechaNacimiento": "1990-01-01",
+                    "correo": "%s",
+                    "telefono": "555-0000"
+                }
+                """.formatted(nombre, documento, correo);
+    }
+
+    /**
+     * Crea una persona con POST /personas.
+     *
+     * @return ID de la persona creada
+     */
+    static long create(MockMvc mockMvc, String json) throws Exception {
+        MvcResult result = mockMvc.perform(post("/personas").contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return ((Number) JsonPath.read(result.getResponse().getContentAsString(), "$.data.id")).longValue();
+    }
+
+    static long create(MockMvc mockMvc) throws Exception {
+        return create(mockMvc, personaJson("Persona"));
+    }
+}
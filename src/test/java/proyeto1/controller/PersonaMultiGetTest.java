@@ -0,0 +1,75 @@
+package proyeto1.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de la consulta de varias personas por ID (GET /personas?ids=...).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PersonaMultiGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void returnsPersonasInRequestOrderAndListsMissingIds() throws Exception {
+        mockMvc.perform(get("/personas").param("ids", "3,1,99999,3"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.message").value("Personas encontradas: 2 de 3"))
+                .andExpect(jsonPath("$.data.items[*].id", contains(3, 1)))
+                .andExpect(jsonPath("$.data.items[0].nombre").isString())
+                .andExpect(jsonPath("$.data.items[0].version").isNumber())
+                .andExpect(jsonPath("$.data.missing", contains(99999)));
+    }
+
+    @Test
+    void unchangedBatchAnswersNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/personas").param("ids", "2,4"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/personas").param("ids", "2,4").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/personas").param("ids", "4,2").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void fieldsParameterTrimsEachItem() throws Exception {
+        mockMvc.perform(get("/personas").param("ids", "1,2").param("fields", "nombre"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[*].id", contains(1, 2)))
+                .andExpect(jsonPath("$.data.items[0].nombre").isString())
+                .andExpect(jsonPath("$.data.items[0].correo").doesNotExist())
+                .andExpect(jsonPath("$.data.items[0].apellido").doesNotExist());
+    }
+
+    @Test
+    void emptyOrOversizedRequestIsRejected() throws Exception {
+        String tooMany = LongStream.rangeClosed(1, 101)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/personas").param("ids", ""))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/personas").param("ids", tooMany))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("BAD_REQUEST"));
+    }
+}
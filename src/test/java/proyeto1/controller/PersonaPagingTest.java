@@ -0,0 +1,80 @@
+package proyeto1.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de la paginación por cursor de GET /personas.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PersonaPagingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void firstPageStartsAtTheLowestIdAndLinksTheNext() throws Exception {
+        mockMvc.perform(get("/personas").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(3))
+                .andExpect(jsonPath("$.data.items[0].id").value(1))
+                .andExpect(jsonPath("$.data.limit").value(3))
+                .andExpect(jsonPath("$.data.hasMore").value(true))
+                .andExpect(jsonPath("$.data.nextCursor").isString());
+    }
+
+    @Test
+    void followingCursorsVisitsEveryRowOnceInIdOrder() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/personas").param("limit", "4");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            List<Number> page = JsonPath.read(body, "$.data.items[*].id");
+            page.forEach(id -> ids.add(id.longValue()));
+            cursor = JsonPath.read(body, "$.data.nextCursor");
+        } while (cursor != null);
+
+        assertThat(ids).isSorted().doesNotHaveDuplicates().contains(1L, 10L);
+    }
+
+    @Test
+    void unchangedPageAnswersNotModified() throws Exception {
+        MvcResult first = mockMvc.perform(get("/personas").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/personas").param("limit", "5").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void invalidCursorOrLimitIsRejected() throws Exception {
+        mockMvc.perform(get("/personas").param("cursor", "no-es-un-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("BAD_REQUEST"));
+        mockMvc.perform(get("/personas").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,117 @@
+package proyeto1.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PersonaPatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void patchesOnlySentFieldsAndReturnsNewEtag() throws Exception {
+        long id = PersonaFixtures.create(mockMvc);
+        String etag = etagOf(id);
+
+        patchPersona(id, etag, "{\"telefono\": \"555-1234\"}")
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, containsString(id + "-1")));
+
+        mockMvc.perform(get("/personas/{id}", id))
+                .andExpect(jsonPath("$.data.telefono").value("555-1234"))
+                .andExpect(jsonPath("$.data.apellido").value("Prueba"))
+                .andExpect(jsonPath("$.data.version").value(1));
+    }
+
+    @Test
+    void staleEtagIsRejectedWithPreconditionFailed() throws Exception {
+        long id = PersonaFixtures.create(mockMvc);
+        String etag = etagOf(id);
+        patchPersona(id, etag, "{\"nombre\": \"Primero\"}").andExpect(status().isOk());
+
+        patchPersona(id, etag, "{\"nombre\": \"Segundo\"}")
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errorCode").value("PRECONDITION_FAILED"));
+
+        mockMvc.perform(get("/personas/{id}", id)).andExpect(jsonPath("$.data.nombre").value("Primero"));
+    }
+
+    @Test
+    void staleVersionInBodyIsRejectedWithConflict() throws Exception {
+        long id = PersonaFixtures.create(mockMvc);
+        patchPersona(id, null, "{\"nombre\": \"Primero\", \"version\": 0}").andExpect(status().isOk());
+
+        patchPersona(id, null, "{\"nombre\": \"Segundo\", \"version\": 0}").andExpect(status().isConflict());
+    }
+
+    @Test
+    void patchWithoutVersionRequiresPrecondition() throws Exception {
+        long id = PersonaFixtures.create(mockMvc);
+
+        patchPersona(id, null, "{\"nombre\": \"Nuevo\"}").andExpect(status().isPreconditionRequired());
+    }
+
+    @Test
+    void duplicateDocumentoIsRejectedWithBadRequest() throws Exception {
+        String documento = "DOC-" + PersonaFixtures.unique();
+        PersonaFixtures.create(mockMvc, PersonaFixtures.personaJson("Primera", documento, PersonaFixtures.unique() + "@test.com"));
+        long id = PersonaFixtures.create(mockMvc);
+
+        patchPersona(id, "*", "{\"documentoIdentidad\": \"" + documento + "\"}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("Documento de Identidad")));
+    }
+
+    @Test
+    void duplicateCorreoIsRejectedWithBadRequest() throws Exception {
+        String correo = PersonaFixtures.unique() + "@test.com";
+        PersonaFixtures.create(mockMvc, PersonaFixtures.personaJson("Primera", "DOC-" + PersonaFixtures.unique(), correo));
+        long id = PersonaFixtures.create(mockMvc);
+
+        patchPersona(id, "*", "{\"correo\": \"" + correo + "\"}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("correo")));
+    }
+
+    @Test
+    void patchingOwnUniqueValuesIsAllowed() throws Exception {
+        String documento = "DOC-" + PersonaFixtures.unique();
+        String correo = PersonaFixtures.unique() + "@test.com";
+        long id = PersonaFixtures.create(mockMvc, PersonaFixtures.personaJson("Propia", documento, correo));
+
+        patchPersona(id, "*", "{\"documentoIdentidad\": \"" + documento + "\", \"correo\": \"" + correo + "\"}")
+                .andExpect(status().isOk());
+    }
+
+    private String etagOf(long id) throws Exception {
+        return mockMvc.perform(get("/personas/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private ResultActions patchPersona(long id, String ifMatch, String body) throws Exception {
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.patch("/personas/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+        if (ifMatch != null) {
+            request.header(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return mockMvc.perform(request);
+    }
+}
@@ -0,0 +1,95 @@
+package proyeto1.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de las representaciones binarias (Smile y CBOR) y de sus validadores.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PersonaRepresentationTest {
+
+    private static final String SMILE = "application/x-jackson-smile";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void eachRepresentationHasItsOwnEtag() throws Exception {
+        long id = PersonaFixtures.create(mockMvc);
+
+        String json = etagOf(id, MediaType.APPLICATION_JSON_VALUE);
+        String smile = etagOf(id, SMILE);
+        String cbor = etagOf(id, MediaType.APPLICATION_CBOR_VALUE);
+
+        assertThat(json).isEqualTo("\"" + id + "-0\"");
+        assertThat(smile).isEqualTo("\"" + id + "-0.smile\"");
+        assertThat(cbor).isEqualTo("\"" + id + "-0.cbor\"");
+    }
+
+    @Test
+    void conditionalGetMatchesOnlyTheSameRepresentation() throws Exception {
+        long id = PersonaFixtures.create(mockMvc);
+        String json = etagOf(id, MediaType.APPLICATION_JSON_VALUE);
+        String smile = etagOf(id, SMILE);
+
+        mockMvc.perform(get("/personas/{id}", id).accept(SMILE).header(HttpHeaders.IF_NONE_MATCH, smile))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, smile));
+        // El ETag de JSON no valida una copia en Smile
+        mockMvc.perform(get("/personas/{id}", id).accept(SMILE).header(HttpHeaders.IF_NONE_MATCH, json))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE));
+        mockMvc.perform(get("/personas/{id}", id).header(HttpHeaders.IF_NONE_MATCH, smile))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void collectionEtagsDependOnRepresentation() throws Exception {
+        String json = mockMvc.perform(get("/personas").param("limit", "5"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        List<String> cborEtags = mockMvc.perform(get("/personas").param("limit", "5").accept(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeaders(HttpHeaders.ETAG);
+
+        assertThat(cborEtags).hasSize(1);
+        String cbor = cborEtags.get(0);
+        assertThat(cbor).isNotEqualTo(json).endsWith(".cbor\"");
+        mockMvc.perform(get("/personas").param("limit", "5").accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, cbor))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void ifMatchAcceptsBinaryEtag() throws Exception {
+        long id = PersonaFixtures.create(mockMvc);
+        String smile = etagOf(id, SMILE);
+
+        mockMvc.perform(patch("/personas/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, smile)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"telefono\": \"555-9999\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + id + "-1\""));
+    }
+
+    private String etagOf(long id, String accept) throws Exception {
+        return mockMvc.perform(get("/personas/{id}", id).accept(accept))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
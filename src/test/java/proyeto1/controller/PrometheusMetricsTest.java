@@ -0,0 +1,53 @@
+package proyeto1.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Comprueba que las métricas del servicio se publican en /actuator/prometheus.
+ *
+ * Los tests desactivan por defecto la exportación de métricas: @AutoConfigureObservability
+ * la vuelve a activar.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class PrometheusMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void serviceCallsArePublishedByMethodAndOutcome() throws Exception {
+        mockMvc.perform(get("/personas/{id}", 1)).andExpect(status().isOk());
+        // Persona inexistente: el servicio lanza la excepción y la llamada cuenta como ERROR
+        mockMvc.perform(patch("/personas/{id}", 999999)
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"telefono\": \"555-0000\"}"))
+                .andExpect(status().isNotFound());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .containsPattern("personas_service_seconds_count\\{[^}]*method=\"getPersonaById\"[^}]*outcome=\"SUCCESS\"")
+                .containsPattern("personas_service_seconds_bucket\\{[^}]*method=\"getPersonaById\"")
+                .containsPattern("personas_service_seconds_count\\{[^}]*exception=\"ResourceNotFoundException\""
+                        + "[^}]*method=\"patchPersona\"[^}]*outcome=\"ERROR\"")
+                .containsPattern("personas_service_statements_count\\{[^}]*method=\"getPersonaById\"")
+                .containsPattern("personas_service_statements_sum\\{[^}]*method=\"getPersonaById\"");
+    }
+}
@@ -0,0 +1,81 @@
+package proyeto1.controller;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Comprueba que con spring.threads.virtual.enabled las peticiones y las tareas asíncronas
+ * (la exportación NDJSON) se ejecutan en hilos virtuales.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadModeTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    @Autowired
+    private ThreadRecordingFilter threadRecordingFilter;
+
+    /**
+     * Anota el hilo que atendió la última petición.
+     */
+    static class ThreadRecordingFilter extends OncePerRequestFilter {
+
+        private final AtomicReference<Thread> lastThread = new AtomicReference<>();
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            lastThread.set(Thread.currentThread());
+            chain.doFilter(request, response);
+        }
+    }
+
+    @TestConfiguration
+    static class ThreadRecordingConfig {
+
+        @Bean
+        ThreadRecordingFilter threadRecordingFilter() {
+            return new ThreadRecordingFilter();
+        }
+    }
+
+    @Test
+    void requestsAreServedOnVirtualThreads() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/personas/1", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(threadRecordingFilter.lastThread.get().isVirtual()).isTrue();
+    }
+
+    @Test
+    void asyncTasksRunOnVirtualThreads() throws Exception {
+        boolean virtual = taskExecutor.submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS);
+
+        assertThat(virtual).isTrue();
+    }
+}
@@ -0,0 +1,87 @@
+package proyeto1.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cada base de datos H2 en memoria hace de principal o de réplica y guarda su propio nombre,
+ * de modo que la consulta revela a cuál se dirigió.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        ReplicaRoutingDataSource replicas = new ReplicaRoutingDataSource(primary,
+                List.of(database("replica-a"), database("replica-b")));
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(replicas);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void readOnlyTransactionsAlternateBetweenReplicas() {
+        List<String> origins = List.of(readOnlyOrigin(), readOnlyOrigin(), readOnlyOrigin(), readOnlyOrigin());
+
+        assertThat(origins).containsExactly("replica-a", "replica-b", "replica-a", "replica-b");
+    }
+
+    @Test
+    void readWriteTransactionsUsePrimary() {
+        String origin = readWrite.execute(status -> origin());
+
+        assertThat(origin).isEqualTo("primary");
+    }
+
+    @Test
+    void readsRequiringPrimaryBypassReplicas() {
+        assertThat(ReadRouting.onPrimary(this::readOnlyOrigin)).isEqualTo("primary");
+        assertThat(ReadRouting.isPrimaryRequired()).isFalse();
+    }
+
+    @Test
+    void nestedScopesRestorePreviousState() {
+        try (ReadRouting.Scope outer = ReadRouting.primary()) {
+            ReadRouting.onPrimary(() -> null);
+            assertThat(ReadRouting.isPrimaryRequired()).isTrue();
+        }
+        assertThat(ReadRouting.isPrimaryRequired()).isFalse();
+    }
+
+    private String readOnlyOrigin() {
+        return readOnly.execute(status -> origin());
+    }
+
+    private String origin() {
+        return jdbcTemplate.queryForObject("select name from origin", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table if not exists origin (name varchar(20))");
+        jdbc.update("delete from origin");
+        jdbc.update("insert into origin (name) values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,46 @@
+package proyeto1.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementCounterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StatementCounter counter = new StatementCounter(meterRegistry);
+
+    private double count(String type) {
+        return meterRegistry.get("personas.db.statements").tag("type", type).counter().count();
+    }
+
+    @Test
+    void countsStatementsByType() {
+        counter.inspect("select p1_0.id from personas p1_0");
+        counter.inspect("  INSERT into personas (id) values (?)");
+        counter.inspect("update personas set nombre=? where id=?");
+        counter.inspect("delete from personas where id=?");
+        counter.inspect("call next value for personas_seq");
+
+        assertThat(count("select")).isEqualTo(1);
+        assertThat(count("insert")).isEqualTo(1);
+        assertThat(count("update")).isEqualTo(1);
+        assertThat(count("delete")).isEqualTo(1);
+        assertThat(count("other")).isEqualTo(1);
+    }
+
+    @Test
+    void nestedCallsAccumulateIntoOuterCall() {
+        long[] outer = counter.begin();
+        counter.inspect("select 1");
+
+        long[] inner = counter.begin();
+        counter.inspect("select 2");
+        counter.inspect("select 3");
+        assertThat(counter.end(inner)).isEqualTo(2);
+
+        assertThat(counter.end(outer)).isEqualTo(3);
+        assertThat(outer).isNull();
+    }
+}
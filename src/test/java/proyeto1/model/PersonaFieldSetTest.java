@@ -0,0 +1,73 @@
+package proyeto1.model;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import proyeto1.model.response.PersonaResponse;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PersonaFieldSetTest {
+
+    @JsonFilter(PersonaFieldSet.FILTER_ID)
+    interface FilterMixin {
+    }
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .mixIn(PersonaResponse.class, FilterMixin.class)
+            .build();
+
+    @Test
+    void emptyOrMissingFieldsMeanAll() {
+        assertThat(PersonaFieldSet.parse(null)).isSameAs(PersonaFieldSet.ALL);
+        assertThat(PersonaFieldSet.parse(" ")).isSameAs(PersonaFieldSet.ALL);
+        assertThat(PersonaFieldSet.parse(",")).isSameAs(PersonaFieldSet.ALL);
+        assertThat(PersonaFieldSet.ALL.isAll()).isTrue();
+    }
+
+    @Test
+    void sameFieldsInAnyOrderShareThePlan() {
+        PersonaFieldSet fields = PersonaFieldSet.parse("correo,nombre");
+
+        assertThat(PersonaFieldSet.parse(" nombre , correo,nombre")).isSameAs(fields);
+        assertThat(fields.isAll()).isFalse();
+        assertThat(fields.fields()).containsExactly("id", "nombre", "correo");
+    }
+
+    @Test
+    void selectsOnlyRequestedColumnsPlusIdAndVersion() {
+        assertThat(PersonaFieldSet.parse("apellido").select())
+                .isEqualTo("select p.id as id, p.apellido as apellido, p.version as version from Persona p ");
+    }
+
+    @Test
+    void unknownFieldIsRejected() {
+        assertThatThrownBy(() -> PersonaFieldSet.parse("nombre,salario"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("salario");
+    }
+
+    @Test
+    void filterWritesOnlyRequestedFields() throws IOException {
+        PersonaResponse persona = PersonaResponse.builder()
+                .id(7L)
+                .nombre("Ana")
+                .apellido("Gómez")
+                .fechaNacimiento(LocalDate.of(1990, 1, 1))
+                .version(3L)
+                .build();
+
+        String partial = mapper.writer(PersonaFieldSet.parse("nombre,fechaNacimiento").filters()).writeValueAsString(persona);
+        String full = mapper.writer(PersonaFieldSet.ALL.filters()).writeValueAsString(persona);
+
+        assertThat(partial).isEqualTo("{\"id\":7,\"nombre\":\"Ana\",\"fechaNacimiento\":\"1990-01-01\"}");
+        assertThat(full).contains("\"apellido\":\"Gómez\"", "\"version\":3");
+    }
+}
@@ -0,0 +1,153 @@
+package proyeto1.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import proyeto1.model.Persona;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de la confirmación agrupada de altas (persona.group-commit.enabled).
+ *
+ * La espera máxima del grupo es larga y las altas se envían con una pequeña pausa entre
+ * ellas, de modo que llegan a la cola en orden y se confirman en un único grupo.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:group-commit",
+        "persona.group-commit.enabled=true",
+        "persona.group-commit.max-wait=1s"
+})
+class PersonaGroupCommitTest {
+
+    private static final long SUBMIT_GAP_MILLIS = 100;
+
+    @Autowired
+    private PersonaService personaService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void stopCallers() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void rejectedCreateDoesNotReserveItsDocumentoForTheRestOfTheGroup() throws Exception {
+        String suffix = unique();
+        List<CompletableFuture<Persona>> results = submitInOneGroup(
+                persona("Uno", "GC-A-" + suffix, "m1-" + suffix + "@test.com"),
+                // Correo repetido: se rechaza y su documento queda libre
+                persona("Dos", "GC-B-" + suffix, "m1-" + suffix + "@test.com"),
+                persona("Tres", "GC-B-" + suffix, "m3-" + suffix + "@test.com"));
+
+        assertThat(results.get(0).get().getId()).isNotNull();
+        assertThat(errorOf(results.get(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("correo electrónico");
+        assertThat(results.get(2).get().getId()).isNotNull();
+        assertThat(personaService.getPersonaByDocumentoIdentidad("GC-B-" + suffix))
+                .hasValueSatisfying(persona -> assertThat(persona.getNombre()).isEqualTo("Tres"));
+    }
+
+    @Test
+    void eachCallerGetsItsOwnResult() throws Exception {
+        String suffix = unique();
+        List<CompletableFuture<Persona>> results = submitInOneGroup(
+                persona("Valida", "GC-V-" + suffix, "v-" + suffix + "@test.com"),
+                // Documento de los datos iniciales
+                persona("Existente", "12345678-9", "e-" + suffix + "@test.com"),
+                // Documento repetido dentro del grupo
+                persona("Repetida", "GC-V-" + suffix, "r-" + suffix + "@test.com"));
+
+        assertThat(results.get(0).get().getNombre()).isEqualTo("Valida");
+        assertThat(errorOf(results.get(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("12345678-9");
+        assertThat(errorOf(results.get(2)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("GC-V-" + suffix);
+    }
+
+    @Test
+    void failedGroupIsRetriedOneCreateAtATime() throws Exception {
+        String suffix = unique();
+        List<CompletableFuture<Persona>> results = submitInOneGroup(
+                persona("Primera", "GC-1-" + suffix, "p1-" + suffix + "@test.com"),
+                // Pasa la comprobación de repetidos pero la validación JPA hace fallar el grupo
+                persona("", "GC-2-" + suffix, "p2-" + suffix + "@test.com"),
+                persona("Tercera", "GC-3-" + suffix, "p3-" + suffix + "@test.com"));
+
+        assertThat(results.get(0).get().getId()).isNotNull();
+        assertThat(errorOf(results.get(1))).hasRootCauseInstanceOf(ConstraintViolationException.class);
+        assertThat(results.get(2).get().getId()).isNotNull();
+        assertThat(personaService.getPersonaByDocumentoIdentidad("GC-1-" + suffix)).isPresent();
+        assertThat(personaService.getPersonaByDocumentoIdentidad("GC-2-" + suffix)).isEmpty();
+        assertThat(personaService.getPersonaByDocumentoIdentidad("GC-3-" + suffix)).isPresent();
+    }
+
+    /**
+     * Envía las altas desde hilos distintos, en orden, y comprueba que formaron un único grupo.
+     */
+    private List<CompletableFuture<Persona>> submitInOneGroup(Persona... personas) throws Exception {
+        DistributionSummary groups = meterRegistry.get("personas.group.commit.size").summary();
+        long groupsBefore = groups.count();
+        double createsBefore = groups.totalAmount();
+
+        List<CompletableFuture<Persona>> results = new ArrayList<>();
+        for (Persona persona : personas) {
+            results.add(CompletableFuture.supplyAsync(() -> personaService.savePersona(persona), callers));
+            Thread.sleep(SUBMIT_GAP_MILLIS);
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .exceptionally(ex -> null)
+                .get(10, TimeUnit.SECONDS);
+
+        assertThat(groups.count() - groupsBefore).isEqualTo(1);
+        assertThat(groups.totalAmount() - createsBefore).isEqualTo(personas.length);
+        return results;
+    }
+
+    private static Throwable errorOf(CompletableFuture<Persona> result) {
+        try {
+            result.get();
+        } catch (ExecutionException ex) {
+            return ex.getCause();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+        throw new AssertionError("Se esperaba un error y el alta se guardó");
+    }
+
+    private static Persona persona(String nombre, String documento, String correo) {
+        return Persona.builder()
+                .nombre(nombre)
+                .apellido("Prueba")
+                .documentoIdentidad(documento)
+                .fechaNacimiento(LocalDate.of(1990, 1, 1))
+                .correo(correo)
+                .build();
+    }
+
+    private static String unique() {
+        return UUID.randomUUID().toString().substring(0, 13);
+    }
+}
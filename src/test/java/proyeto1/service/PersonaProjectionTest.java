@@ -0,0 +1,79 @@
+package proyeto1.service;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+import proyeto1.model.response.PersonaResponse;
+import proyeto1.repository.PersonaRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Comprueba que las lecturas por proyección (listado, búsqueda y exportación) devuelven
+ * los mismos datos que la conversión de la entidad, sin cargar entidades gestionadas.
+ */
+@SpringBootTest
+class PersonaProjectionTest {
+
+    @Autowired
+    private PersonaService personaService;
+
+    @Autowired
+    private PersonaRepository personaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void pageMatchesTheEntityMapping() {
+        List<PersonaResponse> page = personaService.getPersonasPage(null, 10).getItems();
+
+        assertThat(page).isNotEmpty().allSatisfy(this::assertMatchesEntity);
+    }
+
+    @Test
+    void searchMatchesTheEntityMapping() {
+        List<PersonaResponse> results = personaService.searchPersonasByName("Ana");
+
+        assertThat(results).extracting(PersonaResponse::getId).contains(2L);
+        assertThat(results).allSatisfy(this::assertMatchesEntity);
+    }
+
+    @Test
+    void exportMatchesTheEntityMapping() {
+        List<PersonaResponse> exported = new ArrayList<>();
+        personaService.exportPersonas(exported::add);
+
+        assertThat(exported).extracting(PersonaResponse::getId).contains(1L, 10L);
+        assertThat(exported.subList(0, 10)).allSatisfy(this::assertMatchesEntity);
+    }
+
+    @Test
+    void projectionQueriesDoNotFillThePersistenceContext() {
+        int[] entities = transactionTemplate.execute(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            personaRepository.findResponsesAfterId(0L, Limit.of(10));
+            int afterProjection = session.getStatistics().getEntityCount();
+            personaRepository.findById(1L);
+            return new int[]{afterProjection, session.getStatistics().getEntityCount()};
+        });
+
+        assertThat(entities[0]).isZero();
+        assertThat(entities[1]).isEqualTo(1);
+    }
+
+    private void assertMatchesEntity(PersonaResponse projected) {
+        PersonaResponse mapped = PersonaResponse.fromEntity(personaRepository.findById(projected.getId()).orElseThrow());
+        assertThat(projected).isEqualTo(mapped);
+    }
+}
@@ -0,0 +1,102 @@
+package proyeto1.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import proyeto1.model.Persona;
+import proyeto1.model.response.PersonaResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Comprueba que las lecturas del servicio llegan a la réplica.
+ *
+ * La réplica es otra base de datos H2 con el mismo esquema que la principal pero con
+ * una persona que solo existe en ella, de modo que encontrarla revela a cuál se dirigió
+ * la consulta.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "persona.datasource.routing.enabled=true",
+        "persona.datasource.replica.urls=" + PersonaReadRoutingTest.REPLICA_URL
+})
+class PersonaReadRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    private static final long REPLICA_ONLY_ID = 5000L;
+    private static final String REPLICA_ONLY_DOCUMENTO = "REPLICA-5000";
+
+    @Autowired
+    private PersonaService personaService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @BeforeEach
+    void copySchemaToReplica() {
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        Integer tables = replica.queryForObject(
+                "select count(*) from information_schema.tables where table_name = 'PERSONAS'", Integer.class);
+        if (tables != null && tables > 0) {
+            return;
+        }
+        new JdbcTemplate(primaryDataSource).queryForList("script nodata", String.class)
+                .forEach(replica::execute);
+        replica.update("""
+                insert into personas (id, nombre, apellido, documento_identidad, fecha_nacimiento, correo, version)
+                values (?, 'Replica', 'Prueba', ?, '1990-01-01', 'replica@test.com', 0)
+                """, REPLICA_ONLY_ID, REPLICA_ONLY_DOCUMENTO);
+    }
+
+    @Test
+    void pagesAreReadFromReplica() {
+        List<Long> ids = personaService.getPersonasPage(null, 100).getItems().stream()
+                .map(PersonaResponse::getId)
+                .toList();
+
+        assertThat(ids).containsExactly(REPLICA_ONLY_ID);
+    }
+
+    @Test
+    void batchLookupsAreReadFromReplica() {
+        assertThat(personaService.getPersonasByIds(List.of(REPLICA_ONLY_ID, 1L)).getMissing()).containsExactly(1L);
+    }
+
+    @Test
+    void changesAreReadFromReplica() {
+        assertThat(personaService.getPersonaChanges(null, 100).getChanged())
+                .extracting(PersonaResponse::getId)
+                .containsExactly(REPLICA_ONLY_ID);
+    }
+
+    @Test
+    void cacheMissesAreReadFromReplica() {
+        assertThat(personaService.getPersonaById(REPLICA_ONLY_ID)).isPresent();
+        assertThat(personaService.getPersonaByDocumentoIdentidad(REPLICA_ONLY_DOCUMENTO)).isPresent();
+        assertThat(personaService.getPersonaVersion(REPLICA_ONLY_ID)).isPresent();
+    }
+
+    @Test
+    void recentlyWrittenPersonasAreReadFromPrimary() {
+        Persona persona = new Persona();
+        persona.setNombre("Reciente");
+        persona.setApellido("Prueba");
+        persona.setDocumentoIdentidad("RECIENTE-1");
+        persona.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+        persona.setCorreo("reciente@test.com");
+        Long id = personaService.savePersona(persona).getId();
+
+        assertThat(personaService.getPersonaById(id)).isPresent();
+        assertThat(personaService.getPersonaByDocumentoIdentidad("RECIENTE-1")).isPresent();
+    }
+}
@@ -0,0 +1,110 @@
+package proyeto1.service.support;
+
+import org.junit.jupiter.api.Test;
+import proyeto1.model.Persona;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersonaColumnsTest {
+
+    private final PersonaColumns columns = new PersonaColumns();
+
+    @Test
+    void countsByYearFromOldestToNewest() {
+        columns.put(persona(1, LocalDate.of(1990, 12, 31), "a@uno.com"));
+        columns.put(persona(2, LocalDate.of(1991, 1, 1), "b@uno.com"));
+        columns.put(persona(3, LocalDate.of(1993, 6, 15), "c@dos.com"));
+
+        PersonaColumns.Histogram histogram = columns.countByYear(PersonaColumns.DateColumn.FECHA_NACIMIENTO);
+
+        assertThat(histogram.first()).isEqualTo(1990);
+        assertThat(histogram.counts()).containsExactly(1, 1, 0, 1);
+        assertThat(histogram.total()).isEqualTo(3);
+        assertThat(histogram.missing()).isZero();
+    }
+
+    @Test
+    void countsByDayLeavingOutOfRangeAsMissing() {
+        columns.put(persona(1, LocalDate.of(1990, 1, 1), "a@uno.com"));
+        columns.put(persona(2, LocalDate.of(1990, 1, 1), "b@uno.com"));
+        columns.put(persona(3, LocalDate.of(1990, 1, 1), "c@uno.com"));
+        int day = (int) LocalDate.of(2024, 5, 2).toEpochDay();
+
+        PersonaColumns.Histogram histogram = columns.countByDay(PersonaColumns.DateColumn.CREADO_EN, day, day + 1);
+
+        // Las altas de prueba son del 1 de mayo: fuera del rango pedido
+        assertThat(histogram.counts()).containsExactly(0, 0);
+        assertThat(histogram.missing()).isEqualTo(3);
+    }
+
+    @Test
+    void countsByRangeWithInclusiveLowerBound() {
+        columns.put(persona(1, LocalDate.ofEpochDay(10), "a@uno.com"));
+        columns.put(persona(2, LocalDate.ofEpochDay(19), "b@uno.com"));
+        columns.put(persona(3, LocalDate.ofEpochDay(20), "c@uno.com"));
+        columns.put(persona(4, LocalDate.ofEpochDay(30), "d@uno.com"));
+
+        PersonaColumns.Histogram histogram = columns.countByRange(PersonaColumns.DateColumn.FECHA_NACIMIENTO, new int[]{10, 20, 30});
+
+        assertThat(histogram.counts()).containsExactly(2, 1);
+        assertThat(histogram.missing()).isEqualTo(1);
+    }
+
+    @Test
+    void emailDomainsAreDictionaryEncodedCaseInsensitively() {
+        columns.put(persona(1, LocalDate.of(1990, 1, 1), "a@Uno.com"));
+        columns.put(persona(2, LocalDate.of(1990, 1, 1), "b@uno.com"));
+        columns.put(persona(3, LocalDate.of(1990, 1, 1), "c@dos.com"));
+        columns.put(persona(4, LocalDate.of(1990, 1, 1), "sin-dominio"));
+
+        PersonaColumns.Histogram histogram = columns.countByEmailDomain();
+
+        assertThat(histogram.labels()).containsExactly("uno.com", "dos.com");
+        assertThat(histogram.counts()).containsExactly(2, 1);
+        assertThat(histogram.missing()).isEqualTo(1);
+    }
+
+    @Test
+    void updatesAndDeletesReplaceRowsInPlace() {
+        columns.put(persona(1, LocalDate.of(1990, 1, 1), "a@uno.com"));
+        columns.put(persona(2, LocalDate.of(1990, 1, 1), "b@uno.com"));
+        columns.put(persona(1, LocalDate.of(1990, 1, 1), "a@dos.com"));
+        columns.remove(2L);
+        columns.remove(99L);
+        columns.put(persona(3, LocalDate.of(1990, 1, 1), "c@dos.com"));
+
+        PersonaColumns.Histogram histogram = columns.countByEmailDomain();
+
+        assertThat(columns.size()).isEqualTo(2);
+        assertThat(histogram.counts()).containsExactly(0, 2);
+        assertThat(histogram.total()).isEqualTo(2);
+    }
+
+    @Test
+    void growsBeyondInitialCapacity() {
+        for (long id = 1; id <= 100_000; id++) {
+            columns.put(persona(id, LocalDate.of(1950, 1, 1).plusDays(id % 20_000), "p" + id + "@d" + (id % 5) + ".com"));
+        }
+
+        PersonaColumns.Histogram byYear = columns.countByYear(PersonaColumns.DateColumn.FECHA_NACIMIENTO);
+        PersonaColumns.Histogram byDomain = columns.countByEmailDomain();
+
+        assertThat(LongStream.of(byYear.counts()).sum()).isEqualTo(100_000);
+        assertThat(byDomain.counts()).containsOnly(20_000);
+    }
+
+    private static Persona persona(long id, LocalDate fechaNacimiento, String correo) {
+        return Persona.builder()
+                .id(id)
+                .nombre("Nombre")
+                .apellido("Apellido")
+                .fechaNacimiento(fechaNacimiento)
+                .correo(correo)
+                .creadoEn(LocalDateTime.of(2024, 5, 1, 10, 0))
+                .build();
+    }
+}
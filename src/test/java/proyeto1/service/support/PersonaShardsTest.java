@@ -0,0 +1,82 @@
+package proyeto1.service.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import proyeto1.datasource.ShardRouting;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PersonaShardsTest {
+
+    private final PersonaShards shards = new PersonaShards(true, List.of("a", "b", "c", "d"),
+            new DataSourceTransactionManager());
+
+    @AfterEach
+    void tearDown() {
+        shards.shutdown();
+    }
+
+    @Test
+    void spreadsDocumentosEvenlyAndStably() {
+        int[] perShard = new int[4];
+        for (int i = 0; i < 40_000; i++) {
+            String documento = "DOC" + i;
+            int shard = shards.forDocumento(documento);
+            assertThat(shards.forDocumento(documento)).isEqualTo(shard);
+            perShard[shard]++;
+        }
+
+        assertThat(Arrays.stream(perShard).boxed().toList()).allSatisfy(count -> assertThat(count).isBetween(9_000, 11_000));
+    }
+
+    @Test
+    void idsEncodeTheirShard() {
+        for (int shard = 0; shard < 4; shard++) {
+            assertThat(shards.forId(PersonaShards.firstId(shard) + 2)).isEqualTo(shard);
+            assertThat(shards.forId(PersonaShards.firstId(shard + 1) - 1)).isEqualTo(shard);
+        }
+        assertThat(PersonaShards.firstId(PersonaShards.MAX_SHARDS)).isLessThanOrEqualTo(1L << 53);
+    }
+
+    @Test
+    void singleShardRunsInlineWithoutRouting() {
+        PersonaShards single = new PersonaShards(false, List.of(), new DataSourceTransactionManager());
+
+        assertThat(single.forDocumento("X")).isZero();
+        assertThat(single.forId(PersonaShards.firstId(3))).isZero();
+        assertThat(single.fanOut(shard -> ShardRouting.current())).containsExactly((Integer) null);
+    }
+
+    @Test
+    void fanOutRunsEachShardWithItsRoutingInOrder() {
+        assertThat(shards.fanOut(shard -> ShardRouting.current() * 10)).containsExactly(0, 10, 20, 30);
+        assertThat(shards.fanOut(List.of(3, 1), shard -> ShardRouting.current())).containsExactly(3, 1);
+        assertThat(ShardRouting.current()).isNull();
+    }
+
+    @Test
+    void fanOutRethrowsShardFailure() {
+        assertThatThrownBy(() -> shards.fanOut(shard -> {
+            if (shard == 2) {
+                throw new IllegalArgumentException("fragmento 2");
+            }
+            return shard;
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("fragmento 2");
+    }
+
+    @Test
+    void partitionGroupsByShardKeepingOrder() {
+        Map<Integer, List<Long>> byShard = shards.partition(
+                List.of(PersonaShards.firstId(2) + 5, 7L, PersonaShards.firstId(2) + 1, 3L), shards::forId);
+
+        assertThat(byShard).containsOnlyKeys(0, 2);
+        assertThat(byShard.get(0)).containsExactly(7L, 3L);
+        assertThat(byShard.get(2)).containsExactly(PersonaShards.firstId(2) + 5, PersonaShards.firstId(2) + 1);
+    }
+}
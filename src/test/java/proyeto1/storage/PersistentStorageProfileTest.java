@@ -0,0 +1,102 @@
+package proyeto1.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import proyeto1.NuevoProyeto1Application;
+import proyeto1.model.Persona;
+import proyeto1.service.PersonaService;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Arranca la aplicación varias veces con el perfil persistent sobre el mismo directorio
+ * de datos, como si se reiniciara: comprueba que los datos iniciales solo se cargan con
+ * la tabla vacía y que una instantánea restaurada deja la secuencia de IDs por encima de
+ * las filas restauradas.
+ */
+class PersistentStorageProfileTest {
+
+    private static final long SEED_ROWS = 10;
+
+    @TempDir
+    Path storageDir;
+
+    @Test
+    void seedsOnlyAnEmptyTableAndKeepsDataAcrossRestarts() {
+        Path dataDir = storageDir.resolve("data");
+        long savedId;
+        try (ConfigurableApplicationContext context = start(dataDir, "")) {
+            assertThat(outcome(context)).isEqualTo(PersonaStorageInitializer.Outcome.SEEDED);
+            assertThat(rows(context)).isEqualTo(SEED_ROWS);
+            savedId = save(context, "REINICIO-1").getId();
+        }
+
+        try (ConfigurableApplicationContext context = start(dataDir, "")) {
+            assertThat(outcome(context)).isEqualTo(PersonaStorageInitializer.Outcome.EXISTING);
+            assertThat(rows(context)).isEqualTo(SEED_ROWS + 1);
+            assertThat(context.getBean(PersonaService.class).getPersonaById(savedId))
+                    .map(Persona::getDocumentoIdentidad)
+                    .contains("REINICIO-1");
+        }
+    }
+
+    @Test
+    void restoresSnapshotIntoAnEmptyTableAndRestartsTheSequence() throws Exception {
+        Path snapshot = storageDir.resolve("personas.snapshot");
+        long maxId;
+        try (ConfigurableApplicationContext context = start(storageDir.resolve("origen"), "")) {
+            maxId = save(context, "ORIGEN-1").getId();
+            context.getBean(PersonaSnapshotService.class).write(snapshot);
+        }
+
+        try (ConfigurableApplicationContext context = start(storageDir.resolve("destino"), snapshot.toString())) {
+            assertThat(outcome(context)).isEqualTo(PersonaStorageInitializer.Outcome.RESTORED);
+            assertThat(rows(context)).isEqualTo(SEED_ROWS + 1);
+            assertThat(context.getBean(PersonaService.class).getPersonaByDocumentoIdentidad("ORIGEN-1"))
+                    .map(Persona::getId)
+                    .contains(maxId);
+
+            // La secuencia continúa por encima de las filas restauradas: el alta no choca con ninguna
+            assertThat(save(context, "DESTINO-1").getId()).isGreaterThan(maxId);
+        }
+
+        // Con la tabla ya cargada, restore-from se ignora
+        try (ConfigurableApplicationContext context = start(storageDir.resolve("destino"), snapshot.toString())) {
+            assertThat(outcome(context)).isEqualTo(PersonaStorageInitializer.Outcome.EXISTING);
+            assertThat(rows(context)).isEqualTo(SEED_ROWS + 2);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(Path dataDir, String restoreFrom) {
+        // Como argumentos: las propiedades por defecto del builder no se imponen a las del perfil
+        return new SpringApplicationBuilder(NuevoProyeto1Application.class)
+                .profiles("persistent")
+                .run("--server.port=0",
+                        "--persona.storage.dir=" + dataDir,
+                        "--persona.storage.restore-from=" + restoreFrom);
+    }
+
+    private static PersonaStorageInitializer.Outcome outcome(ConfigurableApplicationContext context) {
+        return context.getBean(PersonaStorageInitializer.class).outcome();
+    }
+
+    private static long rows(ConfigurableApplicationContext context) {
+        return context.getBean(JdbcTemplate.class).queryForObject("select count(*) from personas", Long.class);
+    }
+
+    private static Persona save(ConfigurableApplicationContext context, String documento) {
+        return context.getBean(PersonaService.class).savePersona(Persona.builder()
+                .nombre("Persistente")
+                .apellido("Prueba")
+                .documentoIdentidad(documento)
+                .fechaNacimiento(LocalDate.of(1990, 1, 1))
+                .correo(documento.toLowerCase() + "@test.com")
+                .build());
+    }
+}
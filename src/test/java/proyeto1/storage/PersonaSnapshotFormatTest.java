@@ -0,0 +1,85 @@
+package proyeto1.storage;
+
+import org.junit.jupiter.api.Test;
+import proyeto1.model.Persona;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PersonaSnapshotFormatTest {
+
+    private static final Persona COMPLETA = Persona.builder()
+            .id(51L).version(3L)
+            .nombre("María").apellido("Rodríguez")
+            .documentoIdentidad("87654321-0").correo("maria.rodriguez@example.com")
+            .fechaNacimiento(LocalDate.of(1995, 9, 14))
+            .telefono("934567891").direccion("Calle 4, Ciudad")
+            .creadoEn(LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123_456_789))
+            .actualizadoEn(LocalDateTime.of(2024, 5, 2, 8, 0))
+            .build();
+
+    private static final Persona SIN_OPCIONALES = Persona.builder()
+            .id(1L).version(0L)
+            .nombre("Juan").apellido("Pérez")
+            .documentoIdentidad("12345678-9").correo("juan.perez@example.com")
+            .fechaNacimiento(LocalDate.of(1990, 5, 15))
+            .creadoEn(null)
+            .build();
+
+    @Test
+    void roundTripPreservesEveryColumnIncludingNulls() throws IOException {
+        byte[] snapshot = write(COMPLETA, SIN_OPCIONALES);
+
+        assertThat(readAll(snapshot)).containsExactly(COMPLETA, SIN_OPCIONALES);
+    }
+
+    @Test
+    void emptySnapshotHasNoRows() throws IOException {
+        assertThat(readAll(write())).isEmpty();
+    }
+
+    @Test
+    void rejectsTruncatedSnapshot() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PersonaSnapshotFormat.Writer writer = new PersonaSnapshotFormat.Writer(bytes)) {
+            writer.write(COMPLETA);
+            // Sin finish(): falta el cierre con el número de filas
+        }
+
+        assertThatThrownBy(() -> readAll(bytes.toByteArray())).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void rejectsFilesThatAreNotSnapshots() {
+        assertThatThrownBy(() -> readAll(new byte[]{1, 2, 3, 4})).isInstanceOf(IOException.class);
+    }
+
+    private static byte[] write(Persona... personas) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PersonaSnapshotFormat.Writer writer = new PersonaSnapshotFormat.Writer(bytes)) {
+            for (Persona persona : personas) {
+                writer.write(persona);
+            }
+            assertThat(writer.finish()).isEqualTo(personas.length);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<Persona> readAll(byte[] snapshot) throws IOException {
+        List<Persona> personas = new ArrayList<>();
+        try (PersonaSnapshotFormat.Reader reader = new PersonaSnapshotFormat.Reader(new ByteArrayInputStream(snapshot))) {
+            for (Persona persona = reader.next(); persona != null; persona = reader.next()) {
+                personas.add(persona);
+            }
+        }
+        return personas;
+    }
+}
@@ -0,0 +1,121 @@
+package proyeto1.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveLimiterTest {
+
+    private static final long FAST = 1_000_000;
+    private static final long SLOW = 10_000_000;
+
+    @Test
+    void rejectsWhenInFlightReachesLimit() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 10, 2.0, 0.5);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.inFlight()).isEqualTo(2);
+
+        limiter.onIgnore();
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void growsAdditivelyWhileLatencyStaysLowAndLimitIsUsed() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(4, 1, 10, 2.0, 0.5);
+
+        for (int i = 0; i < 40; i++) {
+            while (limiter.tryAcquire()) {
+                // Ocupa todo el límite
+            }
+            int inFlight = limiter.inFlight();
+            for (int j = 0; j < inFlight; j++) {
+                limiter.onSuccess(FAST);
+            }
+        }
+
+        assertThat(limiter.limit()).isGreaterThan(4).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void doesNotGrowWithoutLoad() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 100, 2.0, 0.5);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess(FAST);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(10);
+    }
+
+    @Test
+    void backsOffOnceForABurstOfSlowResponses() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(8, 1, 10, 2.0, 0.5);
+        limiter.tryAcquire();
+        limiter.onSuccess(FAST);
+
+        for (int i = 0; i < 8; i++) {
+            limiter.tryAcquire();
+        }
+        for (int i = 0; i < 8; i++) {
+            limiter.onSuccess(SLOW);
+        }
+
+        // Las ocho respuestas lentas reflejan la misma sobrecarga: una sola reducción
+        assertThat(limiter.limit()).isEqualTo(4);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void fastRoutesDoNotSetTheBaselineOfSlowerRoutes() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(8, 1, 10, 2.0, 0.5);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess("GET /personas/{id} 304", FAST / 100);
+            limiter.tryAcquire();
+            limiter.onSuccess("GET /personas 200", FAST);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(8);
+    }
+
+    @Test
+    void isolatedSlowResponsesAreNotOverload() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(8, 1, 10, 2.0, 0.5);
+
+        // Un fallo de caché de vez en cuando entre aciertos mucho más rápidos
+        for (int i = 0; i < 200; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess(i % 20 == 0 ? SLOW : FAST);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(8);
+    }
+
+    @Test
+    void overloadReducesLimitButNeverBelowMinimum() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(8, 3, 10, 2.0, 0.5);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.onOverload();
+        }
+
+        assertThat(limiter.limit()).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThatThrownBy(() -> new AdaptiveLimiter(5, 10, 20, 2.0, 0.5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveLimiter(5, 1, 20, 1.0, 0.5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveLimiter(5, 1, 20, 2.0, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
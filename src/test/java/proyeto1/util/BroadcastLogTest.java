@@ -0,0 +1,132 @@
+package proyeto1.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BroadcastLogTest {
+
+    private static final Duration NO_WAIT = Duration.ZERO;
+
+    @Test
+    void deliversNewValuesToEverySubscriber() throws InterruptedException {
+        BroadcastLog<String> log = new BroadcastLog<>(10, 10);
+        log.publish("antes");
+        BroadcastLog.Subscription<String> first = log.subscribe();
+        BroadcastLog.Subscription<String> second = log.subscribe();
+
+        long sequence = log.publish("a");
+
+        assertThat(sequence).isEqualTo(2);
+        assertThat(first.poll(NO_WAIT)).isEqualTo(new BroadcastLog.Entry<>(2, "a"));
+        assertThat(second.poll(NO_WAIT)).isEqualTo(new BroadcastLog.Entry<>(2, "a"));
+        assertThat(first.poll(NO_WAIT)).isNull();
+        assertThat(log.subscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    void closedSubscriptionStopsReceiving() throws InterruptedException {
+        BroadcastLog<String> log = new BroadcastLog<>(10, 10);
+        BroadcastLog.Subscription<String> subscription = log.subscribe();
+
+        subscription.close();
+        log.publish("a");
+
+        assertThat(subscription.isFinished()).isTrue();
+        assertThat(subscription.poll(NO_WAIT)).isNull();
+        assertThat(log.subscriberCount()).isZero();
+    }
+
+    @Test
+    void slowSubscriberIsDroppedAfterDrainingItsQueue() throws InterruptedException {
+        BroadcastLog<String> log = new BroadcastLog<>(10, 2);
+        BroadcastLog.Subscription<String> slow = log.subscribe();
+        BroadcastLog.Subscription<String> fast = log.subscribe();
+
+        for (String value : List.of("a", "b", "c")) {
+            log.publish(value);
+            fast.poll(NO_WAIT);
+        }
+
+        assertThat(slow.isOverflowed()).isTrue();
+        assertThat(slow.isFinished()).isFalse();
+        assertThat(drain(slow)).containsExactly("a", "b");
+        assertThat(slow.isFinished()).isTrue();
+        assertThat(fast.isOverflowed()).isFalse();
+        assertThat(log.subscriberCount()).isEqualTo(1);
+        assertThat(log.overflowCount()).isEqualTo(1);
+    }
+
+    @Test
+    void resumesFromLastSequenceWithoutGapsOrDuplicates() throws InterruptedException {
+        BroadcastLog<String> log = new BroadcastLog<>(10, 10);
+        long lastReceived = log.publish("a");
+        log.publish("b");
+        log.publish("c");
+
+        BroadcastLog.Subscription<String> subscription = log.subscribe(lastReceived);
+        log.publish("d");
+
+        assertThat(subscription.hasGap()).isFalse();
+        assertThat(drain(subscription)).containsExactly("b", "c", "d");
+    }
+
+    @Test
+    void marksGapWhenResumePointLeftTheBuffer() throws InterruptedException {
+        BroadcastLog<String> log = new BroadcastLog<>(2, 10);
+        long lastReceived = log.publish("a");
+        log.publish("b");
+        log.publish("c");
+        log.publish("d");
+
+        BroadcastLog.Subscription<String> subscription = log.subscribe(lastReceived);
+        log.publish("e");
+
+        assertThat(subscription.hasGap()).isTrue();
+        assertThat(subscription.startSequence()).isEqualTo(4);
+        assertThat(drain(subscription)).containsExactly("e");
+    }
+
+    @Test
+    void resumesWhenOnlyTheOldestKeptValueIsMissing() throws InterruptedException {
+        BroadcastLog<String> log = new BroadcastLog<>(2, 10);
+        log.publish("a");
+        long lastReceived = log.publish("b");
+        log.publish("c");
+        log.publish("d");
+
+        BroadcastLog.Subscription<String> subscription = log.subscribe(lastReceived);
+
+        assertThat(subscription.hasGap()).isFalse();
+        assertThat(drain(subscription)).containsExactly("c", "d");
+    }
+
+    @Test
+    void marksGapWhenResumePointIsInTheFuture() {
+        BroadcastLog<String> log = new BroadcastLog<>(10, 10);
+        log.publish("a");
+
+        assertThat(log.subscribe(5).hasGap()).isTrue();
+        assertThat(log.subscribe(1).hasGap()).isFalse();
+        assertThat(log.subscribe(0).hasGap()).isFalse();
+    }
+
+    @Test
+    void rejectsInvalidCapacities() {
+        assertThatThrownBy(() -> new BroadcastLog<String>(0, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BroadcastLog<String>(10, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<String> drain(BroadcastLog.Subscription<String> subscription) throws InterruptedException {
+        List<String> values = new ArrayList<>();
+        for (BroadcastLog.Entry<String> entry = subscription.poll(NO_WAIT); entry != null; entry = subscription.poll(NO_WAIT)) {
+            values.add(entry.value());
+        }
+        return values;
+    }
+}
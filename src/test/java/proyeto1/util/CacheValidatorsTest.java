@@ -0,0 +1,80 @@
+package proyeto1.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import proyeto1.model.PersonaVersion;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheValidatorsTest {
+
+    private static String etagOf(List<PersonaVersion> versions, boolean hasMore) {
+        return CacheValidators.collectionEtag(versions, PersonaVersion::id, PersonaVersion::version, hasMore);
+    }
+
+    @Test
+    void itemEtagIsQuotedIdAndVersion() {
+        assertThat(CacheValidators.etag(7L, 3L)).isEqualTo("\"7-3\"");
+    }
+
+    @Test
+    void parseVersionReadsBackItemEtag() {
+        assertThat(CacheValidators.parseVersion(CacheValidators.etag(7L, 3L), 7L)).isEqualTo(3L);
+    }
+
+    @Test
+    void parseVersionRejectsForeignWeakOrMalformedEtags() {
+        assertThat(CacheValidators.parseVersion("\"8-3\"", 7L)).isNull();
+        assertThat(CacheValidators.parseVersion("\"77-3\"", 7L)).isNull();
+        assertThat(CacheValidators.parseVersion("W/\"7-3\"", 7L)).isNull();
+        assertThat(CacheValidators.parseVersion("\"7-\"", 7L)).isNull();
+        assertThat(CacheValidators.parseVersion("\"7-x\"", 7L)).isNull();
+        assertThat(CacheValidators.parseVersion("7-3", 7L)).isNull();
+    }
+
+    @Test
+    void binaryRepresentationsGetTheirOwnEtag() {
+        String json = CacheValidators.etag(7L, 3L);
+
+        assertThat(CacheValidators.forRepresentation(json, MediaType.APPLICATION_JSON)).isEqualTo(json);
+        assertThat(CacheValidators.forRepresentation(json, CacheValidators.SMILE)).isEqualTo("\"7-3.smile\"");
+        assertThat(CacheValidators.forRepresentation(json, MediaType.APPLICATION_CBOR)).isEqualTo("\"7-3.cbor\"");
+        // Aplicarlo dos veces no repite el sufijo
+        assertThat(CacheValidators.forRepresentation("\"7-3.cbor\"", MediaType.APPLICATION_CBOR)).isEqualTo("\"7-3.cbor\"");
+    }
+
+    @Test
+    void parseVersionAcceptsEtagOfAnyRepresentation() {
+        assertThat(CacheValidators.parseVersion("\"7-3.smile\"", 7L)).isEqualTo(3L);
+        assertThat(CacheValidators.parseVersion("\"7-3.cbor\"", 7L)).isEqualTo(3L);
+        assertThat(CacheValidators.parseVersion("\"7-3.xml\"", 7L)).isNull();
+    }
+
+    @Test
+    void preferredRepresentationFollowsAccept() {
+        assertThat(CacheValidators.preferredRepresentation(null)).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(CacheValidators.preferredRepresentation("*/*")).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(CacheValidators.preferredRepresentation("application/x-jackson-smile")).isEqualTo(CacheValidators.SMILE);
+        assertThat(CacheValidators.preferredRepresentation("application/json;q=0.5, application/cbor"))
+                .isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(CacheValidators.preferredRepresentation("no es un tipo")).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void collectionEtagIsStableForSameVersions() {
+        List<PersonaVersion> page = List.of(new PersonaVersion(1L, 0L, null), new PersonaVersion(2L, 4L, null));
+        assertThat(etagOf(page, true)).isEqualTo(etagOf(List.copyOf(page), true));
+    }
+
+    @Test
+    void collectionEtagChangesWhenAnyElementChanges() {
+        String original = etagOf(List.of(new PersonaVersion(1L, 0L, null), new PersonaVersion(2L, 0L, null)), false);
+
+        assertThat(etagOf(List.of(new PersonaVersion(1L, 0L, null), new PersonaVersion(2L, 1L, null)), false)).isNotEqualTo(original);
+        assertThat(etagOf(List.of(new PersonaVersion(1L, 0L, null)), false)).isNotEqualTo(original);
+        assertThat(etagOf(List.of(new PersonaVersion(2L, 0L, null), new PersonaVersion(1L, 0L, null)), false)).isNotEqualTo(original);
+        assertThat(etagOf(List.of(new PersonaVersion(1L, 0L, null), new PersonaVersion(2L, 0L, null)), true)).isNotEqualTo(original);
+    }
+}
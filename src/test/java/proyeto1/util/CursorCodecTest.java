@@ -0,0 +1,34 @@
+package proyeto1.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorCodecTest {
+
+    @Test
+    void roundTripsSinglePosition() {
+        assertThat(CursorCodec.decode(CursorCodec.encode(42))).isEqualTo(42);
+    }
+
+    @Test
+    void roundTripsSeveralPositionsInOrder() {
+        long[] positions = {1745144530000L, 0, 42, Long.MAX_VALUE};
+
+        assertThat(CursorCodec.decodeAll(CursorCodec.encodeAll(positions))).containsExactly(positions);
+    }
+
+    @Test
+    void singlePositionTokenDecodesAsOnePosition() {
+        assertThat(CursorCodec.decodeAll(CursorCodec.encode(7))).containsExactly(7);
+    }
+
+    @Test
+    void rejectsInvalidTokens() {
+        assertThatThrownBy(() -> CursorCodec.decodeAll("no es base64!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorCodec.decodeAll(CursorCodec.encodeAll())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorCodec.decodeAll(CursorCodec.encodeAll(1, -2))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorCodec.decode(CursorCodec.encodeAll(1, 2))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
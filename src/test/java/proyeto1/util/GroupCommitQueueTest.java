@@ -0,0 +1,103 @@
+package proyeto1.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GroupCommitQueueTest {
+
+    @Test
+    void groupsConcurrentSubmissionsUpToMaxBatchSize() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        try (GroupCommitQueue<Integer, Integer> queue = new GroupCommitQueue<>("test", 100, 4, Duration.ofMillis(200),
+                batch -> {
+                    await(release);
+                    batchSizes.add(batch.size());
+                    batch.forEach(pending -> pending.result().complete(pending.item() * 10));
+                })) {
+            List<CompletableFuture<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                results.add(queue.submit(i));
+            }
+            release.countDown();
+
+            for (int i = 0; i < 10; i++) {
+                assertThat(results.get(i).join()).isEqualTo(i * 10);
+            }
+            assertThat(batchSizes).allMatch(size -> size <= 4);
+            assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(10);
+            assertThat(batchSizes.size()).isLessThan(10);
+        }
+    }
+
+    @Test
+    void loneSubmissionIsCommittedAfterMaxWait() {
+        try (GroupCommitQueue<String, String> queue = new GroupCommitQueue<>("test", 10, 100, Duration.ofMillis(5),
+                batch -> batch.forEach(pending -> pending.result().complete(pending.item().toUpperCase())))) {
+            assertThat(queue.submit("ana").join()).isEqualTo("ANA");
+        }
+    }
+
+    @Test
+    void eachCallerReceivesItsOwnFailure() {
+        try (GroupCommitQueue<Integer, Integer> queue = new GroupCommitQueue<>("test", 10, 10, Duration.ofMillis(5),
+                batch -> batch.forEach(pending -> {
+                    if (pending.item() % 2 == 0) {
+                        pending.result().complete(pending.item());
+                    } else {
+                        pending.result().completeExceptionally(new IllegalArgumentException("impar " + pending.item()));
+                    }
+                }))) {
+            CompletableFuture<Integer> even = queue.submit(2);
+            CompletableFuture<Integer> odd = queue.submit(3);
+
+            assertThat(even.join()).isEqualTo(2);
+            assertThatThrownBy(odd::join).isInstanceOf(CompletionException.class)
+                    .hasCauseInstanceOf(IllegalArgumentException.class)
+                    .hasRootCauseMessage("impar 3");
+        }
+    }
+
+    @Test
+    void committerFailureOrOmissionFailsEveryPendingItem() {
+        try (GroupCommitQueue<Integer, Integer> failing = new GroupCommitQueue<>("test", 10, 10, Duration.ofMillis(5),
+                batch -> {
+                    throw new IllegalStateException("sin conexión");
+                });
+             GroupCommitQueue<Integer, Integer> forgetful = new GroupCommitQueue<>("test", 10, 10, Duration.ofMillis(5),
+                     batch -> {
+                     })) {
+            assertThatThrownBy(() -> failing.submit(1).join()).hasRootCauseMessage("sin conexión");
+            assertThatThrownBy(() -> forgetful.submit(1).join()).hasCauseInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void closeCommitsPendingItemsAndRejectsNewOnes() {
+        GroupCommitQueue<Integer, Integer> queue = new GroupCommitQueue<>("test", 10, 10, Duration.ofMillis(50),
+                batch -> batch.forEach(pending -> pending.result().complete(pending.item())));
+        CompletableFuture<Integer> pending = queue.submit(7);
+        queue.close();
+
+        assertThat(pending).isCompletedWithValue(7);
+        assertThatThrownBy(() -> queue.submit(8)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
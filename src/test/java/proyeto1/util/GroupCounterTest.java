@@ -0,0 +1,35 @@
+package proyeto1.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GroupCounterTest {
+
+    @Test
+    void parallelCountMatchesSequentialCount() {
+        int rows = GroupCounter.CHUNK_SIZE * 10 + 123;
+
+        long[] counts = GroupCounter.count(rows, 7, row -> row % 7);
+
+        long[] expected = new long[7];
+        for (int row = 0; row < rows; row++) {
+            expected[row % 7]++;
+        }
+        assertThat(counts).containsExactly(expected);
+    }
+
+    @Test
+    void negativeGroupsAreNotCounted() {
+        long[] counts = GroupCounter.count(GroupCounter.CHUNK_SIZE * 3, 2, row -> row % 3 == 0 ? -1 : row % 2);
+
+        assertThat(LongStream.of(counts).sum()).isEqualTo(GroupCounter.CHUNK_SIZE * 2L);
+    }
+
+    @Test
+    void emptyTableHasEmptyGroups() {
+        assertThat(GroupCounter.count(0, 3, row -> 0)).containsExactly(0, 0, 0);
+    }
+}
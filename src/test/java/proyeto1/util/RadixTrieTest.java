@@ -0,0 +1,85 @@
+package proyeto1.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RadixTrieTest {
+
+    private RadixTrie trieWithSeedNames() {
+        RadixTrie trie = new RadixTrie();
+        trie.put("juan perez", 1);
+        trie.put("juana gomez", 2);
+        trie.put("jorge diaz", 3);
+        trie.put("ju", 4);
+        return trie;
+    }
+
+    @Test
+    void returnsKeysStartingWithPrefixInAlphabeticalOrder() {
+        RadixTrie trie = trieWithSeedNames();
+        assertThat(trie.prefixSearch("ju", 10)).containsExactly(4L, 1L, 2L);
+        assertThat(trie.prefixSearch("juan", 10)).containsExactly(1L, 2L);
+        assertThat(trie.prefixSearch("juan ", 10)).containsExactly(1L);
+        assertThat(trie.prefixSearch("juanito", 10)).isEmpty();
+    }
+
+    @Test
+    void appliesLimit() {
+        RadixTrie trie = trieWithSeedNames();
+        assertThat(trie.prefixSearch("", 2)).hasSize(2);
+        assertThat(trie.prefixSearch("j", 0)).isEmpty();
+    }
+
+    @Test
+    void sharesKeysBetweenIds() {
+        RadixTrie trie = trieWithSeedNames();
+        trie.put("juan perez", 5);
+        trie.put("juan perez", 5);
+        assertThat(trie.size()).isEqualTo(5);
+        assertThat(trie.prefixSearch("juan p", 10)).containsExactly(1L, 5L);
+    }
+
+    @Test
+    void removeCompactsNodes() {
+        RadixTrie trie = trieWithSeedNames();
+        long nodesBefore = trie.footprint().nodes();
+
+        trie.remove("juana gomez", 2);
+        trie.remove("jorge diaz", 99);
+
+        assertThat(trie.size()).isEqualTo(3);
+        assertThat(trie.prefixSearch("juana", 10)).isEmpty();
+        assertThat(trie.prefixSearch("j", 10)).containsExactly(3L, 4L, 1L);
+        assertThat(trie.footprint().nodes()).isLessThan(nodesBefore);
+    }
+
+    @Test
+    void reportsFootprint() {
+        RadixTrie trie = trieWithSeedNames();
+        RadixTrie.Footprint footprint = trie.footprint();
+        assertThat(footprint.labelChars()).isLessThan("juan perez".length() + "juana gomez".length()
+                + "jorge diaz".length() + "ju".length());
+        assertThat(footprint.estimatedBytes()).isPositive();
+    }
+
+    @Test
+    void footprintKeptOnWritesMatchesATrieBuiltFromTheRemainingKeys() {
+        RadixTrie trie = trieWithSeedNames();
+        trie.put("juan perez", 5);
+        trie.put("jorge", 6);
+        trie.put("", 7);
+        trie.remove("juana gomez", 2);
+        trie.remove("juan perez", 1);
+        trie.remove("ju", 4);
+
+        RadixTrie rebuilt = new RadixTrie();
+        rebuilt.put("juan perez", 5);
+        rebuilt.put("jorge diaz", 3);
+        rebuilt.put("jorge", 6);
+        rebuilt.put("", 7);
+
+        assertThat(trie.footprint()).isEqualTo(rebuilt.footprint());
+        assertThat(new RadixTrie().footprint().nodes()).isEqualTo(1);
+    }
+}
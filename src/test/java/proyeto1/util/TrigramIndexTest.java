@@ -0,0 +1,61 @@
+package proyeto1.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+
+    private TrigramIndex indexWithSeedNames() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "Juan Pérez");
+        index.put(2, "Pedro Ramírez");
+        index.put(3, "Perla Gómez");
+        index.put(4, "Ana Pereira");
+        return index;
+    }
+
+    @Test
+    void matchesIgnoringAccentsAndCase() {
+        TrigramIndex index = indexWithSeedNames();
+        assertThat(index.search("perez", 10)).containsExactly(1L);
+        assertThat(index.search("RAMIREZ", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void ranksTextPrefixBeforeWordPrefix() {
+        TrigramIndex index = indexWithSeedNames();
+        assertThat(index.search("per", 10)).containsExactly(3L, 1L, 4L);
+    }
+
+    @Test
+    void requiresEveryTermInAnyOrder() {
+        TrigramIndex index = indexWithSeedNames();
+        assertThat(index.search("gomez perla", 10)).containsExactly(3L);
+        assertThat(index.search("gomez juan", 10)).isEmpty();
+    }
+
+    @Test
+    void supportsTermsShorterThanATrigram() {
+        TrigramIndex index = indexWithSeedNames();
+        assertThat(index.search("pe", 10)).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void appliesLimit() {
+        TrigramIndex index = indexWithSeedNames();
+        assertThat(index.search("per", 2)).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void reflectsUpdatesAndRemovals() {
+        TrigramIndex index = indexWithSeedNames();
+        index.put(1, "Juan López");
+        assertThat(index.search("perez", 10)).isEmpty();
+        assertThat(index.search("lopez", 10)).containsExactly(1L);
+
+        index.remove(4);
+        assertThat(index.search("pereira", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+}
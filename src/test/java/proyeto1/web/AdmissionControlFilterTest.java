@@ -0,0 +1,88 @@
+package proyeto1.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import proyeto1.util.AdaptiveLimiter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControlFilterTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    private AdaptiveLimiter readLimiter;
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        readLimiter = new AdaptiveLimiter(1, 1, 10, 2.0, 0.5);
+        filter = new AdmissionControlFilter(readLimiter, new AdaptiveLimiter(1, 1, 10, 2.0, 0.5),
+                List.of("/personas/export"), Duration.ofSeconds(2), OBJECT_MAPPER, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shedsRequestsBeyondTheLimitWith503() throws Exception {
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        // Mientras la primera petición ocupa la única plaza, llega una segunda
+        filter.doFilter(get("/personas"), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(get("/personas"), rejected, (r, s) -> { }));
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(rejected.getContentAsString()).contains("SERVICE_UNAVAILABLE");
+        assertThat(readLimiter.inFlight()).isZero();
+    }
+
+    @Test
+    void excludedPathsBypassTheLimiter() throws Exception {
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+
+        filter.doFilter(get("/personas"), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(get("/personas/export"), nested, (r, s) -> { }));
+
+        assertThat(nested.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void serverErrorsReduceTheLimit() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(8, 1, 10, 2.0, 0.5);
+        AdmissionControlFilter filter = new AdmissionControlFilter(limiter, limiter, List.of(), Duration.ofSeconds(1),
+                OBJECT_MAPPER, new SimpleMeterRegistry());
+
+        filter.doFilter(get("/personas"), new MockHttpServletResponse(),
+                (request, response) -> ((MockHttpServletResponse) response).setStatus(500));
+
+        assertThat(limiter.limit()).isEqualTo(4);
+    }
+
+    @Test
+    void clientAbortsDoNotReduceTheLimit() throws IOException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(8, 1, 10, 2.0, 0.5);
+        AdmissionControlFilter filter = new AdmissionControlFilter(limiter, limiter, List.of(), Duration.ofSeconds(1),
+                OBJECT_MAPPER, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> filter.doFilter(get("/personas"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    throw new IOException("Connection reset by peer");
+                }))
+                .isInstanceOf(IOException.class);
+
+        assertThat(limiter.limit()).isEqualTo(8);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    private static MockHttpServletRequest get(String path) {
+        return new MockHttpServletRequest("GET", path);
+    }
+}